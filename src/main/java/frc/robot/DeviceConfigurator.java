@@ -0,0 +1,216 @@
+package frc.robot;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.ctre.phoenix6.CANBus;
+import com.ctre.phoenix6.StatusCode;
+import com.ctre.phoenix6.configs.TalonFXConfiguration;
+import com.ctre.phoenix6.hardware.TalonFX;
+
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.StringArrayPublisher;
+import edu.wpi.first.wpilibj.DataLogManager;
+
+/**
+ * {@summary}
+ * Applies device configurations in the background at startup, one worker per
+ * CAN bus, so the buses configure in parallel with each other and with the
+ * rest of robot construction.
+ * <p>
+ * Subsystems {@link #submit} their configs from their constructors and
+ * return right away; the motors keep the configuration already in their
+ * flash until the new one lands, so nothing has to wait for it. Per device:
+ *
+ * <pre>
+ *   apply(config, APPLY_TIMEOUT_S)        device acknowledges the write
+ *   refresh(readBack, APPLY_TIMEOUT_S)    read it back
+ *   verify                                neutral mode, inversion, current
+ *                                         limits and slot 0 gains match
+ *   up to MAX_ATTEMPTS, then reported as failed
+ * </pre>
+ *
+ * Within a bus the writes stay sequential: parallel writes to one bus only
+ * queue behind each other on it. The swerve devices are configured by CTRE's
+ * drivetrain constructor, not here; the configs queued before it run
+ * alongside it.
+ * <p>
+ * {@link #reportWhenDone()} publishes the boot timing under {@code Boot}
+ * (and to the log) once every queued device has finished.
+ * <p>
+ * A full config overwrites any runtime change sent to the same device while
+ * it was queued (e.g. a shed current limit). Code that changes configs at
+ * runtime re-sends them once {@link #isDone()} turns true, as the
+ * {@link frc.robot.subsystems.PowerManager} does.
+ */
+public class DeviceConfigurator {
+    // =================================================================================================================
+    // Constants
+    // =================================================================================================================
+    private static final double APPLY_TIMEOUT_S = 0.25;
+    private static final int MAX_ATTEMPTS = 3;
+    /** Device floats are stored with less precision than doubles. */
+    private static final double VERIFY_TOLERANCE = 1e-3;
+
+    // =================================================================================================================
+    // Private Data Members
+    // =================================================================================================================
+    private final Map<String, ExecutorService> busWorkers = new HashMap<>();
+    private final List<CompletableFuture<Void>> jobs = new ArrayList<>();
+    /** Devices that never verified; written by the workers. */
+    private final List<String> failures = new ArrayList<>();
+    /** Set by the last worker to finish, after {@link #reportWhenDone()}. */
+    private volatile boolean done = false;
+
+    private final DoublePublisher configuredPub;
+    private final DoublePublisher codeReadyPub;
+    private final StringArrayPublisher failuresPub;
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    public DeviceConfigurator() {
+        final NetworkTable table = NetworkTableInstance.getDefault().getTable("Boot");
+        this.configuredPub = table.getDoubleTopic("DevicesConfiguredSeconds").publish();
+        this.codeReadyPub = table.getDoubleTopic("CodeReadySeconds").publish();
+        this.failuresPub = table.getStringArrayTopic("ConfigFailures").publish();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Queues a full configuration for a motor; returns immediately.
+     *
+     * @param name   For the report.
+     * @param bus    The bus the motor is on (its worker applies the config).
+     * @param motor  The motor.
+     * @param config Copied now; later changes to it are not applied.
+     */
+    public synchronized void submit(final String name, final CANBus bus, final TalonFX motor,
+            final TalonFXConfiguration config) {
+        final ExecutorService worker = busWorkers.computeIfAbsent(bus.getName(), busName ->
+                Executors.newSingleThreadExecutor(runnable -> {
+                    final Thread thread = new Thread(runnable, "DeviceConfig-" + busName);
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+        final TalonFXConfiguration snapshot = copyOf(name, config);
+        jobs.add(CompletableFuture.runAsync(() -> configure(name, motor, snapshot), worker));
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Call when robot construction is done: records that time, and reports
+     * the boot timing once every queued device has finished. Does not block.
+     */
+    public synchronized void reportWhenDone() {
+        final double codeReady = secondsSinceStart();
+        codeReadyPub.set(codeReady);
+        CompletableFuture.allOf(jobs.toArray(new CompletableFuture[0])).thenRun(() -> {
+            final double configured = secondsSinceStart();
+            final String[] failed;
+            synchronized (failures) {
+                failed = failures.toArray(new String[0]);
+            }
+            configuredPub.set(configured);
+            failuresPub.set(failed);
+            DataLogManager.log(String.format("Boot: code ready %.2f s, %d devices configured %.2f s after start%s",
+                    codeReady, jobs.size(), configured,
+                    failed.length == 0 ? "" : ", FAILED: " + String.join(", ", failed)));
+            for (final ExecutorService worker : busWorkers.values()) {
+                worker.shutdown();
+            }
+            done = true;
+        });
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * True once every queued config has landed (or failed), after
+     * {@link #reportWhenDone()}. No boot config writes happen after that.
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    // =================================================================================================================
+    // Private Methods
+    // =================================================================================================================
+    /** Bus worker thread. */
+    private void configure(final String name, final TalonFX motor, final TalonFXConfiguration config) {
+        final TalonFXConfiguration readBack = new TalonFXConfiguration();
+        String problem = null;
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            StatusCode status = motor.getConfigurator().apply(config, APPLY_TIMEOUT_S);
+            if (!status.isOK()) {
+                problem = "apply " + status;
+                continue;
+            }
+            status = motor.getConfigurator().refresh(readBack, APPLY_TIMEOUT_S);
+            if (!status.isOK()) {
+                problem = "read back " + status;
+                continue;
+            }
+            if (matches(config, readBack)) {
+                return;
+            }
+            problem = "read back differs";
+        }
+        synchronized (failures) {
+            failures.add(name + " (" + problem + ")");
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * Every config group, through Phoenix's own serialization, so the worker
+     * never reads an object the caller may still change.
+     */
+    private TalonFXConfiguration copyOf(final String name, final TalonFXConfiguration config) {
+        final TalonFXConfiguration copy = new TalonFXConfiguration();
+        final StatusCode status = copy.deserialize(config.serialize());
+        if (!status.isOK()) {
+            // Not expected; apply the caller's object as-is rather than a partial copy.
+            DataLogManager.log("DeviceConfigurator: could not copy the config for " + name + ": " + status);
+            return config;
+        }
+        return copy;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** The settings the robot depends on, not every field. */
+    private static boolean matches(final TalonFXConfiguration expected, final TalonFXConfiguration actual) {
+        return expected.MotorOutput.NeutralMode == actual.MotorOutput.NeutralMode
+                && expected.MotorOutput.Inverted == actual.MotorOutput.Inverted
+                && expected.CurrentLimits.SupplyCurrentLimitEnable == actual.CurrentLimits.SupplyCurrentLimitEnable
+                && expected.CurrentLimits.StatorCurrentLimitEnable == actual.CurrentLimits.StatorCurrentLimitEnable
+                && close(expected.CurrentLimits.SupplyCurrentLimit, actual.CurrentLimits.SupplyCurrentLimit)
+                && close(expected.CurrentLimits.StatorCurrentLimit, actual.CurrentLimits.StatorCurrentLimit)
+                && close(expected.Slot0.kP, actual.Slot0.kP)
+                && close(expected.Slot0.kI, actual.Slot0.kI)
+                && close(expected.Slot0.kD, actual.Slot0.kD)
+                && close(expected.Slot0.kS, actual.Slot0.kS)
+                && close(expected.Slot0.kV, actual.Slot0.kV);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static boolean close(final double a, final double b) {
+        return Math.abs(a - b) <= VERIFY_TOLERANCE * Math.max(1.0, Math.abs(a));
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** JVM uptime (s); the JVM starts right after the robot program is launched. */
+    private static double secondsSinceStart() {
+        return ManagementFactory.getRuntimeMXBean().getUptime() / 1000.0;
+    }
+}
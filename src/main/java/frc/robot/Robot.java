@@ -7,36 +7,89 @@ package frc.robot;
 import edu.wpi.first.cameraserver.CameraServer;
 import edu.wpi.first.cscore.UsbCamera;
 import edu.wpi.first.cscore.VideoSource;
+import edu.wpi.first.util.datalog.IntegerLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.RobotBase;
 import edu.wpi.first.wpilibj.TimedRobot;
+import edu.wpi.first.wpilibj.Threads;
 import edu.wpi.first.wpilibj2.command.Command;
 
+import frc.robot.commands.shoot.LockOnShootAndDrive;
+import frc.robot.replay.ReplayLog;
+import frc.robot.simulation.SimMode;
+
 public class Robot extends TimedRobot {
+    /**
+     * Real-time priority of the fast aim loop's own thread, so NetworkTables,
+     * logging and camera threads can't push its 5 ms ticks late. The main
+     * thread stays at normal priority. Real robot only.
+     */
+    private static final int FAST_LOOP_PRIORITY = 15;
+
     private final RobotSystem robotContainer;
+    /** Tags loop overruns with the GC / JIT activity inside them. */
+    private final RuntimeHealthMonitor healthMonitor;
+    /** Runs the fast aim loop; raises its own thread's priority on the first tick. */
+    private final Notifier fastLoop;
+    private boolean fastLoopPrioritySet = false;
 
     // Grabbed from this.autonomousInit().
     private Command autonomousCommand;
     private final UsbCamera rearCamera;
 
     public Robot() {
+        // Match WPILog: joysticks + DS state, plus the entries the log replay
+        // needs (see ReplayLog). Must start before the subsystems open entries.
+        DataLogManager.start();
+        DriverStation.startDataLog(DataLogManager.getLog());
+        new IntegerLogEntry(DataLogManager.getLog(), ReplayLog.VERSION_ENTRY).append(ReplayLog.VERSION);
+        healthMonitor = new RuntimeHealthMonitor(getPeriod());
+
         robotContainer = new RobotSystem();
         rearCamera = CameraServer.startAutomaticCapture();
         rearCamera.setResolution(160, 120);
         rearCamera.setFPS(15);
         rearCamera.setConnectionStrategy(VideoSource.ConnectionStrategy.kForceClose);
+
+        // Heading / flywheel / feeder setpoints at 200 Hz, on their own thread. The lock-on hands
+        // state across through what its scheduler half latches (see LockOnShootAndDrive).
+        fastLoop = new Notifier(this::fastPeriodic);
+        fastLoop.setName("FastAimLoop");
+        // The time-stepped harnesses own the loop: they run the fast step (or the lock-on's execute()
+        // fallback) in their own stepped time.
+        if (!SimMode.current().isTimeStepped()) {
+            fastLoop.startPeriodic(LockOnShootAndDrive.FAST_LOOP_PERIOD_S);
+        }
+    }
+
+    /** Fast aim loop tick, on the {@link #fastLoop} thread. */
+    private void fastPeriodic() {
+        if (!fastLoopPrioritySet) {
+            fastLoopPrioritySet = true;
+            if (RobotBase.isReal()) {
+                Threads.setCurrentThreadPriority(true, FAST_LOOP_PRIORITY);
+            }
+        }
+        this.robotContainer.fastPeriodic();
     }
 
     @Override
     public void robotPeriodic() {
+        this.healthMonitor.loopStarted();
         this.robotContainer.updatePhotonCameraFrames();
         this.robotContainer.getCommandScheduler().run();
     }
 
     @Override
     public void disabledInit() {
+        this.robotContainer.prewarmAutonomous();
     }
 
     @Override
     public void disabledPeriodic() {
+        this.robotContainer.buildLoadedAutonomous();
     }
 
     @Override
@@ -90,7 +143,13 @@ public class Robot extends TimedRobot {
     public void testExit() {
     }
 
+    @Override
+    public void simulationInit() {
+        this.robotContainer.simulationInit();
+    }
+
     @Override
     public void simulationPeriodic() {
+        this.robotContainer.simulationPeriodic();
     }
 }
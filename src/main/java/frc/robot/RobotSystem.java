@@ -15,33 +15,55 @@ import org.json.simple.parser.ParseException;
 import com.ctre.phoenix6.swerve.SwerveModule.DriveRequestType;
 import com.pathplanner.lib.auto.AutoBuilder;
 import com.pathplanner.lib.auto.NamedCommands;
+import com.pathplanner.lib.commands.PathfindingCommand;
 import com.pathplanner.lib.config.PIDConstants;
 import com.pathplanner.lib.config.RobotConfig;
 import com.pathplanner.lib.controllers.PPHolonomicDriveController;
 import com.ctre.phoenix6.swerve.SwerveRequest;
 
 import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.system.plant.DCMotor;
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.DriverStation.Alliance;
 import edu.wpi.first.wpilibj.GenericHID.RumbleType;
-import edu.wpi.first.wpilibj.smartdashboard.SendableChooser;
+import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.InstantCommand;
 import edu.wpi.first.wpilibj2.command.ParallelCommandGroup;
-import edu.wpi.first.wpilibj2.command.WaitCommand;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
 import edu.wpi.first.wpilibj2.command.button.CommandXboxController;
 import edu.wpi.first.wpilibj2.command.button.Trigger;
 import frc.robot.subsystems.Shooter;
+import frc.robot.auto.AutoLoader;
+import frc.robot.commands.rumble.HapticPattern;
+import frc.robot.commands.rumble.HapticPriority;
+import frc.robot.commands.rumble.HapticsEngine;
 import frc.robot.commands.rumble.RumbleDynamicCommand;
 import frc.robot.commands.rumble.RumbleIntensity;
-import frc.robot.commands.rumble.RumblePulseCommand;
+import frc.robot.commands.shoot.AutoShootWhileFollowing;
+import frc.robot.commands.shoot.DriveToShot;
 import frc.robot.commands.shoot.LockOnShootAndDrive;
+import frc.robot.commands.shoot.PreAimShooter;
+import frc.robot.field.ShotMap;
 import frc.robot.generated.TunerConstants;
+import frc.robot.physics.kinematics.SwerveSetpointLimiter;
+import frc.robot.simulation.AimingScenario;
+import frc.robot.simulation.AllocationBudget;
+import frc.robot.simulation.BallFlowSim;
+import frc.robot.simulation.BallFlowSweep;
+import frc.robot.simulation.FastAutoRunner;
+import frc.robot.simulation.FlywheelBenchmark;
+import frc.robot.simulation.GeometryBenchmark;
+import frc.robot.simulation.LogReplayRunner;
+import frc.robot.simulation.ShooterSim;
+import frc.robot.simulation.SimMode;
+import frc.robot.simulation.VisionSim;
 import frc.robot.subsystems.CommandSwerveDrivetrain;
 import frc.robot.subsystems.Feeder;
+import frc.robot.subsystems.PowerManager;
 import frc.robot.vision.AimCamera;
+import frc.robot.vision.HubTargeting;
 import frc.robot.subsystems.Collector;
 
 public class RobotSystem {
@@ -55,6 +77,7 @@ public class RobotSystem {
         private static final double MaxAngularRate = RotationsPerSecond.of(MaxAngularRateScaler).in(RadiansPerSecond);
 
         private static final String EVENT_SHOOT = "shoot";
+        private static final String EVENT_SHOOT_WHILE_MOVING = "shootWhileMoving";
         private static final String EVENT_COLLECT = "collect";
         private static final String EVENT_HOPPER = "hopper";
 
@@ -63,8 +86,14 @@ public class RobotSystem {
         // =============================================================================================================
         private final CommandXboxController driver = new CommandXboxController(USB.CONTROLLER.DRIVER);
         private final CommandXboxController operator = new CommandXboxController(USB.CONTROLLER.OPERATOR);
+        // Rumble runs on these (own Notifiers), not through the scheduler.
+        private final HapticsEngine driverHaptics = new HapticsEngine(driver.getHID());
+        private final HapticsEngine operatorHaptics = new HapticsEngine(operator.getHID());
         private boolean isLockedOn = false;
         private double maxSpeedScalar = 1.0;
+        /** Turns stick requests into setpoints the wheels can follow without slipping. */
+        private final SwerveSetpointLimiter driveLimiter;
+        private double lastDriveTime = 0.0;
 
         // =============================================================================================================
         // Systems
@@ -74,10 +103,29 @@ public class RobotSystem {
         // =============================================================================================================
         // Sub-Systems
         // =============================================================================================================
+        /** Applies motor configs per CAN bus in the background; see reportWhenDone() in the constructor. */
+        private final DeviceConfigurator deviceConfigurator = new DeviceConfigurator();
+        // These only queue their configs (CANivore: shooter; RIO bus: feeder,
+        // collector), so both buses configure while the drivetrain
+        // constructor (which configures the swerve devices) blocks.
+        private final Shooter shooter = new Shooter(deviceConfigurator);
+        private final Feeder feeder = new Feeder(deviceConfigurator);
+        private final Collector collector = new Collector(deviceConfigurator);
         private final CommandSwerveDrivetrain drivetrain = TunerConstants.createDrivetrain();
-        private final Shooter shooter = new Shooter();
-        private final Feeder feeder = new Feeder();
-        private final Collector collector = new Collector();
+
+        /** Sheds current from the others; the shooter keeps its current while locked on. */
+        private final PowerManager powerManager = new PowerManager(shooter, drivetrain, collector, deviceConfigurator,
+                        // Qualified: commands is declared further down
+                        () -> this.commands[LOCK_ON_SHOOT_AND_DRIVE_INDEX] != null
+                                        && this.commands[LOCK_ON_SHOOT_AND_DRIVE_INDEX].isScheduled());
+
+        /** Shared by lock-on and pre-aim; needs the drivetrain, so it is built after it. */
+        private final HubTargeting hubTargeting = new HubTargeting(aimCamera, drivetrain);
+
+        // =============================================================================================================
+        // Field
+        // =============================================================================================================
+        private final ShotMap shotMap = ShotMap.load();
 
         // =============================================================================================================
         // Commands
@@ -92,6 +140,7 @@ public class RobotSystem {
         private static final byte FEEDER_RUN_OUT_INDEX = 7;
         private static final byte SPEED_CHANGE_INDEX = 8;
         private static final byte HOPPER_IN_INDEX = 9;
+        private static final byte DRIVE_TO_SHOT_INDEX = 10;
         /**
          * {@summary}
          * The purpose of this array is for cancelling the "active" commands that are in
@@ -118,19 +167,22 @@ public class RobotSystem {
                         null,
                         /* Hopper In */
                         null,
+                        /* Drive to Shot */
+                        null,
         };
+        /** The lock-on inside commands[LOCK_ON_SHOOT_AND_DRIVE_INDEX] (wrapped there), for the fast aim loop. */
+        private LockOnShootAndDrive lockOnShootAndDrive;
 
         // =============================================================================================================
         // PathPlanner
         // =============================================================================================================
-        private final SendableChooser<Command> autoChooser;
+        private final AutoLoader autoLoader;
 
         // =============================================================================================================
         // Swerve Drive Configurations
         // =============================================================================================================
         final SwerveRequest.FieldCentric fieldDrive = new SwerveRequest.FieldCentric()
-                        // Add a 10% deadband
-                        .withDeadband(MaxSpeed * 0.1).withRotationalDeadband(MaxAngularRate * 0.1)
+                        // The 10% deadband is applied to the sticks, ahead of the driveLimiter
                         // Use open-loop control for drive motors
                         .withDriveRequestType(DriveRequestType.OpenLoopVoltage);
         final SwerveRequest.RobotCentric robotDrive = new SwerveRequest.RobotCentric()
@@ -146,14 +198,21 @@ public class RobotSystem {
         // =============================================================================================================
         private final Telemetry logger = new Telemetry(MaxSpeed);
 
+        // =============================================================================================================
+        // Simulation (only constructed in simulationInit)
+        // =============================================================================================================
+        private VisionSim visionSim;
+        private ShooterSim shooterSim;
+        private BallFlowSim ballFlowSim;
+        private AimingScenario aimingScenario;
+        private FlywheelBenchmark flywheelBenchmark;
+
         // =============================================================================================================
         // The Constructor
         // =============================================================================================================
         public RobotSystem() {
                 drivetrain.setAimCamera(aimCamera);
 
-                defaultBindingsProfile();
-
                 // Robot config: Pull from PathPlanner GUI settings (tune mass ~40-50kg for your
                 // bot, MOI from CAD, module drive ratios from SDS/Krakens)
                 RobotConfig robotConfig = null;
@@ -165,6 +224,12 @@ public class RobotSystem {
                         e.printStackTrace();
                         System.exit(0);
                 }
+
+                // Needed by the drive command, so built before the bindings
+                driveLimiter = new SwerveSetpointLimiter(robotConfig, MaxSpeed,
+                                DCMotor.getKrakenX60(1).freeSpeedRadPerSec / TunerConstants.FrontLeft.SteerMotorGearRatio);
+
+                defaultBindingsProfile();
                 AutoBuilder.configure(
                                 drivetrain::getPose, // Fused pose supplier (vision-corrected)
                                 drivetrain::resetPose, // Pose resetter
@@ -184,25 +249,56 @@ public class RobotSystem {
                                 drivetrain // Subsystem ref
                 );
 
+                // Load the AD* pathfinder's navgrid and JIT its planner now, not on the
+                // first drive-to-shot press.
+                getCommandScheduler().schedule(PathfindingCommand.warmupCommand());
+
                 NamedCommands.registerCommand(EVENT_COLLECT, collector.run(() -> 1));
-                NamedCommands.registerCommand(EVENT_SHOOT, shooter.manualShootBall(() -> 1)
-                                .alongWith(new WaitCommand(1)
-                                                .andThen(feeder.manualFeederRunIn())
-                                                .withTimeout(4.0)));
+                // Range-aware. The event-marker form aims through the path's
+                // rotation feedback while the path keeps driving; the sequential
+                // form (after a path) turns the robot in place itself.
+                NamedCommands.registerCommand(EVENT_SHOOT_WHILE_MOVING,
+                                new AutoShootWhileFollowing(shooter, feeder, drivetrain, hubTargeting, true));
+                NamedCommands.registerCommand(EVENT_SHOOT,
+                                new AutoShootWhileFollowing(shooter, feeder, drivetrain, hubTargeting, false));
                 NamedCommands.registerCommand(EVENT_HOPPER, collector.run(() -> 1));
 
-                // Setup the auto UI in Shuffleboard.
-                autoChooser = AutoBuilder.buildAutoChooser();
-                SmartDashboard.putData("Auto Chooser", autoChooser);
+                // Setup the auto UI in Shuffleboard. Autos are parsed in the
+                // background while disabled, not here.
+                autoLoader = new AutoLoader(robotConfig);
+                SmartDashboard.putData("Auto Chooser", autoLoader.getChooser());
 
                 drivetrain.registerTelemetry(logger::telemeterize);
+
+                // Boot timing (code ready vs. devices configured) goes out once the last config lands.
+                deviceConfigurator.reportWhenDone();
         }
 
         // =============================================================================================================
         // Public Methods
         // =============================================================================================================
         public Command getAutonomousCommand() {
-                return autoChooser.getSelected();
+                return autoLoader.getSelectedCommand();
+        }
+
+        // -------------------------------------------------------------------------------------------------------------
+        /**
+         * {@summary}
+         * Starts loading the selected auto in the background. Call from
+         * disabledInit.
+         */
+        public void prewarmAutonomous() {
+                autoLoader.prewarmSelected();
+        }
+
+        // -------------------------------------------------------------------------------------------------------------
+        /**
+         * {@summary}
+         * Builds the commands of autos that finished loading. Call from
+         * disabledPeriodic.
+         */
+        public void buildLoadedAutonomous() {
+                autoLoader.buildReady();
         }
 
         // -------------------------------------------------------------------------------------------------------------
@@ -210,11 +306,90 @@ public class RobotSystem {
                 return CommandScheduler.getInstance();
         }
 
+        // -------------------------------------------------------------------------------------------------------------
+        /**
+         * {@summary}
+         * The fast aim loop, every {@link LockOnShootAndDrive#FAST_LOOP_PERIOD_S}
+         * on its own thread: steps the lock-on while it is scheduled.
+         */
+        public void fastPeriodic() {
+                if (lockOnShootAndDrive != null) {
+                        lockOnShootAndDrive.fastPeriodic();
+                }
+        }
+
         // -------------------------------------------------------------------------------------------------------------
         public void updatePhotonCameraFrames() {
                 aimCamera.updateFrames();
         }
 
+        // -------------------------------------------------------------------------------------------------------------
+        /**
+         * {@summary}
+         * Builds the simulation-only models, plus the scripted harness selected by
+         * {@link SimMode#current()}.
+         */
+        public void simulationInit() {
+                visionSim = new VisionSim(aimCamera);
+                shooterSim = new ShooterSim(shooter);
+                ballFlowSim = new BallFlowSim(shooterSim::feedBall);
+                if (SimMode.current() == SimMode.AIM) {
+                        aimingScenario = new AimingScenario(drivetrain, aimCamera, visionSim,
+                                        commands[LOCK_ON_SHOOT_AND_DRIVE_INDEX]);
+                } else if (SimMode.current() == SimMode.FAST_AUTOS) {
+                        // Owns the loop from here on: runs every auto, prints, exits.
+                        final FastAutoRunner runner = new FastAutoRunner(drivetrain, autoLoader, collector, feeder,
+                                        ballFlowSim, shooterSim,
+                                        () -> {
+                                                updatePhotonCameraFrames();
+                                                getCommandScheduler().run();
+                                                visionSim.update(drivetrain.getPose());
+                                        });
+                        System.exit(runner.runAll() ? 0 : 1);
+                } else if (SimMode.current() == SimMode.FLYWHEEL) {
+                        flywheelBenchmark = new FlywheelBenchmark(shooter, shooterSim);
+                } else if (SimMode.current() == SimMode.BALL_FLOW) {
+                        BallFlowSweep.run();
+                        System.exit(0);
+                } else if (SimMode.current() == SimMode.REPLAY) {
+                        // Its own lock-on instance: never scheduled, stepped
+                        // frame by frame with the logged inputs (sticks included).
+                        final LogReplayRunner replay = new LogReplayRunner(aimCamera,
+                                        new LockOnShootAndDrive(shooter, drivetrain, feeder, hubTargeting,
+                                                        () -> 0.0, () -> 0.0, MaxSpeed));
+                        System.exit(replay.run() ? 0 : 1);
+                } else if (SimMode.current() == SimMode.ALLOCATION) {
+                        // Owns the loop too; the robot periodic and fast step are measured.
+                        final AllocationBudget budget = new AllocationBudget(drivetrain, aimCamera, visionSim,
+                                        commands[LOCK_ON_SHOOT_AND_DRIVE_INDEX],
+                                        () -> {
+                                                updatePhotonCameraFrames();
+                                                getCommandScheduler().run();
+                                        },
+                                        this::fastPeriodic,
+                                        () -> {
+                                                visionSim.update(drivetrain.getPose());
+                                                ballFlowSim.update(0.02, collector, feeder);
+                                                shooterSim.update(0.02);
+                                        });
+                        System.exit(budget.run() ? 0 : 1);
+                } else if (SimMode.current() == SimMode.GEOMETRY) {
+                        System.exit(new GeometryBenchmark(aimCamera, visionSim).run() ? 0 : 1);
+                }
+        }
+
+        // -------------------------------------------------------------------------------------------------------------
+        public void simulationPeriodic() {
+                visionSim.update(drivetrain.getPose());
+                ballFlowSim.update(0.02, collector, feeder);
+                shooterSim.update(0.02);
+                if ((aimingScenario != null && aimingScenario.periodic())
+                                || (flywheelBenchmark != null && flywheelBenchmark.periodic())) {
+                        // Headless harness run is over; the report has been printed.
+                        System.exit(0);
+                }
+        }
+
         // =============================================================================================================
         // Private Methods
         // =============================================================================================================
@@ -226,6 +401,9 @@ public class RobotSystem {
                  * can therefore be set outside the profiles. Plus, it never changes.
                  */
                 drivetrain.setDefaultCommand(makeNormalDriveCommand(driver));
+                // Keep the flywheel at the predicted RPM while driving in range,
+                // so lock-on starts already at speed.
+                shooter.setDefaultCommand(new PreAimShooter(shooter, drivetrain, hubTargeting));
                 new Trigger(DriverStation::isDisabled).whileTrue(makeIdleCommand());
         }
 
@@ -233,26 +411,30 @@ public class RobotSystem {
         private void defaultBindingsProfile() {
                 setDefaultBindings();
 
-                commands[BRAKE_INDEX] = makeBrakeCommand(() -> RumbleType.kLeftRumble, driver);
+                commands[BRAKE_INDEX] = makeBrakeCommand(() -> RumbleType.kLeftRumble, driverHaptics);
                 commands[RESET_FIELD_ORIENTATION_INDEX] = makeResetFieldOrientationCommand(
-                                () -> RumbleType.kBothRumble, driver);
-                commands[WHEEL_POINT_INDEX] = makeWheelsPointCommand(() -> RumbleType.kLeftRumble, driver);
-                commands[SPEED_CHANGE_INDEX] = makeMaxSpeedChangeCommand(() -> RumbleType.kRightRumble, driver);
+                                () -> RumbleType.kBothRumble, driverHaptics);
+                commands[WHEEL_POINT_INDEX] = makeWheelsPointCommand(() -> RumbleType.kLeftRumble, driverHaptics);
+                commands[SPEED_CHANGE_INDEX] = makeMaxSpeedChangeCommand(() -> RumbleType.kRightRumble,
+                                driverHaptics);
                 driver.leftBumper().whileTrue(commands[BRAKE_INDEX]);
                 driver.y().onTrue(commands[RESET_FIELD_ORIENTATION_INDEX]);
                 driver.povLeft().onTrue(commands[WHEEL_POINT_INDEX]);
                 driver.b().onTrue(commands[SPEED_CHANGE_INDEX]);
+                commands[DRIVE_TO_SHOT_INDEX] = new DriveToShot(drivetrain, aimCamera, shotMap);
+                driver.rightBumper().whileTrue(commands[DRIVE_TO_SHOT_INDEX]);
 
                 // ------------
                 commands[COLLECTOR_RUN_INDEX] = makeCollectorRunCommand(() -> -operator.getLeftTriggerAxis(),
-                                () -> RumbleType.kLeftRumble, operator);
+                                () -> RumbleType.kLeftRumble, operatorHaptics);
                 commands[MANUAL_SHOOT_INDEX] = makeManualShootCommand(() -> operator.getRightTriggerAxis(),
-                                () -> RumbleType.kRightRumble, operator);
+                                () -> RumbleType.kRightRumble, operatorHaptics);
                 commands[LOCK_ON_SHOOT_AND_DRIVE_INDEX] = makeLockOnShootAndDriveCommand(() -> RumbleType.kBothRumble,
-                                operator);
-                commands[WEAPON_SWAP_INDEX] = makeWeaponSwapCommand(() -> RumbleType.kBothRumble, operator);
-                commands[HOPPER_IN_INDEX] = makeManualFeederInCommand(() -> RumbleType.kLeftRumble, operator);
-                commands[FEEDER_RUN_OUT_INDEX] = makeManualFeederOutCommand(() -> RumbleType.kLeftRumble, operator);
+                                operatorHaptics);
+                commands[WEAPON_SWAP_INDEX] = makeWeaponSwapCommand(() -> RumbleType.kBothRumble, operatorHaptics);
+                commands[HOPPER_IN_INDEX] = makeManualFeederInCommand(() -> RumbleType.kLeftRumble, operatorHaptics);
+                commands[FEEDER_RUN_OUT_INDEX] = makeManualFeederOutCommand(() -> RumbleType.kLeftRumble,
+                                operatorHaptics);
                 operator.leftTrigger().whileTrue(commands[COLLECTOR_RUN_INDEX]);
                 operator.rightTrigger()
                                 .and(() -> isLockedOn == false)
@@ -277,15 +459,45 @@ public class RobotSystem {
 
                 // Drivetrain will execute this command periodically
                 return drivetrain.applyRequest(() -> {
+                        // Slowed further while the PowerManager is shedding drive current
+                        final double speed = MaxSpeed * maxSpeedScalar * powerManager.getDriveSpeedScalar();
                         // Drive forward with negative Y (forward)
-                        return fieldDrive.withVelocityX(-controller.getLeftY() * MaxSpeed * maxSpeedScalar)
-                                        // Drive left with negative X (left)
-                                        .withVelocityY(-controller.getLeftX() * MaxSpeed * maxSpeedScalar)
-                                        // Drive counterclockwise with negative X (left)
-                                        .withRotationalRate(-controller.getRightX() * MaxAngularRate);
+                        double vx = -controller.getLeftY() * speed;
+                        // Drive left with negative X (left)
+                        double vy = -controller.getLeftX() * speed;
+                        // Drive counterclockwise with negative X (left)
+                        double omega = -controller.getRightX() * MaxAngularRate;
+                        // Deadband here, not in the request: the limiter ramps through small values
+                        if (Math.hypot(vx, vy) < MaxSpeed * 0.1) {
+                                vx = 0.0;
+                                vy = 0.0;
+                        }
+                        if (Math.abs(omega) < MaxAngularRate * 0.1) {
+                                omega = 0.0;
+                        }
+
+                        final double now = Timer.getFPGATimestamp();
+                        driveLimiter.calculate(vx, vy, omega, operatorHeading(), now - lastDriveTime);
+                        lastDriveTime = now;
+                        return fieldDrive.withVelocityX(driveLimiter.getVx())
+                                        .withVelocityY(driveLimiter.getVy())
+                                        .withRotationalRate(driveLimiter.getOmega());
+                }).beforeStarting(() -> {
+                        // Start from how the robot is moving now (e.g. after lock-on or an auto)
+                        final var speeds = drivetrain.getSnapshot().getRobotSpeeds();
+                        driveLimiter.reset(speeds.vxMetersPerSecond, speeds.vyMetersPerSecond,
+                                        speeds.omegaRadiansPerSecond, operatorHeading());
+                        lastDriveTime = Timer.getFPGATimestamp() - 0.02;
                 });
         }
 
+        // -------------------------------------------------------------------------------------------------------------
+        /** Robot heading in the frame FieldCentric drives in (relative to the operator's forward). */
+        private double operatorHeading() {
+                return drivetrain.getSnapshot().getHeadingRad()
+                                - drivetrain.getOperatorForwardDirection().getRadians();
+        }
+
         // -------------------------------------------------------------------------------------------------------------
         private Command makeIdleCommand() {
                 /*
@@ -297,15 +509,14 @@ public class RobotSystem {
         }
 
         // -------------------------------------------------------------------------------------------------------------
-        private Command makeBrakeCommand(final Supplier<RumbleType> side, final CommandXboxController controller) {
-                return new ParallelCommandGroup(drivetrain.applyRequest(() -> brake),
-                                RumblePulseCommand.createLongSinglePulse(controller, RumbleIntensity.MEDIUM_LIGHT,
-                                                side).handleInterrupt(() -> controller.setRumble(side.get(), 0)));
+        private Command makeBrakeCommand(final Supplier<RumbleType> side, final HapticsEngine haptics) {
+                return drivetrain.applyRequest(() -> brake)
+                                .beforeStarting(() -> haptics.play(HapticPattern.LONG_PULSE,
+                                                RumbleIntensity.MEDIUM_LIGHT, side.get(), HapticPriority.CONFIRM));
         }
 
         // -------------------------------------------------------------------------------------------------------------
-        private Command makeWheelsPointCommand(final Supplier<RumbleType> side,
-                        final CommandXboxController controller) {
+        private Command makeWheelsPointCommand(final Supplier<RumbleType> side, final HapticsEngine haptics) {
                 /*
                  * NOTE:
                  * All this does it point the wheels to whatever direction it is controlled to
@@ -316,63 +527,56 @@ public class RobotSystem {
                 final Command zeroWheels = drivetrain.applyRequest(
                                 () -> point.withModuleDirection(
                                                 new Rotation2d(0, 0)));
-                return new ParallelCommandGroup(zeroWheels,
-                                RumblePulseCommand.createShortSinglePulse(controller, RumbleIntensity.VERY_LIGHT,
-                                                side).handleInterrupt(() -> controller.setRumble(side.get(), 0)));
+                return zeroWheels.beforeStarting(() -> haptics.play(HapticPattern.SHORT_PULSE,
+                                RumbleIntensity.VERY_LIGHT, side.get(), HapticPriority.CONFIRM));
         }
 
         // -------------------------------------------------------------------------------------------------------------
         private Command makeLockOnShootAndDriveCommand(final Supplier<RumbleType> side,
-                        final CommandXboxController controller) {
-                return new LockOnShootAndDrive(
+                        final HapticsEngine haptics) {
+                lockOnShootAndDrive = new LockOnShootAndDrive(
                                 shooter,
                                 drivetrain,
                                 feeder,
-                                aimCamera,
+                                hubTargeting,
                                 () -> -driver.getLeftX() * MaxSpeed * 0.10,
                                 () -> -driver.getLeftY() * MaxSpeed * 0.20,
-                                MaxSpeed)
+                                MaxSpeed);
+                return lockOnShootAndDrive
                                 .handleInterrupt(() -> {
                                         System.out.println("I am wondering if this executes on cancel()?");
-                                        getCommandScheduler().schedule(RumblePulseCommand
-                                                        .createShortDoublePulse(controller,
-                                                                        RumbleIntensity.SUPER_HEAVY,
-                                                                        side)
-                                                        .handleInterrupt(() -> controller
-                                                                        .setRumble(side.get(), 0)));
+                                        haptics.play(HapticPattern.FADE_OUT, RumbleIntensity.SUPER_HEAVY,
+                                                        side.get(), HapticPriority.ALERT);
                                         isLockedOn = false;
                                 });
         }
 
         // -------------------------------------------------------------------------------------------------------------
         private Command makeManualShootCommand(final DoubleSupplier ballVelocityScalar,
-                        final Supplier<RumbleType> side, final CommandXboxController controller) {
+                        final Supplier<RumbleType> side, final HapticsEngine haptics) {
                 return new ParallelCommandGroup(shooter.manualShootBall(ballVelocityScalar),
-                                new RumbleDynamicCommand(controller, ballVelocityScalar, side)
-                                                .handleInterrupt(() -> controller.setRumble(side.get(), 0)));
+                                new RumbleDynamicCommand(haptics, ballVelocityScalar, side));
         }
 
         // -------------------------------------------------------------------------------------------------------------
-        private Command makeManualFeederInCommand(final Supplier<RumbleType> side,
-                        final CommandXboxController controller) {
+        private Command makeManualFeederInCommand(final Supplier<RumbleType> side, final HapticsEngine haptics) {
                 return new ParallelCommandGroup(
                                 feeder.manualFeederRunIn(),
-                                new RumbleDynamicCommand(controller, () -> RumbleIntensity.MEDIUM, side)
-                                                .handleInterrupt(() -> controller.setRumble(side.get(), 0)));
+                                new RumbleDynamicCommand(haptics, () -> RumbleIntensity.MEDIUM, side));
         }
 
         // -------------------------------------------------------------------------------------------------------------
-        private Command makeManualFeederOutCommand(final Supplier<RumbleType> side,
-                        final CommandXboxController controller) {
+        private Command makeManualFeederOutCommand(final Supplier<RumbleType> side, final HapticsEngine haptics) {
                 return new ParallelCommandGroup(
                                 feeder.manualFeederRunOut(),
-                                new RumbleDynamicCommand(controller, () -> RumbleIntensity.MEDIUM, side)
-                                                .handleInterrupt(() -> controller.setRumble(side.get(), 0)));
+                                new RumbleDynamicCommand(haptics, () -> RumbleIntensity.MEDIUM, side));
         }
 
         // -------------------------------------------------------------------------------------------------------------
-        private Command makeWeaponSwapCommand(final Supplier<RumbleType> side, final CommandXboxController controller) {
-                final Command weaponSwap = new InstantCommand(() -> {
+        private Command makeWeaponSwapCommand(final Supplier<RumbleType> side, final HapticsEngine haptics) {
+                return new InstantCommand(() -> {
+                        haptics.play(HapticPattern.SHORT_PULSE, RumbleIntensity.SUPER_HEAVY, side.get(),
+                                        HapticPriority.CONFIRM);
                         System.out.println("Swapping.");
                         if (!isLockedOn) {
                                 System.out.println("Currently manual, swapping to lock on.");
@@ -392,35 +596,34 @@ public class RobotSystem {
                                 isLockedOn = false;
                         }
                 });
-
-                return new ParallelCommandGroup(weaponSwap,
-                                RumblePulseCommand.createShortSinglePulse(controller, RumbleIntensity.SUPER_HEAVY,
-                                                side)
-                                                .handleInterrupt(() -> controller.setRumble(side.get(), 0)));
         }
 
         // -------------------------------------------------------------------------------------------------------------
         private Command makeCollectorRunCommand(final DoubleSupplier collectorScalar, final Supplier<RumbleType> side,
-                        final CommandXboxController controller) {
-                return new ParallelCommandGroup(collector.run(collectorScalar),
-                                new RumbleDynamicCommand(controller, collectorScalar, side)
-                                                .handleInterrupt(() -> controller.setRumble(side.get(), 0)));
+                        final HapticsEngine haptics) {
+                return new ParallelCommandGroup(
+                                collector.run(() -> collectorScalar.getAsDouble()
+                                                * powerManager.getCollectorSpeedScalar()),
+                                new RumbleDynamicCommand(haptics, collectorScalar, side));
 
         }
 
         // -------------------------------------------------------------------------------------------------------------
         private Command makeResetFieldOrientationCommand(final Supplier<RumbleType> side,
-                        final CommandXboxController controller) {
+                        final HapticsEngine haptics) {
                 // Reset the field-centric heading on left bumper press.
-                return new ParallelCommandGroup(drivetrain.runOnce(drivetrain::seedFieldCentric),
-                                RumblePulseCommand.createLongDoublePulse(controller, RumbleIntensity.MEDIUM_HEAVY,
-                                                side).handleInterrupt(() -> controller.setRumble(side.get(), 0)));
+                return drivetrain.runOnce(() -> {
+                        drivetrain.seedFieldCentric();
+                        haptics.play(HapticPattern.LONG_DOUBLE_PULSE, RumbleIntensity.MEDIUM_HEAVY, side.get(),
+                                        HapticPriority.CONFIRM);
+                });
         }
 
         // -------------------------------------------------------------------------------------------------------------
-        private Command makeMaxSpeedChangeCommand(final Supplier<RumbleType> side,
-                        final CommandXboxController controller) {
-                return new ParallelCommandGroup(new InstantCommand(() -> {
+        private Command makeMaxSpeedChangeCommand(final Supplier<RumbleType> side, final HapticsEngine haptics) {
+                return new InstantCommand(() -> {
+                        haptics.play(HapticPattern.SHORT_PULSE, RumbleIntensity.MEDIUM_HEAVY, side.get(),
+                                        HapticPriority.CONFIRM);
                         if (maxSpeedScalar == 1) {
                                 maxSpeedScalar = 0.33;
                         } else if (maxSpeedScalar == 0.66) {
@@ -428,7 +631,7 @@ public class RobotSystem {
                         } else if (maxSpeedScalar == 0.33) {
                                 maxSpeedScalar = 0.66;
                         }
-                }), RumblePulseCommand.createShortSinglePulse(controller, RumbleIntensity.MEDIUM_HEAVY, side));
+                });
         }
 
 }
\ No newline at end of file
@@ -0,0 +1,252 @@
+package frc.robot;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.RuntimeMXBean;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.IntegerPublisher;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.StringPublisher;
+import edu.wpi.first.util.datalog.DoubleArrayLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
+
+/**
+ * {@summary}
+ * Explains "Loop time overrun": tags every late robot loop with the GC pauses
+ * and JIT work that happened inside it.
+ * <p>
+ * {@link #loopStarted()} is called first thing in {@code robotPeriodic}.
+ * TimedRobot starts loops on a fixed schedule, so two starts more than a
+ * period (plus {@link #OVERRUN_SLACK_MS}) apart mean the loop between them
+ * overran. That loop is the window checked:
+ *
+ * <pre>
+ *   GC     pauses from the collectors' notifications (JVM-uptime start/end),
+ *          overlap with the window summed
+ *   JIT    CompilationMXBean total compile time, delta over the window
+ *          (compiler threads compete with the loop for the RIO's two cores)
+ *   heap   used / max, sampled at the overrun
+ *
+ *   cause  "gc"       GC overlap ≥ GC_CAUSE_MS
+ *          "jit"      otherwise, JIT delta ≥ JIT_CAUSE_MS
+ *          "compute"  neither: the loop's own code was slow
+ * </pre>
+ *
+ * Published under {@code Health} in NetworkTables; every overrun also goes to
+ * the WPILog as {@code Health/Overrun} [loop ms, GC ms, JIT ms, heap MB] and
+ * as a one-line message. Between overruns it samples only two counters, so
+ * the monitor itself doesn't allocate on the loop.
+ */
+public class RuntimeHealthMonitor {
+    // =================================================================================================================
+    // Constants
+    // =================================================================================================================
+    /** Late by less than this is scheduler jitter, not an overrun (ms). */
+    private static final double OVERRUN_SLACK_MS = 1.0;
+    private static final double GC_CAUSE_MS = 1.0;
+    private static final double JIT_CAUSE_MS = 1.0;
+
+    /** GC pauses remembered; far more than can land in one loop. */
+    private static final int GC_HISTORY = 32;
+    private static final double HEAP_SAMPLE_PERIOD_MS = 1000.0;
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+
+    // =================================================================================================================
+    // Private Data Members
+    // =================================================================================================================
+    private final double periodMs;
+    private final RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+    private final CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final boolean jitTimeSupported;
+
+    // Written by the GC notification thread (under gcLock), read on the main thread.
+    private final Object gcLock = new Object();
+    private final long[] gcStartMs = new long[GC_HISTORY];
+    private final long[] gcEndMs = new long[GC_HISTORY];
+    private int gcNext = 0;
+    private long gcCount = 0;
+    private long gcTotalMs = 0;
+
+    // Main thread only
+    private long lastStartMs = -1;
+    private long lastJitMs = 0;
+    private double lastHeapSampleMs = Double.NEGATIVE_INFINITY;
+    private long overruns = 0;
+    private long gcOverruns = 0;
+    private long jitOverruns = 0;
+    private long computeOverruns = 0;
+
+    private final IntegerPublisher overrunPub;
+    private final IntegerPublisher gcOverrunPub;
+    private final IntegerPublisher jitOverrunPub;
+    private final IntegerPublisher computeOverrunPub;
+    private final DoublePublisher lastLoopPub;
+    private final DoublePublisher lastGcPub;
+    private final DoublePublisher lastJitPub;
+    private final StringPublisher lastCausePub;
+    private final IntegerPublisher gcCountPub;
+    private final IntegerPublisher gcTotalPub;
+    private final IntegerPublisher jitTotalPub;
+    private final DoublePublisher heapUsedPub;
+    private final DoublePublisher heapPercentPub;
+    private final DoubleArrayLogEntry overrunLog;
+    private final double[] overrunRecord = new double[4];
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    /** @param periodSeconds The TimedRobot period. */
+    public RuntimeHealthMonitor(final double periodSeconds) {
+        this.periodMs = periodSeconds * 1000.0;
+        this.jitTimeSupported = compiler != null && compiler.isCompilationTimeMonitoringSupported();
+        this.lastJitMs = jitMillis();
+
+        for (final GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter) {
+                ((NotificationEmitter) collector).addNotificationListener(this::onGarbageCollection, null, null);
+            }
+        }
+
+        final NetworkTable table = NetworkTableInstance.getDefault().getTable("Health");
+        this.overrunPub = table.getIntegerTopic("Overruns").publish();
+        this.gcOverrunPub = table.getIntegerTopic("GcOverruns").publish();
+        this.jitOverrunPub = table.getIntegerTopic("JitOverruns").publish();
+        this.computeOverrunPub = table.getIntegerTopic("ComputeOverruns").publish();
+        this.lastLoopPub = table.getDoubleTopic("LastOverrunLoopMs").publish();
+        this.lastGcPub = table.getDoubleTopic("LastOverrunGcMs").publish();
+        this.lastJitPub = table.getDoubleTopic("LastOverrunJitMs").publish();
+        this.lastCausePub = table.getStringTopic("LastOverrunCause").publish();
+        this.gcCountPub = table.getIntegerTopic("GcCount").publish();
+        this.gcTotalPub = table.getIntegerTopic("GcTotalMs").publish();
+        this.jitTotalPub = table.getIntegerTopic("JitTotalMs").publish();
+        this.heapUsedPub = table.getDoubleTopic("HeapUsedMb").publish();
+        this.heapPercentPub = table.getDoubleTopic("HeapPercent").publish();
+        this.overrunLog = new DoubleArrayLogEntry(DataLogManager.getLog(), "Health/Overrun");
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Marks the start of a robot loop; checks the previous one. Call first
+     * thing in {@code robotPeriodic}.
+     */
+    public void loopStarted() {
+        final long now = runtime.getUptime();
+        final long jit = jitMillis();
+
+        if (lastStartMs >= 0 && now - lastStartMs > periodMs + OVERRUN_SLACK_MS) {
+            tagOverrun(lastStartMs, now, jit - lastJitMs);
+        }
+        lastStartMs = now;
+        lastJitMs = jit;
+
+        if (now - lastHeapSampleMs >= HEAP_SAMPLE_PERIOD_MS) {
+            lastHeapSampleMs = now;
+            sampleHeap();
+            synchronized (gcLock) {
+                gcCountPub.set(gcCount);
+                gcTotalPub.set(gcTotalMs);
+            }
+            jitTotalPub.set(jit);
+        }
+    }
+
+    // =================================================================================================================
+    // Private Methods
+    // =================================================================================================================
+    private void tagOverrun(final long windowStart, final long windowEnd, final long jitMs) {
+        final long gcMs = gcOverlap(windowStart, windowEnd);
+        final double loopMs = windowEnd - windowStart;
+        final String cause;
+        if (gcMs >= GC_CAUSE_MS) {
+            cause = "gc";
+            gcOverruns++;
+        } else if (jitMs >= JIT_CAUSE_MS) {
+            cause = "jit";
+            jitOverruns++;
+        } else {
+            cause = "compute";
+            computeOverruns++;
+        }
+        overruns++;
+        final double heapMb = sampleHeap();
+
+        overrunPub.set(overruns);
+        gcOverrunPub.set(gcOverruns);
+        jitOverrunPub.set(jitOverruns);
+        computeOverrunPub.set(computeOverruns);
+        lastLoopPub.set(loopMs);
+        lastGcPub.set(gcMs);
+        lastJitPub.set(jitMs);
+        lastCausePub.set(cause);
+
+        overrunRecord[0] = loopMs;
+        overrunRecord[1] = gcMs;
+        overrunRecord[2] = jitMs;
+        overrunRecord[3] = heapMb;
+        overrunLog.append(overrunRecord);
+        DataLogManager.log(String.format("Loop overrun %.0f ms (%s): GC %d ms, JIT %d ms, heap %.0f MB",
+                loopMs, cause, gcMs, jitMs, heapMb));
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Sum of GC pause time inside [start, end] (JVM uptime, ms). */
+    private long gcOverlap(final long start, final long end) {
+        long total = 0;
+        synchronized (gcLock) {
+            for (int i = 0; i < GC_HISTORY; i++) {
+                final long from = Math.max(start, gcStartMs[i]);
+                final long to = Math.min(end, gcEndMs[i]);
+                if (to > from) {
+                    total += to - from;
+                }
+            }
+        }
+        return total;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** @return Heap in use (MB). */
+    private double sampleHeap() {
+        final MemoryUsage heap = memory.getHeapMemoryUsage();
+        final double usedMb = heap.getUsed() / BYTES_PER_MB;
+        heapUsedPub.set(usedMb);
+        heapPercentPub.set(heap.getMax() > 0 ? 100.0 * heap.getUsed() / heap.getMax() : 0.0);
+        return usedMb;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private long jitMillis() {
+        return jitTimeSupported ? compiler.getTotalCompilationTime() : 0;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** GC notification thread. */
+    private void onGarbageCollection(final Notification notification, final Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        final GcInfo info = GarbageCollectionNotificationInfo
+                .from((CompositeData) notification.getUserData()).getGcInfo();
+        synchronized (gcLock) {
+            gcStartMs[gcNext] = info.getStartTime();
+            gcEndMs[gcNext] = info.getEndTime();
+            gcNext = (gcNext + 1) % GC_HISTORY;
+            gcCount++;
+            gcTotalMs += info.getDuration();
+        }
+    }
+}
@@ -9,6 +9,7 @@ import edu.wpi.first.math.kinematics.SwerveModulePosition;
 import edu.wpi.first.math.kinematics.SwerveModuleState;
 import edu.wpi.first.networktables.DoubleArrayPublisher;
 import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.IntegerPublisher;
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.networktables.NetworkTableInstance;
 import edu.wpi.first.networktables.StringPublisher;
@@ -20,6 +21,8 @@ import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj.util.Color;
 import edu.wpi.first.wpilibj.util.Color8Bit;
 
+import frc.robot.generated.TunerConstants;
+
 public class Telemetry {
     private final double MaxSpeed;
 
@@ -57,6 +60,16 @@ public class Telemetry {
     private final DoublePublisher driveOdometryFrequency = driveStateTable.getDoubleTopic("OdometryFrequency")
             .publish();
 
+    /* Odometry thread health (is the roboRIO keeping up with the requested rate?) */
+    private final DoublePublisher odometryJitterMean = driveStateTable.getDoubleTopic("OdometryJitterMeanMs")
+            .publish();
+    private final DoublePublisher odometryJitterMax = driveStateTable.getDoubleTopic("OdometryJitterMaxMs")
+            .publish();
+    private final IntegerPublisher odometryMissed = driveStateTable.getIntegerTopic("OdometryMissedUpdates")
+            .publish();
+    private final IntegerPublisher odometryFailedDaqs = driveStateTable.getIntegerTopic("OdometryFailedDaqs")
+            .publish();
+
     /* Robot pose for field positioning */
     private final NetworkTable table = inst.getTable("Pose");
     private final DoubleArrayPublisher fieldPub = table.getDoubleArrayTopic("robotPose").publish();
@@ -98,6 +111,23 @@ public class Telemetry {
 
     private final double[] poseArray = new double[3];
 
+    /*
+     * Odometry timing. telemeterize() runs on the odometry thread once per
+     * update, so the period it is handed IS the odometry loop period:
+     *
+     * jitter = |period - nominal|
+     * missed = updates that should have happened inside a long period
+     * = round(period / nominal) - 1
+     *
+     * Mean/max are over a window of JITTER_WINDOW updates (~1 s at 250 Hz).
+     */
+    private static final int JITTER_WINDOW = 250;
+    private final double nominalOdometryPeriod = 1.0 / TunerConstants.kOdometryFrequencyHz;
+    private double jitterSum = 0.0;
+    private double jitterMax = 0.0;
+    private int jitterCount = 0;
+    private long missedUpdates = 0;
+
     /**
      * Accept the swerve drive state and telemeterize it to SmartDashboard and
      * SignalLogger.
@@ -121,6 +151,9 @@ public class Telemetry {
                 state.ModulePositions);
         SignalLogger.writeDouble("DriveState/OdometryPeriod", state.OdometryPeriod, "seconds");
 
+        /* Odometry thread timing */
+        recordOdometryTiming(state);
+
         /* Telemeterize the pose to a Field2d */
         fieldTypePub.set("Field2d");
 
@@ -136,4 +169,25 @@ public class Telemetry {
             moduleSpeeds[i].setLength(state.ModuleStates[i].speedMetersPerSecond / (2 * MaxSpeed));
         }
     }
+
+    private void recordOdometryTiming(SwerveDriveState state) {
+        final double period = state.OdometryPeriod;
+        final double jitter = Math.abs(period - nominalOdometryPeriod);
+        jitterSum += jitter;
+        jitterMax = Math.max(jitterMax, jitter);
+        if (period > 1.5 * nominalOdometryPeriod) {
+            missedUpdates += Math.round(period / nominalOdometryPeriod) - 1;
+        }
+        SignalLogger.writeDouble("DriveState/OdometryJitter", jitter * 1000.0, "ms");
+
+        if (++jitterCount >= JITTER_WINDOW) {
+            odometryJitterMean.set(jitterSum / jitterCount * 1000.0);
+            odometryJitterMax.set(jitterMax * 1000.0);
+            odometryMissed.set(missedUpdates);
+            odometryFailedDaqs.set(state.FailedDaqs);
+            jitterSum = 0.0;
+            jitterMax = 0.0;
+            jitterCount = 0;
+        }
+    }
 }
@@ -0,0 +1,260 @@
+package frc.robot.auto;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.pathplanner.lib.commands.PathPlannerAuto;
+import com.pathplanner.lib.config.RobotConfig;
+import com.pathplanner.lib.path.PathPlannerPath;
+
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Filesystem;
+import edu.wpi.first.wpilibj.smartdashboard.SendableChooser;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.Commands;
+
+/**
+ * Loads autonomous routines off the main thread and keeps them ready.
+ * <p>
+ * Replaces <code>AutoBuilder.buildAutoChooser()</code>, which parsed every
+ * <code>.auto</code> and <code>.path</code> in the deploy directory (copies
+ * included) while the robot was being constructed.
+ *
+ * <h3>What happens when:</h3>
+ * <ul>
+ * <li><b>Boot</b>: only the <code>.auto</code> <i>file names</i> are listed
+ * (no JSON parsing). <code>"Copy of …"</code> duplicates are left out.</li>
+ * <li><b>Disabled / chooser change</b>: the selected auto's paths are
+ * parsed and their ideal trajectories generated on a background thread.</li>
+ * <li><b>disabledPeriodic</b>: autos whose paths are ready get their
+ * command built, on the main thread ({@link #buildReady()}).</li>
+ * <li><b>autonomousInit</b>: the cached command is returned. If the
+ * background load has not finished (or never ran), it is built right
+ * there, as before.</li>
+ * </ul>
+ *
+ * Commands are only ever constructed on the main thread: constructing one
+ * registers its compositions with the CommandScheduler, which is not
+ * thread-safe. The background thread only touches paths.
+ *
+ * <h3>What the warm-up relies on (PathPlanner internals):</h3>
+ * <ul>
+ * <li>PathPlanner caches the paths it loads from file, so the auto built
+ * afterwards gets the same {@link PathPlannerPath} objects the loader
+ * warmed.</li>
+ * <li>{@link PathPlannerPath#getIdealTrajectory} stores the trajectory on
+ * the path, and flipping a path for red flips that stored trajectory too, so
+ * one generation covers both alliances. The follower reuses it when the
+ * robot starts at rest on the path — the common auto case — instead of
+ * generating one on its first loop.</li>
+ * </ul>
+ *
+ * If a PathPlanner update changes either, the autos still run; they just
+ * generate on their first loop again. That shared path state (and
+ * PathPlanner's path cache) is not synchronized, so the main thread never
+ * builds a command while a load is in flight: {@link #buildReady()} waits
+ * for the loader to go idle, and {@link #getCommand} waits for it to finish.
+ * Loads are only queued from the main thread, so none can start meanwhile.
+ */
+public class AutoLoader {
+    // =================================================================================================================
+    // Constants
+    // =================================================================================================================
+    private static final String AUTO_DIRECTORY = "pathplanner/autos";
+    private static final String AUTO_EXTENSION = ".auto";
+    private static final String COPY_PREFIX = "Copy of";
+    private static final String NO_AUTO = "None";
+
+    // =================================================================================================================
+    // Private Data Members
+    // =================================================================================================================
+    private final RobotConfig robotConfig;
+    private final SendableChooser<String> chooser = new SendableChooser<>();
+    private final List<String> autoNames;
+
+    /** One background thread; loads run in the order they were requested. */
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "AutoLoader");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    /** Auto name → command (the command flips itself by alliance at runtime). Main thread only. */
+    private final Map<String, Command> commands = new HashMap<>();
+    /** Autos whose paths the loader thread has primed, waiting for {@link #buildReady()}. */
+    private final Queue<String> primed = new ConcurrentLinkedQueue<>();
+    /** Autos that failed to load; built as a no-op. */
+    private final Queue<String> failed = new ConcurrentLinkedQueue<>();
+    /** Autos already queued for loading. Main thread only. */
+    private final Set<String> requested = new HashSet<>();
+    /** The most recently queued load; the loader is idle once it is done. Main thread only. */
+    private Future<?> lastLoad = CompletableFuture.completedFuture(null);
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    /**
+     * @param robotConfig The PathPlanner robot config (for trajectory
+     *                    generation).
+     */
+    public AutoLoader(final RobotConfig robotConfig) {
+        this.robotConfig = robotConfig;
+
+        this.autoNames = listAutoNames();
+
+        chooser.setDefaultOption(NO_AUTO, NO_AUTO);
+        for (final String name : autoNames) {
+            chooser.addOption(name, name);
+        }
+        chooser.onChange(this::prewarm);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** The dashboard chooser (auto names only). */
+    public SendableChooser<String> getChooser() {
+        return chooser;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Queues the currently selected auto for background loading. Call from
+     * <code>disabledInit</code>; also runs on every chooser change.
+     */
+    public void prewarmSelected() {
+        prewarm(chooser.getSelected());
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Builds the commands of autos the loader thread has finished priming,
+     * once it is idle. Call from <code>disabledPeriodic</code> (main thread).
+     */
+    public void buildReady() {
+        if (!lastLoad.isDone()) {
+            return;
+        }
+        String name;
+        while ((name = failed.poll()) != null) {
+            // Cache a no-op so autonomousInit does not retry a broken file.
+            commands.putIfAbsent(name, Commands.none());
+        }
+        while ((name = primed.poll()) != null) {
+            if (!commands.containsKey(name)) {
+                commands.put(name, new PathPlannerAuto(name));
+            }
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * The command for the selected auto — from the cache if the background
+     * load finished, otherwise built now.
+     *
+     * @return The command, or null if no auto is selected.
+     */
+    public Command getSelectedCommand() {
+        final String name = chooser.getSelected();
+        if (name == null || NO_AUTO.equals(name)) {
+            return null;
+        }
+        return getCommand(name);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * The command for an auto by name — cached, or built now.
+     */
+    public Command getCommand(final String name) {
+        if (!lastLoad.isDone()) {
+            DriverStation.reportWarning("AutoLoader: waiting for the background load to finish", false);
+            try {
+                lastLoad.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (final ExecutionException e) {
+                // load() reports its own failures.
+            }
+        }
+        buildReady();
+        final Command cached = commands.get(name);
+        if (cached != null) {
+            return cached;
+        }
+        DriverStation.reportWarning("AutoLoader: '" + name + "' was not prewarmed; building it now", false);
+        final Command command = new PathPlannerAuto(name);
+        commands.put(name, command);
+        return command;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Every auto offered in the chooser (sorted, no "Copy of" duplicates). */
+    public List<String> getAutoNames() {
+        return autoNames;
+    }
+
+    // =================================================================================================================
+    // Private Methods
+    // =================================================================================================================
+    private void prewarm(final String name) {
+        if (name == null || NO_AUTO.equals(name) || commands.containsKey(name) || !requested.add(name)) {
+            return;
+        }
+        lastLoad = loader.submit(() -> load(name));
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Runs on the loader thread: paths and trajectories only, never commands. */
+    private void load(final String name) {
+        final long start = System.nanoTime();
+        try {
+            for (final PathPlannerPath path : PathPlannerAuto.getPathGroupFromAutoFile(name)) {
+                // Cached on the (cached) path object, which is what the follower reuses.
+                path.getIdealTrajectory(robotConfig);
+            }
+        } catch (final Exception e) {
+            DriverStation.reportError("AutoLoader: failed to load '" + name + "': " + e.getMessage(),
+                    e.getStackTrace());
+            failed.add(name);
+            return;
+        }
+        primed.add(name);
+        DataLogManager.log(String.format("AutoLoader: '%s' paths ready in %.1f ms", name,
+                (System.nanoTime() - start) / 1e6));
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Auto names from the deploy directory, sorted, without "Copy of" duplicates. */
+    private static List<String> listAutoNames() {
+        final File[] files = new File(Filesystem.getDeployDirectory(), AUTO_DIRECTORY).listFiles();
+        if (files == null) {
+            return List.of();
+        }
+        final List<String> names = new ArrayList<>(files.length);
+        for (final File file : files) {
+            final String fileName = file.getName();
+            if (file.isFile() && fileName.endsWith(AUTO_EXTENSION) && !fileName.startsWith(COPY_PREFIX)) {
+                names.add(fileName.substring(0, fileName.length() - AUTO_EXTENSION.length()));
+            }
+        }
+        names.sort(null);
+        return names;
+    }
+}
@@ -0,0 +1,84 @@
+package frc.robot.commands.rumble;
+
+/**
+ * {@summary}
+ * The rumble waveforms the {@link HapticsEngine} can play, sampled once at
+ * class load at the engine's tick rate.
+ * <p>
+ * Samples are 0 to 1 and get scaled by the intensity given to
+ * {@link HapticsEngine#play}. Playing a pattern only indexes into its table:
+ * nothing is built or allocated per press.
+ */
+public enum HapticPattern {
+    /** 0.1 s on. */
+    SHORT_PULSE(pulses(1, 0.1, 0.0)),
+    /** 0.4 s on. */
+    LONG_PULSE(pulses(1, 0.4, 0.0)),
+    /** 0.1 s on, 0.3 s off, 0.1 s on. */
+    SHORT_DOUBLE_PULSE(pulses(2, 0.1, 0.3)),
+    /** 0.4 s on, 0.5 s off, 0.4 s on. */
+    LONG_DOUBLE_PULSE(pulses(2, 0.4, 0.5)),
+    /** Full → 0 over 0.5 s: hard onset that dies away, for "you just lost it". */
+    FADE_OUT(ramp(1.0, 0.0, 0.5));
+
+    // =================================================================================================================
+    // Constants
+    // =================================================================================================================
+    /** One sample per engine tick. */
+    public static final double SAMPLE_PERIOD_S = 0.01;
+
+    // =================================================================================================================
+    // Private Data Members
+    // =================================================================================================================
+    private final double[] samples;
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    /** Envelope value (0 to 1) at a tick, or 0 past the end. */
+    public double sample(final int tick) {
+        return tick < samples.length ? samples[tick] : 0.0;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Length in ticks. */
+    public int length() {
+        return samples.length;
+    }
+
+    // =================================================================================================================
+    // Private Methods
+    // =================================================================================================================
+    private HapticPattern(final double[] samples) {
+        this.samples = samples;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static double[] pulses(final int count, final double onSeconds, final double offSeconds) {
+        final int on = ticks(onSeconds);
+        final int off = ticks(offSeconds);
+        final double[] samples = new double[count * on + (count - 1) * off];
+        for (int pulse = 0; pulse < count; pulse++) {
+            final int start = pulse * (on + off);
+            for (int i = 0; i < on; i++) {
+                samples[start + i] = 1.0;
+            }
+        }
+        return samples;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static double[] ramp(final double from, final double to, final double seconds) {
+        final int n = ticks(seconds);
+        final double[] samples = new double[n];
+        for (int i = 0; i < n; i++) {
+            samples[i] = from + (to - from) * i / (n - 1);
+        }
+        return samples;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static int ticks(final double seconds) {
+        return (int) Math.round(seconds / SAMPLE_PERIOD_S);
+    }
+}
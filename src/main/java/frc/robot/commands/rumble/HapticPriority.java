@@ -0,0 +1,16 @@
+package frc.robot.commands.rumble;
+
+/**
+ * {@summary}
+ * Who wins a rumble motor when several things want it. Per side, the
+ * {@link HapticsEngine} plays the highest-priority active voice; lower ones
+ * keep running underneath and come back when it ends.
+ */
+public enum HapticPriority {
+    /** Continuous feedback that follows an input (trigger pressure, running mechanisms). */
+    AMBIENT,
+    /** Acknowledging a button press. */
+    CONFIRM,
+    /** Something the driver must notice (e.g. lock-on lost). */
+    ALERT
+}
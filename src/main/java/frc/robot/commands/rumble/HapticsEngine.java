@@ -0,0 +1,170 @@
+package frc.robot.commands.rumble;
+
+import edu.wpi.first.wpilibj.GenericHID;
+import edu.wpi.first.wpilibj.GenericHID.RumbleType;
+import edu.wpi.first.wpilibj.Notifier;
+
+/**
+ * {@summary}
+ * Plays rumble for one controller from its own fixed-rate {@link Notifier},
+ * outside the command scheduler.
+ *
+ * <h3>Voices:</h3>
+ * Each side (left, right) has one voice slot per {@link HapticPriority}:
+ * <ul>
+ * <li>{@link #play}: a {@link HapticPattern} at an intensity. Replaces whatever
+ * that slot was playing and ends by itself.</li>
+ * <li>{@link #hold}: a constant level (for input-following rumble), until
+ * {@link #release}.</li>
+ * </ul>
+ * {@link RumbleType#kBothRumble} addresses both sides.
+ *
+ * <h3>Mixing (every tick, per side):</h3>
+ *
+ * <pre>
+ *   output = value of the highest-priority active voice
+ * </pre>
+ *
+ * so an alert cuts through held rumble, and held rumble returns when the alert
+ * is over. The motor is only written when its value changes.
+ * <p>
+ * All state lives in fixed arrays and the pattern tables are built at class
+ * load: playing, holding and ticking allocate nothing. Calls may come from any
+ * thread (the Notifier runs on its own).
+ */
+public class HapticsEngine {
+    // =================================================================================================================
+    // Constants
+    // =================================================================================================================
+    private static final int LEFT = 0;
+    private static final int RIGHT = 1;
+    private static final int SIDES = 2;
+    private static final int PRIORITIES = HapticPriority.values().length;
+
+    // =================================================================================================================
+    // Private Data Members
+    // =================================================================================================================
+    private final GenericHID controller;
+    private final Notifier notifier;
+
+    /** Per [side][priority]: the pattern playing, or null if none. */
+    private final HapticPattern[][] patterns = new HapticPattern[SIDES][PRIORITIES];
+    private final int[][] startTicks = new int[SIDES][PRIORITIES];
+    private final double[][] intensities = new double[SIDES][PRIORITIES];
+    /** Per [side][priority]: a held level is active (instead of a pattern). */
+    private final boolean[][] holding = new boolean[SIDES][PRIORITIES];
+
+    private final double[] written = new double[SIDES];
+    private int tick = 0;
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    public HapticsEngine(final GenericHID controller) {
+        this.controller = controller;
+        this.notifier = new Notifier(this::tick);
+        this.notifier.setName("Haptics " + controller.getPort());
+        this.notifier.startPeriodic(HapticPattern.SAMPLE_PERIOD_S);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Plays a pattern.
+     *
+     * @param pattern   The waveform.
+     * @param intensity Scale, 0 to 1 (see {@link RumbleIntensity}).
+     * @param side      Which motor(s).
+     * @param priority  Which slot; replaces what that slot was playing.
+     */
+    public synchronized void play(final HapticPattern pattern, final double intensity, final RumbleType side,
+            final HapticPriority priority) {
+        final int p = priority.ordinal();
+        for (int s = firstSide(side); s <= lastSide(side); s++) {
+            patterns[s][p] = pattern;
+            startTicks[s][p] = tick;
+            intensities[s][p] = intensity;
+            holding[s][p] = false;
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Holds a constant level on the {@link HapticPriority#AMBIENT} slot until
+     * {@link #release}. Call again to change the level.
+     */
+    public synchronized void hold(final double intensity, final RumbleType side) {
+        final int p = HapticPriority.AMBIENT.ordinal();
+        for (int s = firstSide(side); s <= lastSide(side); s++) {
+            patterns[s][p] = null;
+            intensities[s][p] = intensity;
+            holding[s][p] = true;
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Ends a {@link #hold}. */
+    public synchronized void release(final RumbleType side) {
+        final int p = HapticPriority.AMBIENT.ordinal();
+        for (int s = firstSide(side); s <= lastSide(side); s++) {
+            holding[s][p] = false;
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Silences every voice on both sides. */
+    public synchronized void stop() {
+        for (int s = 0; s < SIDES; s++) {
+            for (int p = 0; p < PRIORITIES; p++) {
+                patterns[s][p] = null;
+                holding[s][p] = false;
+            }
+        }
+    }
+
+    // =================================================================================================================
+    // Private Methods
+    // =================================================================================================================
+    private synchronized void tick() {
+        for (int s = 0; s < SIDES; s++) {
+            final double value = mix(s);
+            if (value != written[s]) {
+                written[s] = value;
+                controller.setRumble(s == LEFT ? RumbleType.kLeftRumble : RumbleType.kRightRumble, value);
+            }
+        }
+        tick++;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** The highest-priority active voice's value; ends finished patterns on the way. */
+    private double mix(final int s) {
+        for (int p = PRIORITIES - 1; p >= 0; p--) {
+            if (holding[s][p]) {
+                return intensities[s][p];
+            }
+            final HapticPattern pattern = patterns[s][p];
+            if (pattern == null) {
+                continue;
+            }
+            final int t = tick - startTicks[s][p];
+            if (t >= pattern.length()) {
+                patterns[s][p] = null;
+                continue;
+            }
+            return pattern.sample(t) * intensities[s][p];
+        }
+        return 0.0;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static int firstSide(final RumbleType side) {
+        return side == RumbleType.kRightRumble ? RIGHT : LEFT;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static int lastSide(final RumbleType side) {
+        return side == RumbleType.kLeftRumble ? LEFT : RIGHT;
+    }
+}
@@ -5,22 +5,26 @@ import java.util.function.Supplier;
 
 import edu.wpi.first.wpilibj.GenericHID.RumbleType;
 import edu.wpi.first.wpilibj2.command.Command;
-import edu.wpi.first.wpilibj2.command.button.CommandXboxController;
 
 public class RumbleDynamicCommand extends Command {
     // =================================================================================================================
     // Private Data Members
     // =================================================================================================================
-    private final CommandXboxController controller;
+    private final HapticsEngine haptics;
     private final DoubleSupplier intensity;
     private final Supplier<RumbleType> side;
 
     // =================================================================================================================
     // Public Methods
     // =================================================================================================================
-    public RumbleDynamicCommand(final CommandXboxController controller, final DoubleSupplier intensitySupplier,
+    /**
+     * Holds rumble at <code>intensitySupplier</code> (re-read every loop) on
+     * the engine's {@link HapticPriority#AMBIENT} slot while running, so
+     * button patterns still play over it.
+     */
+    public RumbleDynamicCommand(final HapticsEngine haptics, final DoubleSupplier intensitySupplier,
             final Supplier<RumbleType> side) {
-        this.controller = controller;
+        this.haptics = haptics;
         intensity = intensitySupplier;
         this.side = side;
     }
@@ -28,18 +32,18 @@ public class RumbleDynamicCommand extends Command {
     // -----------------------------------------------------------------------------------------------------------------
     @Override
     public void initialize() {
-        controller.setRumble(side.get(), intensity.getAsDouble());
+        haptics.hold(intensity.getAsDouble(), side.get());
     }
 
     // -----------------------------------------------------------------------------------------------------------------
     @Override
     public void execute() {
-        controller.setRumble(side.get(), intensity.getAsDouble());
+        haptics.hold(intensity.getAsDouble(), side.get());
     }
 
     // -----------------------------------------------------------------------------------------------------------------
     @Override
     public void end(boolean interrupted) {
-        controller.setRumble(side.get(), 0.0);
+        haptics.release(side.get());
     }
 }
@@ -1,173 +0,0 @@
-package frc.robot.commands.rumble;
-
-import java.util.function.Supplier;
-
-import edu.wpi.first.wpilibj.GenericHID.RumbleType;
-import edu.wpi.first.wpilibj2.command.InstantCommand;
-import edu.wpi.first.wpilibj2.command.SequentialCommandGroup;
-import edu.wpi.first.wpilibj2.command.WaitCommand;
-import edu.wpi.first.wpilibj2.command.button.CommandXboxController;
-
-public class RumblePulseCommand extends SequentialCommandGroup {
-    // =================================================================================================================
-    // Public Methods
-    // =================================================================================================================
-    public RumblePulseCommand(final CommandXboxController controller, final double pulseDurationSeconds,
-            final double interPulseDurationSeconds, final double intensity, final byte numPulses,
-            final Supplier<RumbleType> side) {
-        for (int i = 0; i < numPulses; i++) {
-            addCommands(
-                    new InstantCommand(() -> controller.setRumble(side.get(), intensity)),
-                    new WaitCommand(pulseDurationSeconds),
-                    new InstantCommand(() -> controller.setRumble(side.get(), 0.0)));
-            if (i < numPulses - 1) {
-                addCommands(new WaitCommand(interPulseDurationSeconds));
-            }
-        }
-    }
-
-    // -----------------------------------------------------------------------------------------------------------------
-    /**
-     * {@summary}
-     * This method is a <b>factory</b> method: it's sole purpose is to create a
-     * pre-configured <code>RumblePulseCommand</code>. This particular one is for a
-     * short, single, vibration pulse of the controller.
-     * 
-     * @apiNote Usage example:
-     *          <code>RumblePulseCommand.createShortSinglePulse(controller, 0.5, RumbleType.kRightRumble);</code>
-     * 
-     * @param controller The controller to vibrate.
-     * @param intensity  The intensity of the vibration from 0 to 1.
-     * @param side       The side at which to vibrate the controller.
-     * @return The pre-configured vibration command with the given parameters.
-     */
-    public static RumblePulseCommand createShortSinglePulse(final CommandXboxController controller,
-            final double intensity, final Supplier<RumbleType> side) {
-        final byte numPulses = 1;
-        final double pulseDurationSeconds = 0.1;
-        final double interPulseDurationSeconds = 0;
-        return new RumblePulseCommand(controller, pulseDurationSeconds, interPulseDurationSeconds, intensity, numPulses,
-                side);
-    }
-
-    // -----------------------------------------------------------------------------------------------------------------
-    /**
-     * {@summary}
-     * This method is a <b>factory</b> method: it's sole purpose is to create a
-     * pre-configured <code>RumblePulseCommand</code>. This particular one is for a
-     * long, single, vibration pulse of the controller.
-     * 
-     * @apiNote Usage example:
-     *          <code>RumblePulseCommand.createShortSinglePulse(controller, 0.5, RumbleType.kRightRumble);</code>
-     * 
-     * @param controller The controller to vibrate.
-     * @param intensity  The intensity of the vibration from 0 to 1.
-     * @param side       The side at which to vibrate the controller.
-     * @return The pre-configured vibration command with the given parameters.
-     */
-    public static RumblePulseCommand createLongSinglePulse(final CommandXboxController controller,
-            final double intensity, final Supplier<RumbleType> side) {
-        final byte numPulses = 1;
-        final double pulseDurationSeconds = 0.4;
-        final double interPulseDurationSeconds = 0;
-        return new RumblePulseCommand(controller, pulseDurationSeconds, interPulseDurationSeconds, intensity, numPulses,
-                side);
-    }
-
-    // -----------------------------------------------------------------------------------------------------------------
-    /**
-     * {@summary}
-     * This method is a <b>factory</b> method: it's sole purpose is to create a
-     * pre-configured <code>RumblePulseCommand</code>. This particular one is for a
-     * short, double, vibration pulse of the controller.
-     * 
-     * @apiNote Usage example:
-     *          <code>RumblePulseCommand.createShortDoublePulse(controller, 0.5, RumbleType.kRightRumble);</code>
-     * 
-     * @param controller The controller to vibrate.
-     * @param intensity  The intensity of the vibration from 0 to 1.
-     * @param side       The side at which to vibrate the controller.
-     * @return The pre-configured vibration command with the given parameters.
-     */
-    public static RumblePulseCommand createShortDoublePulse(final CommandXboxController controller,
-            final double intensity, final Supplier<RumbleType> side) {
-        final byte numPulses = 2;
-        final double pulseDurationSeconds = 0.1;
-        final double interPulseDurationSeconds = 0.3;
-        return new RumblePulseCommand(controller, pulseDurationSeconds, interPulseDurationSeconds, intensity, numPulses,
-                side);
-    }
-
-    // -----------------------------------------------------------------------------------------------------------------
-    /**
-     * {@summary}
-     * This method is a <b>factory</b> method: it's sole purpose is to create a
-     * pre-configured <code>RumblePulseCommand</code>. This particular one is for a
-     * long, double, vibration pulse of the controller.
-     * 
-     * @apiNote Usage example:
-     *          <code>RumblePulseCommand.createLongDoublePulse(controller, 0.5, RumbleType.kRightRumble);</code>
-     * 
-     * @param controller The controller to vibrate.
-     * @param intensity  The intensity of the vibration from 0 to 1.
-     * @param side       The side at which to vibrate the controller.
-     * @return The pre-configured vibration command with the given parameters.
-     */
-    public static RumblePulseCommand createLongDoublePulse(final CommandXboxController controller,
-            final double intensity, final Supplier<RumbleType> side) {
-        final byte numPulses = 2;
-        final double pulseDurationSeconds = 0.4;
-        final double interPulseDurationSeconds = 0.5;
-        return new RumblePulseCommand(controller, pulseDurationSeconds, interPulseDurationSeconds, intensity, numPulses,
-                side);
-    }
-
-    // -----------------------------------------------------------------------------------------------------------------
-    /**
-     * {@summary}
-     * This method is a <b>factory</b> method: it's sole purpose is to create a
-     * pre-configured <code>WaitCommand</code>. This particular one is for a
-     * short wait command.
-     * 
-     * @apiNote Usage example:
-     *          <code>RumblePulseCommand.createShortWaitCommand();</code>
-     * 
-     * @param controller The controller to vibrate.
-     * @param intensity  The intensity of the vibration from 0 to 1.
-     * @param side       The side at which to vibrate the controller.
-     * @return The pre-configured vibration command with the given parameters.
-     */
-    public static WaitCommand createShortWaitCommand() {
-        return new WaitCommand(0.1);
-    }
-
-    // -----------------------------------------------------------------------------------------------------------------
-    /**
-     * {@summary}
-     * This method is a <b>factory</b> method: it's sole purpose is to create a
-     * pre-configured <code>WaitCommand</code>. This particular one is for a
-     * long wait command.
-     * 
-     * @apiNote Usage example:
-     *          <code>RumblePulseCommand.createLongWaitCommand();</code>
-     * 
-     * @param controller The controller to vibrate.
-     * @param intensity  The intensity of the vibration from 0 to 1.
-     * @param side       The side at which to vibrate the controller.
-     * @return The pre-configured vibration command with the given parameters.
-     */
-    public static WaitCommand createLongWaitCommand() {
-        return new WaitCommand(0.2);
-    }
-
-    // -----------------------------------------------------------------------------------------------------------------
-    /**
-     * {@summary}
-     * I think we need to override the super class's
-     * {@link SequentialCommandGroup#getInterruptionBehavior()}
-     */
-    @Override
-    public InterruptionBehavior getInterruptionBehavior() {
-        return InterruptionBehavior.kCancelSelf;
-    }
-}
\ No newline at end of file
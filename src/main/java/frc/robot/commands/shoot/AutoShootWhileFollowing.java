@@ -0,0 +1,259 @@
+package frc.robot.commands.shoot;
+
+import com.ctre.phoenix6.swerve.SwerveModule.DriveRequestType;
+import com.ctre.phoenix6.swerve.SwerveRequest;
+import com.ctre.phoenix6.swerve.SwerveRequest.ForwardPerspectiveValue;
+import com.pathplanner.lib.controllers.PPHolonomicDriveController;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj2.command.Command;
+
+import frc.robot.physics.ballistics.VelocityAngleSolver;
+import frc.robot.physics.ballistics.VelocityAngleSolver.ShotResult;
+import frc.robot.physics.rotational.VelocityToRPMSolver;
+import frc.robot.subsystems.CommandSwerveDrivetrain;
+import frc.robot.subsystems.DrivetrainSnapshot;
+import frc.robot.subsystems.Feeder;
+import frc.robot.subsystems.Shooter;
+import frc.robot.vision.HubTargeting;
+
+/**
+ * The auto shoot named commands, in two forms:
+ *
+ * <ul>
+ * <li><b>Following</b> (<code>shootWhileMoving</code>, from an event
+ * marker): shoot while a PathPlanner path keeps driving. It does <b>not</b>
+ * require the drivetrain, so it runs in parallel with the path; instead it
+ * takes over the path follower's <i>rotation feedback</i>
+ * ({@link PPHolonomicDriveController#overrideRotationFeedback}) — the path
+ * keeps its translation, we own the heading.</li>
+ * <li><b>Stopped</b> (<code>shoot</code>, a sequential step after a path):
+ * no path is running to take the override, so it requires the drivetrain
+ * and turns the robot in place itself ({@link
+ * SwerveRequest.FieldCentricFacingAngle}, zero translation) with the same
+ * heading setpoint and rate.</li>
+ * </ul>
+ *
+ * <h3>Per frame:</h3>
+ *
+ * <pre>
+ *   1. Lead the solution:  d_lead = d − v · SHOT_LEAD_S
+ *      (where the robot WILL be when the ball leaves — the shot is solved
+ *       for that pose)
+ *   2. VelocityAngleSolver(d_lead, v) → turret yaw + flywheel speed
+ *   3. PredictiveHeadingController → heading setpoint + rate
+ *   4. Following: rotation feedback = rate + K_P · wrap(setpoint − heading)
+ *      Stopped:   facing-angle request at the setpoint, rate as feedforward
+ *   5. Feed when: flywheel ready, target confident, heading within tolerance
+ * </pre>
+ *
+ * The lead uses the <i>measured</i> robot velocity held for
+ * {@link #SHOT_LEAD_S}, not the path's own future poses: the stopped form has
+ * no path, and over 0.15 s the two differ by less than the shot's tolerance
+ * at path accelerations.
+ * <p>
+ * Finishes once it has fed for long enough to empty a full hopper, when it
+ * has fed for {@link #EMPTY_NO_BALL_S} without a ball dipping the flywheel
+ * (the hopper is empty — e.g. the moving shot already emptied it), or at the
+ * timeout.
+ */
+public class AutoShootWhileFollowing extends Command {
+        // =================================================================
+        // Tuning Constants
+        // =================================================================
+
+        /** Feeder → ball leaving the flywheel (s). The shot is solved this far ahead. */
+        private static final double SHOT_LEAD_S = 0.15;
+
+        /** Heading P on top of the profiled rate (1/s). */
+        private static final double HEADING_KP = 6.0;
+
+        /** Only feed within this heading error of the setpoint. */
+        private static final double AIM_TOLERANCE_RAD = Math.toRadians(3.0);
+
+        /** Cumulative feed time that empties a full hopper (s). */
+        private static final double HOPPER_EMPTY_FEED_S = 2.5;
+
+        /** Feeding this long with no ball through the flywheel means the hopper is empty (s). */
+        private static final double EMPTY_NO_BALL_S = 0.75;
+
+        /** A ball pulls the flywheel at least this far below target (same as LockOnMetrics). */
+        private static final double BALL_DIP_RPM = 250.0;
+
+        /** Hard stop, same as the old fixed-time shoot (s). */
+        private static final double TIMEOUT_S = 4.0;
+
+        private static final double FEEDER_SPEED = 0.6;
+
+        // =================================================================
+        // Subsystems
+        // =================================================================
+        private final Shooter shooter;
+        private final Feeder feeder;
+        private final CommandSwerveDrivetrain drive;
+        private final HubTargeting targeting;
+        /** True: event-marker form (path drives); false: stopped form (we drive). */
+        private final boolean followingPath;
+
+        // =================================================================
+        // Solvers / Controllers
+        // =================================================================
+        private final VelocityAngleSolver vaSolver = new VelocityAngleSolver();
+        private final VelocityToRPMSolver vRpmSolver;
+        private final PredictiveHeadingController headingController = new PredictiveHeadingController();
+        /** Stopped form only: hold position, face the setpoint (heading PID as in lock-on). */
+        private final SwerveRequest.FieldCentricFacingAngle facingAngle = new SwerveRequest.FieldCentricFacingAngle()
+                        .withDriveRequestType(DriveRequestType.OpenLoopVoltage)
+                        .withForwardPerspective(ForwardPerspectiveValue.BlueAlliance)
+                        .withHeadingPID(8, 0, 0.5);
+
+        // =================================================================
+        // State
+        // =================================================================
+        private double startTime;
+        private double lastExecuteTime;
+        private double feedTime;
+        private double feedSinceBall;
+        private boolean inDip;
+        private double headingRad;
+
+        // =================================================================
+        // Constructor
+        // =================================================================
+        /**
+         * @param followingPath True for the event-marker form (the path keeps
+         *                      the drivetrain), false for the stopped form
+         *                      (requires the drivetrain).
+         */
+        public AutoShootWhileFollowing(final Shooter shooter, final Feeder feeder,
+                        final CommandSwerveDrivetrain drive, final HubTargeting targeting,
+                        final boolean followingPath) {
+                this.shooter = shooter;
+                this.feeder = feeder;
+                this.drive = drive;
+                this.targeting = targeting;
+                this.followingPath = followingPath;
+                this.vRpmSolver = new VelocityToRPMSolver(shooter::getMotorRPM);
+
+                if (followingPath) {
+                        // NOT the drivetrain: the path follower keeps it.
+                        addRequirements(shooter, feeder);
+                } else {
+                        addRequirements(shooter, feeder, drive);
+                }
+        }
+
+        // =================================================================
+        // Lifecycle
+        // =================================================================
+
+        @Override
+        public void initialize() {
+                headingRad = drive.getSnapshot().getHeadingRad();
+                headingController.reset(headingRad);
+                startTime = Timer.getFPGATimestamp();
+                lastExecuteTime = startTime;
+                feedTime = 0.0;
+                feedSinceBall = 0.0;
+                inDip = false;
+                if (followingPath) {
+                        PPHolonomicDriveController.overrideRotationFeedback(this::rotationFeedback);
+                }
+        }
+
+        @Override
+        public void execute() {
+                final double now = Timer.getFPGATimestamp();
+                final double dt = Math.max(1e-3, now - lastExecuteTime);
+                lastExecuteTime = now;
+
+                final DrivetrainSnapshot state = drive.getSnapshot();
+                headingRad = state.getHeadingRad();
+                final double cos = state.getCos();
+                final double sin = state.getSin();
+                final ChassisSpeeds robotV = state.getRobotSpeeds();
+                final double vxField = state.getFieldVx();
+                final double vyField = state.getFieldVy();
+
+                boolean feeding = false;
+                double rpm = 0.0;
+                if (targeting.update()) {
+                        // ── 1. Lead: hub displacement from where we will be at release ──
+                        final double dx = targeting.getDx() - robotV.vxMetersPerSecond * SHOT_LEAD_S;
+                        final double dy = targeting.getDy() - robotV.vyMetersPerSecond * SHOT_LEAD_S;
+
+                        // ── 2. Solve ──
+                        final ShotResult shot = vaSolver.calculate(dx, dy, targeting.getDz(), headingRad,
+                                        vxField, vyField, LockOnShootAndDrive.LAUNCH_ANGLE_DEGREES);
+
+                        // ── 3. Heading target ──
+                        headingController.correct(headingRad + Math.toRadians(shot.getTurretYawDegrees()),
+                                        dx * cos - dy * sin,
+                                        dx * sin + dy * cos);
+
+                        if (shot.isValidShot()) {
+                                rpm = vRpmSolver.calculateMotorRPM(shot.getFlywheelSpeedMPS());
+                                if (rpm <= shooter.getMaxRPM()) {
+                                        shooter.setRPM(rpm);
+
+                                        // ── 5. Feed gate ──
+                                        final double aimError = Math.abs(MathUtil.angleModulus(
+                                                        headingController.getSetpointRad() - headingRad));
+                                        feeding = vRpmSolver.isReadyToFire()
+                                                        && targeting.isConfidentEnoughToFire()
+                                                        && aimError < AIM_TOLERANCE_RAD;
+                                }
+                        }
+                }
+                headingController.update(vxField, vyField, dt);
+
+                if (!followingPath) {
+                        drive.setControl(facingAngle
+                                        .withVelocityX(0.0)
+                                        .withVelocityY(0.0)
+                                        .withTargetDirection(Rotation2d.fromRadians(headingController.getSetpointRad()))
+                                        .withTargetRateFeedforward(headingController.getSetpointRateRadPerSec()));
+                }
+
+                feeder.setFeederSpeed(feeding ? FEEDER_SPEED : 0.0);
+                if (feeding) {
+                        feedTime += dt;
+                        feedSinceBall += dt;
+                        // Rising edge of a dip below target = a ball went through.
+                        final boolean dipped = rpm - shooter.getMotorRPM() > BALL_DIP_RPM;
+                        if (dipped && !inDip) {
+                                feedSinceBall = 0.0;
+                        }
+                        inDip = dipped;
+                }
+        }
+
+        @Override
+        public boolean isFinished() {
+                return feedTime >= HOPPER_EMPTY_FEED_S
+                                || feedSinceBall >= EMPTY_NO_BALL_S
+                                || Timer.getFPGATimestamp() - startTime >= TIMEOUT_S;
+        }
+
+        @Override
+        public void end(boolean interrupted) {
+                if (followingPath) {
+                        PPHolonomicDriveController.clearRotationFeedbackOverride();
+                }
+                feeder.setFeederSpeed(0.0);
+                // Leave the flywheel alone: PreAimShooter takes it back over.
+        }
+
+        // =================================================================
+        // Private Helpers
+        // =================================================================
+
+        /** ── 4. ── Replaces the path's rotation PID output (rad/s). */
+        private double rotationFeedback() {
+                return headingController.getSetpointRateRadPerSec()
+                                + HEADING_KP * MathUtil.angleModulus(headingController.getSetpointRad() - headingRad);
+        }
+}
@@ -0,0 +1,148 @@
+package frc.robot.commands.shoot;
+
+import static edu.wpi.first.units.Units.Inches;
+import static edu.wpi.first.units.Units.Meters;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.pathplanner.lib.auto.AutoBuilder;
+import com.pathplanner.lib.path.PathConstraints;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation3d;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.DriverStation.Alliance;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.Commands;
+import edu.wpi.first.wpilibj2.command.DeferredCommand;
+import edu.wpi.first.wpilibj2.command.Subsystem;
+
+import frc.robot.field.ShotMap;
+import frc.robot.subsystems.CommandSwerveDrivetrain;
+import frc.robot.vision.AimCamera;
+
+/**
+ * Drives to the nearest spot with a valid shot, facing the hub.
+ *
+ * <h3>Picking the goal:</h3>
+ *
+ * <pre>
+ *   Candidates: {@link ShotMap} feasible cells (footprint clear on the
+ *               navgrid, valid at-rest shot, RPM under max) that are also
+ *               inside the lock-on envelope — heading facing the hub.
+ *   Pick:       the candidate closest to the robot right now.
+ * </pre>
+ *
+ * The candidate set only depends on the alliance, so it is built once per
+ * alliance; picking is a linear scan of a few hundred poses.
+ *
+ * <h3>Driving there:</h3>
+ * {@link AutoBuilder#pathfindToPose} — PathPlanner's AD* pathfinder over the
+ * same <code>navgrid.json</code>. The planner runs on its own background
+ * thread; until it has a path the command holds still instead of blocking the
+ * loop. The goal is picked and the pathfinding command built when this is
+ * scheduled ({@link DeferredCommand}), which then runs it.
+ */
+public class DriveToShot extends DeferredCommand {
+        // =================================================================
+        // Tuning Constants
+        // =================================================================
+
+        /** Same limits the deploy paths use (globalConstraints). */
+        private static final PathConstraints CONSTRAINTS = new PathConstraints(
+                        3.0, 3.0, Math.toRadians(540), Math.toRadians(720));
+
+        /** Keep this far inside the lock-on envelope so lock-on does not creep. */
+        private static final double ENVELOPE_MARGIN_INCHES = 12;
+
+        // =================================================================
+        // Constructor
+        // =================================================================
+        public DriveToShot(final CommandSwerveDrivetrain drive, final AimCamera aimCamera, final ShotMap shotMap) {
+                this(drive, new GoalPicker(aimCamera, shotMap));
+        }
+
+        private DriveToShot(final CommandSwerveDrivetrain drive, final GoalPicker goals) {
+                super(() -> pathfindTo(goals.pick(drive.getPose())), Set.<Subsystem>of(drive));
+        }
+
+        // =================================================================
+        // Driving
+        // =================================================================
+
+        private static Command pathfindTo(final Pose2d goal) {
+                return goal == null
+                                ? Commands.none()
+                                : AutoBuilder.pathfindToPose(goal, CONSTRAINTS, 0.0);
+        }
+
+        // =================================================================
+        // Goal Selection
+        // =================================================================
+
+        private static final class GoalPicker {
+                private final AimCamera aimCamera;
+                private final ShotMap shotMap;
+
+                private final Map<Alliance, Pose2d[]> candidates = new EnumMap<>(Alliance.class);
+
+                GoalPicker(final AimCamera aimCamera, final ShotMap shotMap) {
+                        this.aimCamera = aimCamera;
+                        this.shotMap = shotMap;
+                }
+
+                /** @return The closest valid shooting pose, or null if there is none. */
+                Pose2d pick(final Pose2d from) {
+                        final Alliance alliance = DriverStation.getAlliance().orElse(null);
+                        if (alliance == null) {
+                                return null;
+                        }
+                        final Pose2d[] poses = candidates.computeIfAbsent(alliance, this::buildCandidates);
+
+                        Pose2d best = null;
+                        double bestDistSq = Double.POSITIVE_INFINITY;
+                        for (final Pose2d pose : poses) {
+                                final double dx = pose.getX() - from.getX();
+                                final double dy = pose.getY() - from.getY();
+                                final double distSq = dx * dx + dy * dy;
+                                if (distSq < bestDistSq) {
+                                        bestDistSq = distSq;
+                                        best = pose;
+                                }
+                        }
+                        return best;
+                }
+
+                private Pose2d[] buildCandidates(final Alliance alliance) {
+                        final Translation3d hub = aimCamera.getHubFieldPosition(alliance);
+                        if (hub == null) {
+                                return new Pose2d[0];
+                        }
+                        final double minRange = Inches.of(
+                                        LockOnShootAndDrive.TOO_CLOSE_INCHES + ENVELOPE_MARGIN_INCHES).in(Meters);
+                        final double maxRange = Inches.of(
+                                        LockOnShootAndDrive.TOO_FAR_INCHES - ENVELOPE_MARGIN_INCHES).in(Meters);
+
+                        final List<Pose2d> kept = new ArrayList<>();
+                        for (int cell = 0; cell < shotMap.getCellCount(); cell++) {
+                                if (!shotMap.isFeasible(alliance, cell)) {
+                                        continue;
+                                }
+                                final double x = shotMap.getCellX(cell);
+                                final double y = shotMap.getCellY(cell);
+                                final double range = Math.hypot(hub.getX() - x, hub.getY() - y);
+                                if (range < minRange || range > maxRange) {
+                                        continue;
+                                }
+                                kept.add(new Pose2d(x, y,
+                                                Rotation2d.fromRadians(Math.atan2(hub.getY() - y, hub.getX() - x))));
+                        }
+                        return kept.toArray(new Pose2d[0]);
+                }
+        }
+}
@@ -0,0 +1,173 @@
+package frc.robot.commands.shoot;
+
+import com.ctre.phoenix6.SignalLogger;
+
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+
+/**
+ * Per-activation performance counters for {@link LockOnShootAndDrive}.
+ * <p>
+ * A <i>frame</i> is one lock-on control step: every fast-loop step (5 ms), or
+ * every execute() where no fast loop runs. Everything is a primitive updated
+ * in place each frame, so collecting costs nothing on the heap. The summary is only computed and published when the
+ * command ends — to NetworkTables (<code>LockOn/*</code>, last activation)
+ * and to {@link SignalLogger} (every activation, for comparing tuning runs).
+ *
+ * <h3>Summary statistics:</h3>
+ * <ul>
+ * <li><b>TimeToFirstShot</b> — initialize() → first frame the feeder opened
+ * (s); −1 if it never did.</li>
+ * <li><b>VisionFraction</b> — frames with a hub tag in view / all frames.</li>
+ * <li><b>ReadyFraction</b> — frames where isReadyToFire() held / all
+ * frames (whether or not the target was confident enough to feed).</li>
+ * <li><b>BallsPerSecond</b> — balls fed / active time. A ball is counted on
+ * each flywheel RPM dip while feeding (no beam-break on the robot).</li>
+ * <li><b>SolverMeanMs / SolverMaxMs</b> — ballistic solve time per frame
+ * with a target.</li>
+ * </ul>
+ */
+public class LockOnMetrics {
+    // =================================================================
+    // Constants
+    // =================================================================
+
+    /**
+     * A ball passing through the flywheel pulls the RPM down by a few
+     * hundred RPM. A drop of more than this below target while feeding
+     * counts as one ball.
+     */
+    private static final double BALL_DIP_RPM = 250.0;
+
+    // =================================================================
+    // Counters (reset on every command start)
+    // =================================================================
+    private double startTime;
+    private double firstShotTime;
+    private long frames;
+    private long visionFrames;
+    private long readyFrames;
+    private long ballsFed;
+    private boolean inDip;
+    private long solverNanosTotal;
+    private long solverNanosMax;
+    private long solverCalls;
+
+    // =================================================================
+    // Publishers
+    // =================================================================
+    private final DoublePublisher timeToFirstShotPub;
+    private final DoublePublisher visionFractionPub;
+    private final DoublePublisher readyFractionPub;
+    private final DoublePublisher ballsPerSecondPub;
+    private final DoublePublisher solverMeanMsPub;
+    private final DoublePublisher solverMaxMsPub;
+
+    // =================================================================
+    // Constructor
+    // =================================================================
+    public LockOnMetrics() {
+        final NetworkTable table = NetworkTableInstance.getDefault().getTable("LockOn");
+        timeToFirstShotPub = table.getDoubleTopic("TimeToFirstShot").publish();
+        visionFractionPub = table.getDoubleTopic("VisionFraction").publish();
+        readyFractionPub = table.getDoubleTopic("ReadyFraction").publish();
+        ballsPerSecondPub = table.getDoubleTopic("BallsPerSecond").publish();
+        solverMeanMsPub = table.getDoubleTopic("SolverMeanMs").publish();
+        solverMaxMsPub = table.getDoubleTopic("SolverMaxMs").publish();
+    }
+
+    // =================================================================
+    // Collection
+    // =================================================================
+
+    /** @param now FPGA time of initialize() (s). */
+    public void reset(final double now) {
+        startTime = now;
+        firstShotTime = -1.0;
+        frames = 0;
+        visionFrames = 0;
+        readyFrames = 0;
+        ballsFed = 0;
+        inDip = false;
+        solverNanosTotal = 0;
+        solverNanosMax = 0;
+        solverCalls = 0;
+    }
+
+    /** Counts one control step (see the class docs). */
+    public void recordFrame(final boolean hasVision) {
+        frames++;
+        if (hasVision) {
+            visionFrames++;
+        }
+    }
+
+    /** @param nanos Duration of one ballistic solve (ns). */
+    public void recordSolve(final long nanos) {
+        solverNanosTotal += nanos;
+        solverCalls++;
+        if (nanos > solverNanosMax) {
+            solverNanosMax = nanos;
+        }
+    }
+
+    /**
+     * Records the feeder gate for this frame.
+     *
+     * @param now         FPGA time (s).
+     * @param ready       isReadyToFire() this frame.
+     * @param feeding     True if the feeder was opened this frame.
+     * @param targetRPM   Flywheel setpoint.
+     * @param measuredRPM Flywheel speed.
+     */
+    public void recordFeed(final double now, final boolean ready, final boolean feeding, final double targetRPM,
+            final double measuredRPM) {
+        if (ready) {
+            readyFrames++;
+        }
+        if (feeding && firstShotTime < 0.0) {
+            firstShotTime = now - startTime;
+        }
+
+        // Rising edge of a dip below target while feeding = one ball.
+        final boolean dipped = feeding && (targetRPM - measuredRPM) > BALL_DIP_RPM;
+        if (dipped && !inDip) {
+            ballsFed++;
+        }
+        inDip = dipped;
+    }
+
+    // =================================================================
+    // Summary
+    // =================================================================
+
+    /**
+     * Computes the summary statistics and publishes them.
+     *
+     * @param now FPGA time of end() (s).
+     */
+    public void publish(final double now) {
+        final double activeTime = Math.max(1e-3, now - startTime);
+        final double visionFraction = frames > 0 ? (double) visionFrames / frames : 0.0;
+        final double readyFraction = frames > 0 ? (double) readyFrames / frames : 0.0;
+        final double ballsPerSecond = ballsFed / activeTime;
+        final double solverMeanMs = solverCalls > 0 ? solverNanosTotal / (solverCalls * 1e6) : 0.0;
+        final double solverMaxMs = solverNanosMax / 1e6;
+
+        timeToFirstShotPub.set(firstShotTime);
+        visionFractionPub.set(visionFraction);
+        readyFractionPub.set(readyFraction);
+        ballsPerSecondPub.set(ballsPerSecond);
+        solverMeanMsPub.set(solverMeanMs);
+        solverMaxMsPub.set(solverMaxMs);
+
+        SignalLogger.writeDouble("LockOn/TimeToFirstShot", firstShotTime, "seconds");
+        SignalLogger.writeDouble("LockOn/VisionFraction", visionFraction);
+        SignalLogger.writeDouble("LockOn/ReadyFraction", readyFraction);
+        SignalLogger.writeDouble("LockOn/BallsPerSecond", ballsPerSecond);
+        SignalLogger.writeDouble("LockOn/SolverMeanMs", solverMeanMs, "ms");
+        SignalLogger.writeDouble("LockOn/SolverMaxMs", solverMaxMs, "ms");
+        SignalLogger.writeDouble("LockOn/ActiveTime", activeTime, "seconds");
+    }
+}
@@ -1,57 +1,47 @@
 package frc.robot.commands.shoot;
 
-import static edu.wpi.first.units.Units.Inches;
-import static edu.wpi.first.units.Units.Meters;
-
 import java.util.function.DoubleSupplier;
 
 import com.ctre.phoenix6.swerve.SwerveModule.DriveRequestType;
 import com.ctre.phoenix6.swerve.SwerveRequest;
 
-import edu.wpi.first.math.MathUtil;
 import edu.wpi.first.math.geometry.Rotation2d;
-import edu.wpi.first.math.geometry.Transform3d;
-import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.util.Units;
+import edu.wpi.first.util.datalog.DoubleArrayLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.DriverStation.Alliance;
+import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj2.command.Command;
 
 import frc.robot.physics.ballistics.VelocityAngleSolver;
 import frc.robot.physics.ballistics.VelocityAngleSolver.ShotResult;
 import frc.robot.physics.rotational.VelocityToRPMSolver;
+import frc.robot.replay.ReplayLog;
 import frc.robot.subsystems.CommandSwerveDrivetrain;
+import frc.robot.subsystems.DrivetrainSnapshot;
 import frc.robot.subsystems.Feeder;
 import frc.robot.subsystems.Shooter;
-import frc.robot.vision.AimCamera;
+import frc.robot.vision.HubTargeting;
 
 public class LockOnShootAndDrive extends Command {
         // =================================================================
         // Tuning Constants
         // =================================================================
-        private static final float LAUNCH_ANGLE_DEGREES = 80;
-        private static final float TOO_CLOSE_INCHES = 25;
-        private static final float TOO_FAR_INCHES = 150;
-
-        /**
-         * EMA smoothing coefficient for the heading setpoint.
-         *
-         * <pre>
-         * θ_smooth[n] = θ_smooth[n-1] + α · wrap(θ_raw[n] − θ_smooth[n-1])
-         * </pre>
-         *
-         * At 50 Hz (Δt = 0.02 s), time-constant τ = Δt / α :
-         * <ul>
-         * <li>α = 0.05 → τ = 0.40 s (very smooth, 95% in ~1.2 s)</li>
-         * <li>α = 0.10 → τ = 0.20 s (balanced, 95% in ~0.6 s) ← START HERE</li>
-         * <li>α = 0.15 → τ = 0.13 s (responsive, 95% in ~0.4 s)</li>
-         * </ul>
-         *
-         * ±2° vision noise × 0.10 = ±0.2° after filter.
-         * With P = 10, that produces only 0.035 rad/s of jitter — invisible.
-         */
-        private static final double HEADING_ALPHA = 0.15;
+        // (package-visible: PreAimShooter uses the same shot envelope;
+        // the launch angle is public for the offline ShotMapGenerator)
+        public static final float LAUNCH_ANGLE_DEGREES = 80;
+        static final float TOO_CLOSE_INCHES = 25;
+        static final float TOO_FAR_INCHES = 150;
 
         /** Creep speed toward / away from hub (m/s). ≈ 0.5 ft/s */
         private static final double CREEP_MPS = 0.15;
 
+        /** Fast aim loop period (s); Robot runs it on a Notifier of its own. */
+        public static final double FAST_LOOP_PERIOD_S = 0.005;
+        /** No fast step for this long → execute() steps at the robot loop rate. */
+        private static final double FAST_LOOP_STALE_S = 3 * FAST_LOOP_PERIOD_S;
+
         // =================================================================
         // Subsystems
         // =================================================================
@@ -60,9 +50,9 @@ public class LockOnShootAndDrive extends Command {
         private final CommandSwerveDrivetrain drive;
 
         // =================================================================
-        // Vision
+        // Targeting (hub tags blended with the fused pose)
         // =================================================================
-        private final AimCamera aimCamera;
+        private final HubTargeting targeting;
 
         // =================================================================
         // Driver Inputs (joystick X → strafe, joystick Y → fwd/back)
@@ -82,18 +72,53 @@ public class LockOnShootAndDrive extends Command {
         private final SwerveRequest.FieldCentricFacingAngle facingAngle;
 
         // =================================================================
-        // Filter state (reset on every command start)
+        // Heading tracking (reset on every command start)
         // =================================================================
 
-        /** EMA-filtered heading setpoint (radians, field-relative). */
-        private double smoothedHeadingRad;
-
         /**
-         * Last heading we computed from a real vision frame.
-         * Survives dropout frames so the robot holds aim instead
-         * of snapping or stopping.
+         * Predicts the hub bearing from our own translation and
+         * motion-profiles the heading setpoint. See the class docs.
          */
-        private Rotation2d lastValidTarget;
+        private final PredictiveHeadingController headingController = new PredictiveHeadingController();
+
+        /** FPGA time of the previous execute(), for the controller's Δt. */
+        private double lastExecuteTime;
+
+        // =================================================================
+        // Performance metrics (published on end())
+        // =================================================================
+        private final LockOnMetrics metrics = new LockOnMetrics();
+
+        // =================================================================
+        // Replay log (one input + one output array per frame, reused)
+        // =================================================================
+        private final double[] inputs = new double[ReplayLog.INPUT_COUNT];
+        private final double[] outputs = new double[ReplayLog.OUTPUT_COUNT];
+        private final DoubleArrayLogEntry inputLog = new DoubleArrayLogEntry(
+                        DataLogManager.getLog(), ReplayLog.LOCK_ON_INPUTS_ENTRY);
+        private final DoubleArrayLogEntry outputLog = new DoubleArrayLogEntry(
+                        DataLogManager.getLog(), ReplayLog.LOCK_ON_OUTPUTS_ENTRY);
+
+        /** Shooter RPM of the frame being computed (the RPM solver reads it). */
+        private double measuredRPM;
+
+        // =================================================================
+        // Fast loop handoff
+        //
+        // The fast loop runs on its own thread and steps with fresh
+        // odometry; the scheduler half only latches the driver's inputs
+        // and the alliance. The lifecycle methods and fastPeriodic() are
+        // synchronized, so a fast step never overlaps a latch, a
+        // fallback step or end(), and none runs after end(). The lock is
+        // uncontended except when the two threads meet.
+        // =================================================================
+        /** Between initialize() and end(): the fast loop drives the outputs. */
+        private boolean active = false;
+        private double stickX;
+        private double stickY;
+        private double allianceCode;
+        /** FPGA time of the last fast-loop step. */
+        private double lastFastStepTime = Double.NEGATIVE_INFINITY;
 
         // =================================================================
         // Constructor
@@ -102,7 +127,7 @@ public class LockOnShootAndDrive extends Command {
                         final Shooter shooter,
                         final CommandSwerveDrivetrain drive,
                         final Feeder feeder,
-                        final AimCamera aimCamera,
+                        final HubTargeting targeting,
                         final DoubleSupplier xMove,
                         final DoubleSupplier yMove,
                         final double maxSpeed) {
@@ -110,12 +135,12 @@ public class LockOnShootAndDrive extends Command {
                 this.shooter = shooter;
                 this.feeder = feeder;
                 this.drive = drive;
-                this.aimCamera = aimCamera;
+                this.targeting = targeting;
                 this.xSupplier = xMove;
                 this.ySupplier = yMove;
 
                 this.vaSolver = new VelocityAngleSolver();
-                this.vRpmSolver = new VelocityToRPMSolver(() -> shooter.getMotorRPM());
+                this.vRpmSolver = new VelocityToRPMSolver(() -> measuredRPM);
 
                 this.facingAngle = new SwerveRequest.FieldCentricFacingAngle()
                                 .withDeadband(maxSpeed * 0.1)
@@ -129,21 +154,25 @@ public class LockOnShootAndDrive extends Command {
                                 // you described.
                                 //
                                 // 0.1 lets through everything except the tiniest
-                                // residual noise the EMA didn't fully kill.
+                                // residual noise the heading controller didn't kill.
                                 //
                                 .withRotationalDeadband(0.1)
                                 //
-                                // FIX 5 (was P=20, I=0, D=0.3):
-                                // P 10 — half the noise amplification, still fast.
-                                // I 0 — no integral wind-up.
-                                // D 0.8 — damping so heading settles without ringing.
-                                //
-                                // With the EMA removing ~90% of noise, P=10 gives:
-                                // ω_jitter = 10 × 0.10 × 0.035 ≈ 0.035 rad/s
-                                // That's 2°/s — completely invisible.
+                                // Heading PID (was P=20, I=0, D=0.3):
+                                // The PredictiveHeadingController hands the
+                                // request a motion-profiled setpoint AND its rate
+                                // as feedforward, so the feedforward does the
+                                // turning and the PID only trims the residual
+                                // (module lag, carpet). It never sees a step.
                                 //
-                                // P is now 8 to reduce the jitters, and D is now 0.5
-                                // to increase responsiveness.
+                                // P 8 — residual noise is what the correction
+                                //       gain K = 0.35 lets through (±2° vision →
+                                //       ±0.7°), so ω_jitter ≈ 8 × 0.012 rad
+                                //       ≈ 0.1 rad/s, under the 0.1 rad/s
+                                //       rotational deadband above.
+                                // I 0 — the feedforward carries steady turning;
+                                //       no integral wind-up.
+                                // D 0.5 — damps the trim without ringing.
                                 //
                                 .withHeadingPID(8, 0, 0.5);
 
@@ -155,55 +184,208 @@ public class LockOnShootAndDrive extends Command {
         // =================================================================
 
         @Override
-        public void initialize() {
-                // Seed the filter with the current heading so there
+        public synchronized void initialize() {
+                // Seed the controller with the current heading so there
                 // is zero initial error — no snap on command start.
-                smoothedHeadingRad = drive.getState().Pose.getRotation().getRadians();
-                lastValidTarget = null;
+                reset(drive.getSnapshot().getHeadingRad(), Timer.getFPGATimestamp());
+                latchDriverInputs();
+                active = true;
+        }
+
+        @Override
+        public synchronized void execute() {
+                latchDriverInputs();
+                // No fast loop (e.g. the time-stepped sim harnesses): step here.
+                if (Timer.getFPGATimestamp() - lastFastStepTime > FAST_LOOP_STALE_S) {
+                        control(drive.getSnapshot());
+                }
+        }
+
+        /**
+         * {@summary}
+         * The fast aim loop: heading setpoint, flywheel setpoint and feeder
+         * gate from the newest odometry. Does nothing unless the command is
+         * running. Robot calls this every {@link #FAST_LOOP_PERIOD_S}.
+         */
+        public synchronized void fastPeriodic() {
+                if (!active) {
+                        return;
+                }
+                control(drive.captureFastSnapshot());
+                lastFastStepTime = Timer.getFPGATimestamp();
         }
 
         @Override
-        public void execute() {
+        public boolean isFinished() {
+                return false;
+        }
+
+        @Override
+        public synchronized void end(boolean interrupted) {
+                active = false;
+                feeder.setFeederSpeed(0);
+                shooter.stopShooter();
+                metrics.publish(Timer.getFPGATimestamp());
+        }
+
+        // =================================================================
+        // Control (fast loop, or execute() without one)
+        // =================================================================
+
+        /** Scheduler half of the handoff: sticks and alliance, once per robot loop. */
+        private void latchDriverInputs() {
+                stickX = xSupplier.getAsDouble();
+                stickY = ySupplier.getAsDouble();
+                final Alliance alliance = DriverStation.getAlliance().orElse(null);
+                allianceCode = alliance == null ? 0 : alliance == Alliance.Blue ? 1 : 2;
+        }
+
+        /** Decodes {@link ReplayLog#IN_ALLIANCE}; null for unknown. */
+        private static Alliance alliance(final double code) {
+                return code == 1 ? Alliance.Blue : code == 2 ? Alliance.Red : null;
+        }
+
+        private void control(final DrivetrainSnapshot state) {
+                /*
+                 * =============================================================
+                 * 1. Snapshot current state — into the array that gets
+                 *    logged, so a replay decides from exactly these inputs.
+                 * =============================================================
+                 */
+                inputs[ReplayLog.IN_POSE_X] = state.getX();
+                inputs[ReplayLog.IN_POSE_Y] = state.getY();
+                inputs[ReplayLog.IN_HEADING_RAD] = state.getHeadingRad();
+                inputs[ReplayLog.IN_VX] = state.getRobotSpeeds().vxMetersPerSecond;
+                inputs[ReplayLog.IN_VY] = state.getRobotSpeeds().vyMetersPerSecond;
+                inputs[ReplayLog.IN_OMEGA] = state.getOmega();
+                inputs[ReplayLog.IN_LAST_VISION_S] = drive.getLastVisionCorrectionTime();
+                inputs[ReplayLog.IN_SHOOTER_RPM] = shooter.getMotorRPM();
+                inputs[ReplayLog.IN_STICK_X] = stickX;
+                inputs[ReplayLog.IN_STICK_Y] = stickY;
+                inputs[ReplayLog.IN_ALLIANCE] = allianceCode;
+
+                final double now = Timer.getFPGATimestamp();
+                step(now, inputs);
+
                 /*
                  * =============================================================
-                 * 1. Snapshot current state
+                 * 2. Apply — ONE drive command, every frame, no exceptions.
+                 *
+                 * FIX 2: The old code had up to 5 different
+                 * setControl() calls with early returns that
+                 * bypassed the smoothing. Now there is exactly
+                 * one, and it always uses the profiled heading plus its
+                 * rate as feedforward.
                  * =============================================================
                  */
-                final Rotation2d heading = drive.getState().Pose.getRotation();
-                final ChassisSpeeds fieldV = ChassisSpeeds.fromRobotRelativeSpeeds(
-                                drive.getState().Speeds, heading);
+                if (!Double.isNaN(outputs[ReplayLog.OUT_SHOOTER_RPM])) {
+                        shooter.setRPM(outputs[ReplayLog.OUT_SHOOTER_RPM]);
+                }
+                if (!Double.isNaN(outputs[ReplayLog.OUT_FEEDER])) {
+                        feeder.setFeederSpeed(outputs[ReplayLog.OUT_FEEDER]);
+                }
+                drive.setControl(facingAngle
+                                .withVelocityX(outputs[ReplayLog.OUT_VX])
+                                .withVelocityY(outputs[ReplayLog.OUT_VY])
+                                .withTargetDirection(
+                                                Rotation2d.fromRadians(outputs[ReplayLog.OUT_HEADING_RAD]))
+                                .withTargetRateFeedforward(outputs[ReplayLog.OUT_HEADING_RATE]));
+
+                final long timestampMicros = (long) (now * 1e6);
+                inputLog.append(inputs, timestampMicros);
+                outputLog.append(outputs, timestampMicros);
+        }
+
+        // =================================================================
+        // Decision (also driven directly by log replay)
+        // =================================================================
+
+        /**
+         * {@summary}
+         * Starts a lock-on: heading controller seeded at
+         * <code>headingRad</code>, metrics from <code>now</code>.
+         */
+        public void reset(final double headingRad, final double now) {
+                headingController.reset(headingRad);
+                lastExecuteTime = now;
+                metrics.reset(now);
+        }
+
+        /**
+         * {@summary}
+         * One frame of the lock-on decision, from the inputs alone — nothing
+         * is read from or sent to the hardware.
+         *
+         * @param now   FPGA time of the frame (s).
+         * @param frame Inputs, {@link ReplayLog} <code>IN_*</code> layout.
+         * @return The setpoints, {@link ReplayLog} <code>OUT_*</code> layout
+         *         (reused every frame).
+         */
+        public double[] step(final double now, final double[] frame) {
+                final double headingRad = frame[ReplayLog.IN_HEADING_RAD];
+                final double cos = Math.cos(headingRad);
+                final double sin = Math.sin(headingRad);
+                final double fieldVx = frame[ReplayLog.IN_VX] * cos - frame[ReplayLog.IN_VY] * sin;
+                final double fieldVy = frame[ReplayLog.IN_VX] * sin + frame[ReplayLog.IN_VY] * cos;
+                measuredRPM = frame[ReplayLog.IN_SHOOTER_RPM];
 
                 // Start with driver sticks (joystick Y → field X, X → field Y)
-                double vx = ySupplier.getAsDouble();
-                double vy = xSupplier.getAsDouble();
+                double vx = frame[ReplayLog.IN_STICK_Y];
+                double vy = frame[ReplayLog.IN_STICK_X];
+                outputs[ReplayLog.OUT_SHOOTER_RPM] = Double.NaN;
+                outputs[ReplayLog.OUT_FEEDER] = Double.NaN;
 
-                // Will be set below — either from vision or from cache.
-                Rotation2d rawTarget;
+                final double dt = Math.max(1e-3, now - lastExecuteTime);
+                lastExecuteTime = now;
 
                 /*
                  * =============================================================
-                 * 2. Vision + ballistic solver
+                 * Targeting + ballistic solver
                  *
                  * FIX 2 & 3: ONE code path. No early returns.
-                 * Every frame flows all the way to the single
-                 * drive.setControl() at the bottom.
+                 * Every frame flows all the way to the outputs at
+                 * the bottom (and the single drive.setControl()).
+                 *
+                 * The target comes from HubTargeting: hub tags when in
+                 * view, the vision-fused pose + hub field position when
+                 * not, blended by confidence when both. So we keep a
+                 * fresh solution (and keep firing) with the hub out of
+                 * the camera's view.
                  * =============================================================
                  */
-                final Transform3d hub = aimCamera.getHubRelativeLocation();
+                final boolean hasTarget = targeting.update(alliance(frame[ReplayLog.IN_ALLIANCE]),
+                                frame[ReplayLog.IN_POSE_X], frame[ReplayLog.IN_POSE_Y], headingRad,
+                                frame[ReplayLog.IN_LAST_VISION_S]);
+                metrics.recordFrame(targeting.hasVision());
+
+                if (hasTarget) {
+                        /* ---- fresh target ---- */
+                        final double hubX = targeting.getDx();
+                        final double hubY = targeting.getDy();
 
-                if (hub != null) {
-                        /* ---- fresh vision frame ---- */
+                        final long solveStart = System.nanoTime();
                         final ShotResult shot = vaSolver.calculate(
-                                        hub, heading,
-                                        fieldV.vxMetersPerSecond,
-                                        fieldV.vyMetersPerSecond,
+                                        hubX, hubY, targeting.getDz(),
+                                        headingRad,
+                                        fieldVx,
+                                        fieldVy,
                                         LAUNCH_ANGLE_DEGREES);
-                        System.out.println(shot.toString());
-
-                        rawTarget = heading.plus(
-                                        Rotation2d.fromDegrees(shot.getTurretYawDegrees()));
-
-                        lastValidTarget = rawTarget;
+                        metrics.recordSolve(System.nanoTime() - solveStart);
+                        // (The per-frame println of the shot is gone: the string
+                        // allocation dwarfed the solve itself. See LockOn/* instead.)
+
+                        // Field-frame bearing and hub displacement for the
+                        // heading controller's prediction. A tag frame
+                        // carried between camera reads (the fast loop runs
+                        // several times per frame) is one measurement, so
+                        // it corrects once.
+                        if (!targeting.hasVision() || targeting.isNewTagFrame()) {
+                                final double bearingRad = headingRad
+                                                + Math.toRadians(shot.getTurretYawDegrees());
+                                headingController.correct(bearingRad,
+                                                hubX * cos - hubY * sin,
+                                                hubX * sin + hubY * cos);
+                        }
 
                         // ── Distance check ──
                         //
@@ -214,11 +396,10 @@ public class LockOnShootAndDrive extends Command {
                         // hub is 1 m ahead but 3 m to the left, getMeasureX() returns
                         // ~39 in while the real range is √(1² + 3²) ≈ 124 in.
                         //
-                        // getX() / getY() return meters (robot-frame); hypot gives
+                        // getDx() / getDy() return meters (robot-frame); hypot gives
                         // the frame-invariant horizontal distance, same value the
                         // ballistic solver uses as distFloor.
-                        final double distInches = Meters.of(
-                                        Math.hypot(hub.getX(), hub.getY())).in(Inches);
+                        final double distInches = Units.metersToInches(Math.hypot(hubX, hubY));
 
                         if (distInches > TOO_FAR_INCHES) {
                                 vx = CREEP_MPS;
@@ -232,12 +413,14 @@ public class LockOnShootAndDrive extends Command {
                                                 shot.getFlywheelSpeedMPS());
 
                                 if (rpm <= shooter.getMaxRPM()) {
-                                        shooter.setRPM(rpm);
-                                        if (vRpmSolver.isReadyToFire()) {
-                                                feeder.setFeederSpeed(0.6);
-                                        } else {
-                                                feeder.setFeederSpeed(0.0);
-                                        }
+                                        outputs[ReplayLog.OUT_SHOOTER_RPM] = rpm;
+                                        // Pose-only targets can drift: aim on them
+                                        // always, feed only while confident.
+                                        final boolean ready = vRpmSolver.isReadyToFire();
+                                        final boolean feed = ready && targeting.isConfidentEnoughToFire();
+                                        outputs[ReplayLog.OUT_FEEDER] = feed ? 0.6 : 0.0;
+                                        metrics.recordFeed(now, ready, feed, rpm,
+                                                        vRpmSolver.getMeasuredMotorRPM());
 
                                 } else {
                                         // RPM ceiling hit — get closer
@@ -249,76 +432,39 @@ public class LockOnShootAndDrive extends Command {
                         // This fixes: "invalid shots cancel my command".
                         // No fault, no cancel. Wait for conditions to improve.
                         //
-                } else {
-                        /*
-                         * ---- camera dropout frame ----
-                         *
-                         * FIX 3: At 30 fps camera / 50 Hz robot, ~40% of
-                         * frames have no vision. Instead of stopping the
-                         * robot (old code), we hold the last known heading
-                         * and let the driver keep translating.
-                         *
-                         * The EMA in step 3 just keeps outputting the last
-                         * smoothed value — heading holds rock-steady.
-                         */
-                        rawTarget = (lastValidTarget != null)
-                                        ? lastValidTarget
-                                        : heading;
                 }
-
                 /*
-                 * =============================================================
-                 * 3. EMA low-pass filter on heading
-                 *
-                 * FIX 1: This replaces the SlewRateLimiter.
-                 *
-                 * The SlewRateLimiter limited the rate of change of
-                 * the ERROR signal (which oscillates around zero from
-                 * noise). That dampened the oscillation amplitude
-                 * but never eliminated it.
-                 *
-                 * The EMA works on the SETPOINT itself:
-                 * θ_smooth += α · wrap(θ_raw − θ_smooth)
+                 * ---- camera dropout frames need no branch ----
                  *
-                 * Each frame, only α (15%) of the raw jump is let
-                 * through. High-frequency noise (alternating ±2°)
-                 * cancels itself out over a few frames. Sustained
-                 * real changes (robot drives, target moves) are
-                 * tracked within ~0.6 s (95%).
-                 *
-                 * angleModulus handles the ±π wraparound correctly.
-                 * =============================================================
+                 * FIX 3: At 30 fps camera / 50 Hz robot, ~40% of
+                 * frames have no vision. The heading controller keeps
+                 * dead-reckoning the hub bearing from our own velocity,
+                 * so the robot keeps tracking instead of stopping (old
+                 * code) or holding a stale heading (the EMA).
                  */
-                final double headingErr = MathUtil.angleModulus(
-                                rawTarget.getRadians() - smoothedHeadingRad);
-                smoothedHeadingRad = MathUtil.angleModulus(
-                                smoothedHeadingRad + HEADING_ALPHA * headingErr);
 
                 /*
                  * =============================================================
-                 * 4. ONE drive command — every frame, no exceptions.
+                 * Predictive, motion-profiled heading setpoint
                  *
-                 * FIX 2: The old code had up to 5 different
-                 * setControl() calls with early returns that
-                 * bypassed the smoothing. Now there is exactly
-                 * one, and it always uses the filtered heading.
+                 * Replaces the EMA low-pass filter (α = 0.15, ~0.4 s
+                 * to 95 %). The EMA could not tell the hub bearing
+                 * moving because WE moved from vision noise, so it
+                 * lagged every strafe. Now:
+                 *
+                 *   φ̇_ff = (dy·vx − dx·vy) / |d|²   (analytic, no lag)
+                 *   φ̂    = predict(φ̇_ff) + K·(vision − φ̂)
+                 *   θ_sp = trapezoid-profiled toward φ̂
+                 *
+                 * See PredictiveHeadingController for the math.
                  * =============================================================
                  */
-                drive.setControl(facingAngle
-                                .withVelocityX(vx)
-                                .withVelocityY(vy)
-                                .withTargetDirection(
-                                                Rotation2d.fromRadians(smoothedHeadingRad)));
-        }
-
-        @Override
-        public boolean isFinished() {
-                return false;
-        }
+                headingController.update(fieldVx, fieldVy, dt);
 
-        @Override
-        public void end(boolean interrupted) {
-                feeder.setFeederSpeed(0);
-                shooter.stopShooter();
+                outputs[ReplayLog.OUT_VX] = vx;
+                outputs[ReplayLog.OUT_VY] = vy;
+                outputs[ReplayLog.OUT_HEADING_RAD] = headingController.getSetpointRad();
+                outputs[ReplayLog.OUT_HEADING_RATE] = headingController.getSetpointRateRadPerSec();
+                return outputs;
         }
-}
\ No newline at end of file
+}
@@ -0,0 +1,145 @@
+package frc.robot.commands.shoot;
+
+import edu.wpi.first.math.util.Units;
+import edu.wpi.first.wpilibj2.command.Command;
+
+import frc.robot.physics.ballistics.VelocityAngleSolver;
+import frc.robot.physics.ballistics.VelocityAngleSolver.ShotResult;
+import frc.robot.physics.rotational.VelocityToRPMSolver;
+import frc.robot.subsystems.CommandSwerveDrivetrain;
+import frc.robot.subsystems.DrivetrainSnapshot;
+import frc.robot.subsystems.Shooter;
+import frc.robot.vision.HubTargeting;
+
+/**
+ * Spin-up-while-driving: the {@link Shooter}'s default command.
+ * <p>
+ * While the driver is just driving, this keeps a shot solution current from
+ * {@link HubTargeting} — the <b>fused pose</b> and the hub's field position,
+ * so no camera is needed — and
+ * holds the flywheel at the predicted RPM whenever the robot is inside the
+ * shot envelope. When the operator swaps to {@link LockOnShootAndDrive} it
+ * takes the shooter over with the wheel already at speed — the spin-up delay
+ * disappears from every cycle.
+ *
+ * <h3>State machine (per frame):</h3>
+ *
+ * <pre>
+ *   IDLE ──in range &amp;&amp; valid shot──→ SPINNING  (setRPM(predicted))
+ *    ▲                                   │
+ *    └──── out of range / invalid ───────┘  (stopShooter)
+ * </pre>
+ *
+ * The envelope has {@link #RANGE_HYSTERESIS_INCHES} of hysteresis so the
+ * wheel does not cycle on and off at the edge.
+ */
+public class PreAimShooter extends Command {
+        // =================================================================
+        // Tuning Constants
+        // =================================================================
+
+        /** Extra margin outside the lock-on envelope before we spin down. */
+        private static final double RANGE_HYSTERESIS_INCHES = 12;
+
+        // =================================================================
+        // Subsystems
+        // =================================================================
+        private final Shooter shooter;
+        private final CommandSwerveDrivetrain drive;
+        private final HubTargeting targeting;
+
+        // =================================================================
+        // Solvers
+        // =================================================================
+        private final VelocityAngleSolver vaSolver = new VelocityAngleSolver();
+        private final VelocityToRPMSolver vRpmSolver;
+
+        // =================================================================
+        // State
+        // =================================================================
+        private boolean spinning = false;
+
+        // =================================================================
+        // Constructor
+        // =================================================================
+        public PreAimShooter(final Shooter shooter, final CommandSwerveDrivetrain drive,
+                        final HubTargeting targeting) {
+                this.shooter = shooter;
+                this.drive = drive;
+                this.targeting = targeting;
+                this.vRpmSolver = new VelocityToRPMSolver(shooter::getMotorRPM);
+
+                // Only the shooter: the driver keeps the drivetrain.
+                addRequirements(shooter);
+        }
+
+        // =================================================================
+        // Lifecycle
+        // =================================================================
+
+        @Override
+        public void initialize() {
+                spinning = false;
+        }
+
+        @Override
+        public void execute() {
+                // Pose-based shooter → hub (tags blended in when in view).
+                if (!targeting.update()) {
+                        spinDown();
+                        return;
+                }
+                final double dx = targeting.getDx();
+                final double dy = targeting.getDy();
+
+                final double distInches = Units.metersToInches(Math.hypot(dx, dy));
+                final double margin = spinning ? RANGE_HYSTERESIS_INCHES : 0.0;
+                if (distInches > LockOnShootAndDrive.TOO_FAR_INCHES + margin
+                                || distInches < LockOnShootAndDrive.TOO_CLOSE_INCHES - margin) {
+                        spinDown();
+                        return;
+                }
+
+                final DrivetrainSnapshot state = drive.getSnapshot();
+                final ShotResult shot = vaSolver.calculate(
+                                dx, dy, targeting.getDz(),
+                                state.getHeadingRad(),
+                                state.getFieldVx(),
+                                state.getFieldVy(),
+                                LockOnShootAndDrive.LAUNCH_ANGLE_DEGREES);
+                if (!shot.isValidShot()) {
+                        spinDown();
+                        return;
+                }
+
+                final double rpm = vRpmSolver.calculateMotorRPM(shot.getFlywheelSpeedMPS());
+                if (rpm > shooter.getMaxRPM()) {
+                        spinDown();
+                        return;
+                }
+                shooter.setRPM(rpm);
+                spinning = true;
+        }
+
+        @Override
+        public boolean isFinished() {
+                return false;
+        }
+
+        @Override
+        public void end(boolean interrupted) {
+                // Interrupted by lock-on: leave the wheel spinning — that is
+                // the whole point. Lock-on re-commands it on its first frame.
+                spinning = false;
+        }
+
+        // =================================================================
+        // Private Helpers
+        // =================================================================
+        private void spinDown() {
+                if (spinning) {
+                        shooter.stopShooter();
+                        spinning = false;
+                }
+        }
+}
@@ -0,0 +1,183 @@
+package frc.robot.commands.shoot;
+
+import edu.wpi.first.math.MathUtil;
+
+/**
+ * Heading setpoint generator for aiming at a fixed field point (the hub)
+ * while the robot translates. Replaces the fixed-α EMA.
+ *
+ * <h3>Why the EMA had to go:</h3>
+ *
+ * <pre>
+ *   The EMA treats ALL bearing change as noise. When the robot strafes past
+ *   the hub the true bearing moves continuously, so the filtered setpoint
+ *   always lags it:   lag ≈ ω_bearing · τ   (τ = Δt/α ≈ 0.13 s)
+ * </pre>
+ *
+ * Most of that motion is not noise — it is <b>predictable</b> from our own
+ * velocity. So we predict it, and only filter what we could not predict.
+ *
+ * <h3>1. Analytic bearing rate (feedforward):</h3>
+ *
+ * <pre>
+ *   d = (dx, dy)   hub − shooter, field frame
+ *   φ = atan2(dy, dx)
+ *
+ *   The hub is fixed, so ḋx = −vx, ḋy = −vy:
+ *
+ *   φ̇ = (dx·ḋy − dy·ḋx) / |d|²
+ *     = (dy·vx − dx·vy) / |d|²
+ * </pre>
+ *
+ * <h3>2. Predict / correct the target bearing:</h3>
+ *
+ * <pre>
+ *   predict:  φ̂ += φ̇ · Δt,   d −= v · Δt          (every frame)
+ *   correct:  φ̂ += K · wrap(φ_vision − φ̂)        (vision frames only)
+ * </pre>
+ *
+ * With motion already predicted, the residual is mostly noise, so K can be
+ * small without adding lag. Dropout frames keep tracking instead of holding.
+ *
+ * <h3>3. Motion-profiled setpoint:</h3>
+ *
+ * <pre>
+ *   e      = wrap(φ̂ − θ_sp)
+ *   ω_corr = sign(e) · min(K_P·|e|, √(2·α_max·|e|))   linear near 0, braking far
+ *   ω_sp   → clamp(φ̇ + ω_corr, ±ω_max), slewed by α_max
+ *   θ_sp  += ω_sp · Δt
+ * </pre>
+ *
+ * The swerve request gets θ_sp as the target direction <b>and</b> ω_sp as the
+ * rate feedforward, so the heading PID only cleans up the residual.
+ */
+public class PredictiveHeadingController {
+    // =================================================================
+    // Tuning Constants
+    // =================================================================
+
+    /**
+     * Vision correction gain K. Noise on the bearing is attenuated by K
+     * (±2° → ±0.7°), but motion is handled by the prediction, not by K.
+     */
+    private static final double MEASUREMENT_GAIN = 0.35;
+
+    /** Proportional convergence rate of the profile near the goal (1/s). τ = 50 ms. */
+    private static final double PROFILE_KP = 20.0;
+
+    /** Profile limits. A 30° re-aim takes ≈ 0.15 s at these values. */
+    private static final double MAX_RATE_RAD_PER_SEC = 4.0 * Math.PI;
+    private static final double MAX_ACCEL_RAD_PER_SEC_SQ = 50.0;
+
+    /** Below this range (m) the bearing derivative blows up — stop feeding it forward. */
+    private static final double MIN_FEEDFORWARD_DISTANCE_M = 0.5;
+
+    // =================================================================
+    // State
+    // =================================================================
+    private double bearingEstimateRad;
+    private boolean hasEstimate;
+
+    /** Hub displacement from the shooter, field frame (m). Dead-reckoned between frames. */
+    private double hubDx;
+    private double hubDy;
+
+    private double setpointRad;
+    private double setpointRateRadPerSec;
+    private double bearingRateRadPerSec;
+
+    // =================================================================
+    // Public API
+    // =================================================================
+
+    /**
+     * Seeds the controller at the current heading so there is zero initial
+     * error — no snap on command start.
+     *
+     * @param headingRad Current robot heading, field frame (rad).
+     */
+    public void reset(final double headingRad) {
+        bearingEstimateRad = headingRad;
+        hasEstimate = false;
+        hubDx = 0.0;
+        hubDy = 0.0;
+        setpointRad = headingRad;
+        setpointRateRadPerSec = 0.0;
+        bearingRateRadPerSec = 0.0;
+    }
+
+    /**
+     * Folds a fresh vision bearing into the estimate. The first one after
+     * {@link #reset(double)} is taken as-is so acquisition is not filtered.
+     *
+     * @param bearingRad Desired heading from this frame, field frame (rad).
+     * @param dxField    Hub − shooter, field X (m).
+     * @param dyField    Hub − shooter, field Y (m).
+     */
+    public void correct(final double bearingRad, final double dxField, final double dyField) {
+        hubDx = dxField;
+        hubDy = dyField;
+        if (!hasEstimate) {
+            bearingEstimateRad = bearingRad;
+            hasEstimate = true;
+            return;
+        }
+        bearingEstimateRad = MathUtil.angleModulus(
+                bearingEstimateRad + MEASUREMENT_GAIN * MathUtil.angleModulus(bearingRad - bearingEstimateRad));
+    }
+
+    /**
+     * Advances prediction and profile by one frame. Call every frame, after
+     * {@link #correct} (if there was a vision frame).
+     *
+     * @param vxField Robot velocity, field X (m/s).
+     * @param vyField Robot velocity, field Y (m/s).
+     * @param dt      Time since the last call (s).
+     */
+    public void update(final double vxField, final double vyField, final double dt) {
+        // ── 1 + 2. Feedforward bearing rate and prediction ──
+        bearingRateRadPerSec = 0.0;
+        if (hasEstimate) {
+            final double distSq = hubDx * hubDx + hubDy * hubDy;
+            if (distSq > MIN_FEEDFORWARD_DISTANCE_M * MIN_FEEDFORWARD_DISTANCE_M) {
+                bearingRateRadPerSec = (hubDy * vxField - hubDx * vyField) / distSq;
+            }
+            bearingEstimateRad = MathUtil.angleModulus(bearingEstimateRad + bearingRateRadPerSec * dt);
+            hubDx -= vxField * dt;
+            hubDy -= vyField * dt;
+        }
+
+        // ── 3. Profiled setpoint ──
+        final double error = MathUtil.angleModulus(bearingEstimateRad - setpointRad);
+        final double absError = Math.abs(error);
+        final double correction = Math.copySign(
+                Math.min(PROFILE_KP * absError, Math.sqrt(2.0 * MAX_ACCEL_RAD_PER_SEC_SQ * absError)),
+                error);
+        final double desiredRate = MathUtil.clamp(bearingRateRadPerSec + correction,
+                -MAX_RATE_RAD_PER_SEC, MAX_RATE_RAD_PER_SEC);
+
+        final double maxStep = MAX_ACCEL_RAD_PER_SEC_SQ * dt;
+        setpointRateRadPerSec += MathUtil.clamp(desiredRate - setpointRateRadPerSec, -maxStep, maxStep);
+        setpointRad = MathUtil.angleModulus(setpointRad + setpointRateRadPerSec * dt);
+    }
+
+    /** Profiled heading setpoint, field frame (rad). */
+    public double getSetpointRad() {
+        return setpointRad;
+    }
+
+    /** Profiled heading rate — the swerve request's rate feedforward (rad/s). */
+    public double getSetpointRateRadPerSec() {
+        return setpointRateRadPerSec;
+    }
+
+    /** Analytic bearing rate from translation alone (rad/s). For telemetry. */
+    public double getBearingRateRadPerSec() {
+        return bearingRateRadPerSec;
+    }
+
+    /** True once at least one vision bearing has been folded in since reset. */
+    public boolean hasEstimate() {
+        return hasEstimate;
+    }
+}
@@ -0,0 +1,138 @@
+package frc.robot.field;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * Read-only view of <code>deploy/pathplanner/navgrid.json</code> — the same
+ * obstacle grid PathPlanner's pathfinder plans over.
+ * <p>
+ * Cells are <code>nodeSizeMeters</code> squares, row = y, column = x, origin
+ * at the blue-alliance corner. <code>true</code> = obstacle. Stored flat in a
+ * <code>boolean[]</code> so queries are one index computation.
+ */
+public class NavGrid {
+    // =================================================================================================================
+    // Constants
+    // =================================================================================================================
+    /** Relative to the deploy directory. */
+    static final String FILE_NAME = "pathplanner/navgrid.json";
+
+    // =================================================================================================================
+    // Private Data Members
+    // =================================================================================================================
+    private final double nodeSize;
+    private final double fieldLength;
+    private final double fieldWidth;
+    private final int columns;
+    private final int rows;
+    private final boolean[] obstacle;
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    /**
+     * {@summary}
+     * Loads a navgrid from a file (no HAL, so offline tools can use it too).
+     *
+     * @throws IOException If the file cannot be read or is not a navgrid.
+     */
+    public static NavGrid load(final File file) throws IOException {
+        try (Reader reader = new FileReader(file)) {
+            final JSONObject json = (JSONObject) new JSONParser().parse(reader);
+            final JSONObject size = (JSONObject) json.get("field_size");
+            final JSONArray grid = (JSONArray) json.get("grid");
+
+            final int rows = grid.size();
+            final int columns = rows > 0 ? ((JSONArray) grid.get(0)).size() : 0;
+            final boolean[] obstacle = new boolean[rows * columns];
+            for (int row = 0; row < rows; row++) {
+                final JSONArray cells = (JSONArray) grid.get(row);
+                for (int column = 0; column < columns; column++) {
+                    obstacle[row * columns + column] = (Boolean) cells.get(column);
+                }
+            }
+            return new NavGrid(((Number) json.get("nodeSizeMeters")).doubleValue(),
+                    ((Number) size.get("x")).doubleValue(), ((Number) size.get("y")).doubleValue(),
+                    columns, rows, obstacle);
+        } catch (ParseException | ClassCastException | NullPointerException e) {
+            throw new IOException("malformed navgrid: " + e, e);
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * @return True if (x, y) is off the field or in an obstacle cell.
+     */
+    public boolean isBlocked(final double x, final double y) {
+        if (x < 0.0 || y < 0.0 || x >= fieldLength || y >= fieldWidth) {
+            return true;
+        }
+        final int column = (int) (x / nodeSize);
+        final int row = (int) (y / nodeSize);
+        if (column >= columns || row >= rows) {
+            return true;
+        }
+        return obstacle[row * columns + column];
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * True if a square robot footprint centered on (x, y) touches no blocked
+     * cell (checks the center, corners and edge midpoints).
+     *
+     * @param halfWidth Half the robot's width, bumpers included (m).
+     */
+    public boolean isClear(final double x, final double y, final double halfWidth) {
+        for (int i = -1; i <= 1; i++) {
+            for (int j = -1; j <= 1; j++) {
+                if (isBlocked(x + i * halfWidth, y + j * halfWidth)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public double getNodeSize() {
+        return nodeSize;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public double getFieldLength() {
+        return fieldLength;
+    }
+
+    public double getFieldWidth() {
+        return fieldWidth;
+    }
+
+    // =================================================================================================================
+    // Private Methods
+    // =================================================================================================================
+    private NavGrid(final double nodeSize, final double fieldLength, final double fieldWidth, final int columns,
+            final int rows, final boolean[] obstacle) {
+        this.nodeSize = nodeSize;
+        this.fieldLength = fieldLength;
+        this.fieldWidth = fieldWidth;
+        this.columns = columns;
+        this.rows = rows;
+        this.obstacle = obstacle;
+    }
+}
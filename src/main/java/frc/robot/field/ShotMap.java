@@ -0,0 +1,259 @@
+package frc.robot.field;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.DriverStation.Alliance;
+import edu.wpi.first.wpilibj.Filesystem;
+
+/**
+ * Precomputed shot feasibility over the field grid, per alliance.
+ * <p>
+ * Built offline by {@link ShotMapGenerator} (<code>./gradlew
+ * generateShotMap</code>, which every deploy runs first) at the navgrid's
+ * resolution and deployed as <code>deploy/shotmap.bin</code>. Every query is
+ * one index computation.
+ *
+ * <h3>Per cell (robot center in the cell, facing the hub, at rest):</h3>
+ * <ul>
+ * <li><b>Feasible</b> — footprint clear on the navgrid, the ballistic solve is
+ * valid at <code>LAUNCH_ANGLE_DEGREES</code>, and the motor RPM is under the
+ * shooter max. One bit per cell.</li>
+ * <li><b>RPM</b> — required motor RPM (0 where infeasible).</li>
+ * <li><b>Distance to feasible</b> — straight-line distance from the cell
+ * center to the nearest feasible cell center (0 where feasible).</li>
+ * </ul>
+ *
+ * <h3>File layout (big-endian):</h3>
+ *
+ * <pre>
+ *   int   MAGIC, int VERSION
+ *   float nodeSizeMeters, int columns, int rows
+ *   per alliance (Blue, then Red):
+ *     byte[⌈cells/8⌉]  feasible bitmap, cell i = bit (i &amp; 7) of byte i/8
+ *     short[cells]     RPM
+ *     short[cells]     distance to feasible (cm, NONE if no feasible cell)
+ * </pre>
+ */
+public class ShotMap {
+    // =================================================================================================================
+    // Constants
+    // =================================================================================================================
+    public static final String FILE_NAME = "shotmap.bin";
+
+    private static final int MAGIC = 0x53484F54; // "SHOT"
+    private static final int VERSION = 1;
+
+    /** Stored distance when the alliance has no feasible cell at all. */
+    private static final short NONE = Short.MAX_VALUE;
+
+    // =================================================================================================================
+    // Private Data Members
+    // =================================================================================================================
+    private final double nodeSize;
+    private final int columns;
+    private final int rows;
+
+    /** Index 0 = Blue, 1 = Red. */
+    private final byte[][] feasible;
+    private final short[][] rpm;
+    private final short[][] distanceCm;
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    /**
+     * {@summary}
+     * Loads the map from the deploy directory.
+     * <p>
+     * If the file is missing or stale, reports an error on the Driver Station
+     * and solves the map at startup instead ({@link ShotMapGenerator}), which
+     * costs boot time but still gives a usable map.
+     *
+     * @return The map, or an empty map (nothing feasible) if even the solve
+     *         failed.
+     */
+    public static ShotMap load() {
+        final File deploy = Filesystem.getDeployDirectory();
+        final File file = new File(deploy, FILE_NAME);
+        try {
+            return read(file);
+        } catch (IOException e) {
+            DriverStation.reportError("ShotMap: could not load " + file + " (" + e.getMessage()
+                    + "); solving it at startup instead. Run ./gradlew generateShotMap and redeploy.", false);
+        }
+        final long start = System.nanoTime();
+        try {
+            final ShotMap map = ShotMapGenerator.generate(deploy);
+            DriverStation.reportWarning(String.format("ShotMap: solved at startup in %.0f ms",
+                    (System.nanoTime() - start) / 1e6), false);
+            return map;
+        } catch (IOException | RuntimeException e) {
+            DriverStation.reportError("ShotMap: startup solve failed, DriveToShot has no goals: " + e.getMessage(),
+                    e.getStackTrace());
+            return new ShotMap(1.0, 0, 0);
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** True if the robot can shoot from (x, y). */
+    public boolean isFeasible(final Alliance alliance, final double x, final double y) {
+        final int cell = cellAt(x, y);
+        return cell >= 0 && isFeasible(alliance, cell);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Required motor RPM at (x, y), or 0 if no shot there. */
+    public double getRequiredRPM(final Alliance alliance, final double x, final double y) {
+        final int cell = cellAt(x, y);
+        return cell < 0 ? 0.0 : rpm[index(alliance)][cell];
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * Distance from (x, y) to the nearest feasible cell (m): 0 if already
+     * feasible, +∞ if off the map or nothing is feasible.
+     */
+    public double getDistanceToFeasible(final Alliance alliance, final double x, final double y) {
+        final int cell = cellAt(x, y);
+        if (cell < 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        final short cm = distanceCm[index(alliance)][cell];
+        return cm == NONE ? Double.POSITIVE_INFINITY : cm / 100.0;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** True if a cell (row-major index) is feasible. */
+    public boolean isFeasible(final Alliance alliance, final int cell) {
+        return (feasible[index(alliance)][cell >> 3] & (1 << (cell & 7))) != 0;
+    }
+
+    /** Center of a cell, field X (m). */
+    public double getCellX(final int cell) {
+        return (cell % columns + 0.5) * nodeSize;
+    }
+
+    /** Center of a cell, field Y (m). */
+    public double getCellY(final int cell) {
+        return (cell / columns + 0.5) * nodeSize;
+    }
+
+    public int getCellCount() {
+        return columns * rows;
+    }
+
+    // =================================================================================================================
+    // Package Methods (ShotMapGenerator)
+    // =================================================================================================================
+    ShotMap(final double nodeSize, final int columns, final int rows) {
+        this.nodeSize = nodeSize;
+        this.columns = columns;
+        this.rows = rows;
+        final int cells = columns * rows;
+        this.feasible = new byte[2][(cells + 7) / 8];
+        this.rpm = new short[2][cells];
+        this.distanceCm = new short[2][cells];
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    void set(final Alliance alliance, final int cell, final boolean isFeasible, final double requiredRPM) {
+        final int a = index(alliance);
+        if (isFeasible) {
+            feasible[a][cell >> 3] |= (byte) (1 << (cell & 7));
+            rpm[a][cell] = (short) Math.round(requiredRPM);
+        } else {
+            feasible[a][cell >> 3] &= (byte) ~(1 << (cell & 7));
+            rpm[a][cell] = 0;
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Fills the distance-to-feasible grid from the feasibility bits (brute force; offline only). */
+    void computeDistances(final Alliance alliance) {
+        final int a = index(alliance);
+        final int cells = columns * rows;
+        for (int cell = 0; cell < cells; cell++) {
+            if (isFeasible(alliance, cell)) {
+                distanceCm[a][cell] = 0;
+                continue;
+            }
+            double best = Double.POSITIVE_INFINITY;
+            for (int other = 0; other < cells; other++) {
+                if (isFeasible(alliance, other)) {
+                    best = Math.min(best, Math.hypot(getCellX(other) - getCellX(cell),
+                            getCellY(other) - getCellY(cell)));
+                }
+            }
+            distanceCm[a][cell] = Double.isInfinite(best) ? NONE : (short) Math.round(best * 100.0);
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    void write(final File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeFloat((float) nodeSize);
+            out.writeInt(columns);
+            out.writeInt(rows);
+            for (int a = 0; a < 2; a++) {
+                out.write(feasible[a]);
+                for (final short value : rpm[a]) {
+                    out.writeShort(value);
+                }
+                for (final short value : distanceCm[a]) {
+                    out.writeShort(value);
+                }
+            }
+        }
+    }
+
+    // =================================================================================================================
+    // Private Methods
+    // =================================================================================================================
+    private static ShotMap read(final File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("not a version " + VERSION + " shot map");
+            }
+            final ShotMap map = new ShotMap(in.readFloat(), in.readInt(), in.readInt());
+            for (int a = 0; a < 2; a++) {
+                in.readFully(map.feasible[a]);
+                for (int i = 0; i < map.rpm[a].length; i++) {
+                    map.rpm[a][i] = in.readShort();
+                }
+                for (int i = 0; i < map.distanceCm[a].length; i++) {
+                    map.distanceCm[a][i] = in.readShort();
+                }
+            }
+            return map;
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Row-major cell index of (x, y), or −1 if off the map. */
+    private int cellAt(final double x, final double y) {
+        if (x < 0.0 || y < 0.0) {
+            return -1;
+        }
+        final int column = (int) (x / nodeSize);
+        final int row = (int) (y / nodeSize);
+        if (column >= columns || row >= rows) {
+            return -1;
+        }
+        return row * columns + column;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static int index(final Alliance alliance) {
+        return alliance == Alliance.Red ? 1 : 0;
+    }
+}
@@ -0,0 +1,126 @@
+package frc.robot.field;
+
+import java.io.File;
+import java.io.IOException;
+
+import edu.wpi.first.apriltag.AprilTagFieldLayout;
+import edu.wpi.first.apriltag.AprilTagFields;
+import edu.wpi.first.math.geometry.Translation3d;
+import edu.wpi.first.wpilibj.DriverStation.Alliance;
+
+import frc.robot.commands.shoot.LockOnShootAndDrive;
+import frc.robot.physics.ballistics.VelocityAngleSolver;
+import frc.robot.physics.ballistics.VelocityAngleSolver.ShotResult;
+import frc.robot.physics.rotational.VelocityToRPMSolver;
+import frc.robot.subsystems.Shooter;
+import frc.robot.vision.AimCamera;
+
+/**
+ * Offline tool: builds <code>deploy/shotmap.bin</code> (see {@link ShotMap}).
+ * <p>
+ * Runs on the desktop JVM with no HAL — only the pure-math solvers, the
+ * navgrid and the AprilTag layout are touched.
+ *
+ * <pre>
+ *   ./gradlew generateShotMap
+ * </pre>
+ *
+ * Re-run after changing the ballistics, the shooter's max RPM, the launch
+ * angle, the shooter offset or the navgrid. The deploy task runs it before
+ * every deploy, so the robot never gets a stale map.
+ */
+public class ShotMapGenerator {
+    // =================================================================================================================
+    // Constants
+    // =================================================================================================================
+    /** Half the robot's width, bumpers included (m). */
+    private static final double ROBOT_HALF_WIDTH_M = 0.45;
+
+    /** Must match AimCamera's default field layout. */
+    private static final AprilTagFields FIELD = AprilTagFields.k2026RebuiltAndymark;
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    /**
+     * @param args args[0] = the deploy directory (src/main/deploy).
+     */
+    public static void main(final String[] args) throws IOException {
+        final File deploy = new File(args.length > 0 ? args[0] : "src/main/deploy");
+        final long start = System.nanoTime();
+        final ShotMap map = generate(deploy);
+        final File out = new File(deploy, ShotMap.FILE_NAME);
+        map.write(out);
+        System.out.printf("Wrote %s (%d bytes) in %.0f ms%n", out, out.length(), (System.nanoTime() - start) / 1e6);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Solves every cell. Also the robot's fallback when the deployed map is
+     * missing or stale ({@link ShotMap#load()}).
+     *
+     * @param deploy The deploy directory (for the navgrid).
+     */
+    static ShotMap generate(final File deploy) throws IOException {
+        final NavGrid navGrid = NavGrid.load(new File(deploy, NavGrid.FILE_NAME));
+        final AprilTagFieldLayout layout = AprilTagFieldLayout.loadField(FIELD);
+
+        final ShotMap map = new ShotMap(navGrid.getNodeSize(), navGrid.getColumns(), navGrid.getRows());
+        final VelocityAngleSolver vaSolver = new VelocityAngleSolver();
+        final VelocityToRPMSolver vRpmSolver = new VelocityToRPMSolver(() -> 0.0);
+
+        for (final Alliance alliance : Alliance.values()) {
+            final Translation3d hub = AimCamera.getHubFieldPosition(layout, alliance);
+            if (hub == null) {
+                throw new IOException("field layout has no hub tag for " + alliance);
+            }
+
+            int feasibleCells = 0;
+            for (int cell = 0; cell < map.getCellCount(); cell++) {
+                final double x = map.getCellX(cell);
+                final double y = map.getCellY(cell);
+                double rpm = 0.0;
+                boolean feasible = navGrid.isClear(x, y, ROBOT_HALF_WIDTH_M);
+                if (feasible) {
+                    rpm = solveRPM(vaSolver, vRpmSolver, hub, x, y);
+                    feasible = rpm > 0.0 && rpm <= Shooter.MAX_SHOOTER_RPM;
+                }
+                map.set(alliance, cell, feasible, rpm);
+                if (feasible) {
+                    feasibleCells++;
+                }
+            }
+            map.computeDistances(alliance);
+            System.out.printf("%s: %d / %d cells feasible%n", alliance, feasibleCells, map.getCellCount());
+        }
+        return map;
+    }
+
+    // =================================================================================================================
+    // Private Methods
+    // =================================================================================================================
+    /**
+     * Motor RPM for a shot from robot center (x, y), facing the hub, at rest;
+     * 0 if the solver says there is no valid shot.
+     */
+    private static double solveRPM(final VelocityAngleSolver vaSolver, final VelocityToRPMSolver vRpmSolver,
+            final Translation3d hub, final double x, final double y) {
+        final double heading = Math.atan2(hub.getY() - y, hub.getX() - x);
+        final double cos = Math.cos(heading);
+        final double sin = Math.sin(heading);
+        final double sx = AimCamera.ROBOT_TO_SHOOTER_OFFSET.getX();
+        final double sy = AimCamera.ROBOT_TO_SHOOTER_OFFSET.getY();
+
+        // Shooter → hub, robot frame (the shooter sits off-center).
+        final double fieldDx = hub.getX() - (x + sx * cos - sy * sin);
+        final double fieldDy = hub.getY() - (y + sx * sin + sy * cos);
+        final ShotResult shot = vaSolver.calculate(
+                fieldDx * cos + fieldDy * sin,
+                -fieldDx * sin + fieldDy * cos,
+                hub.getZ() - AimCamera.ROBOT_TO_SHOOTER_OFFSET.getZ(),
+                heading, 0.0, 0.0,
+                LockOnShootAndDrive.LAUNCH_ANGLE_DEGREES);
+        return shot.isValidShot() ? vRpmSolver.calculateMotorRPM(shot.getFlywheelSpeedMPS()) : 0.0;
+    }
+}
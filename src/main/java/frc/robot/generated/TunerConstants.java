@@ -96,6 +96,13 @@ public class TunerConstants {
     private static final Voltage kSteerFrictionVoltage = Volts.of(0.2);
     private static final Voltage kDriveFrictionVoltage = Volts.of(0.2);
 
+    // Odometry performance mode: run the CTRE odometry thread at a fixed, explicit rate.
+    // The drivetrain sets the odometry status signals (drive/steer position + velocity,
+    // Pigeon yaw) to this same rate, so every odometry update sees fresh CAN frames.
+    // Watch DriveState/Odometry* in Telemetry to confirm the roboRIO keeps up.
+    public static final boolean kHighRateOdometry = true;
+    public static final double kOdometryFrequencyHz = 250.0;
+
     public static final SwerveDrivetrainConstants DrivetrainConstants = new SwerveDrivetrainConstants()
             .withCANBusName(kCANBus.getName())
             .withPigeon2Id(kPigeonId)
@@ -196,6 +203,11 @@ public class TunerConstants {
      * This should only be called once in your robot program,.
      */
     public static CommandSwerveDrivetrain createDrivetrain() {
+        if (kHighRateOdometry) {
+            return new CommandSwerveDrivetrain(
+                DrivetrainConstants, kOdometryFrequencyHz, FrontLeft, FrontRight, BackLeft, BackRight
+            );
+        }
         return new CommandSwerveDrivetrain(
             DrivetrainConstants, FrontLeft, FrontRight, BackLeft, BackRight
         );
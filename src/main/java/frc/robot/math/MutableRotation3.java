@@ -0,0 +1,148 @@
+package frc.robot.math;
+
+import edu.wpi.first.math.geometry.Quaternion;
+import edu.wpi.first.math.geometry.Rotation3d;
+
+/**
+ * {@summary}
+ * A 3D rotation, stored as a unit quaternion, that is changed in place.
+ * <p>
+ * The hot-path counterpart of {@link Rotation3d}, with the same composition
+ * convention:
+ *
+ * <pre>
+ *   a.rotateBy(b)   ≡   q ← q_b · q_a      (a first, then b)
+ *   a.compose(b)    ≡   q ← q_a · q_b      (b first, then a; what Transform3d.plus does)
+ *   rotate(v)       ≡   v ← q v q*         (via t = 2·(q⃗ × v), v += w·t + q⃗ × t)
+ * </pre>
+ *
+ * Reading a {@link Rotation3d} goes through its stored {@link Quaternion}, so
+ * nothing here allocates except {@link #toRotation3d()}.
+ */
+public class MutableRotation3 {
+    // =================================================================================================================
+    // Private Data Members
+    // =================================================================================================================
+    private double w = 1.0;
+    private double x = 0.0;
+    private double y = 0.0;
+    private double z = 0.0;
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    public MutableRotation3 setIdentity() {
+        return set(1.0, 0.0, 0.0, 0.0);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Sets the quaternion (assumed unit). */
+    public MutableRotation3 set(final double w, final double x, final double y, final double z) {
+        this.w = w;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public MutableRotation3 set(final MutableRotation3 other) {
+        return set(other.w, other.x, other.y, other.z);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public MutableRotation3 set(final Rotation3d rotation) {
+        final Quaternion q = rotation.getQuaternion();
+        return set(q.getW(), q.getX(), q.getY(), q.getZ());
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** q ← q · q_other: apply <code>other</code> first, then this. */
+    public MutableRotation3 compose(final double ow, final double ox, final double oy, final double oz) {
+        return set(
+                w * ow - x * ox - y * oy - z * oz,
+                w * ox + x * ow + y * oz - z * oy,
+                w * oy - x * oz + y * ow + z * ox,
+                w * oz + x * oy - y * ox + z * ow);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public MutableRotation3 compose(final MutableRotation3 other) {
+        return compose(other.w, other.x, other.y, other.z);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public MutableRotation3 compose(final Rotation3d other) {
+        final Quaternion q = other.getQuaternion();
+        return compose(q.getW(), q.getX(), q.getY(), q.getZ());
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** q ← q_other · q: this first, then <code>other</code> (Rotation3d.rotateBy). */
+    public MutableRotation3 rotateBy(final MutableRotation3 other) {
+        final double ow = other.w;
+        final double ox = other.x;
+        final double oy = other.y;
+        final double oz = other.z;
+        return set(
+                ow * w - ox * x - oy * y - oz * z,
+                ow * x + ox * w + oy * z - oz * y,
+                ow * y - ox * z + oy * w + oz * x,
+                ow * z + ox * y - oy * x + oz * w);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** q ← q*: the inverse rotation. */
+    public MutableRotation3 invert() {
+        return set(w, -x, -y, -z);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Rotates <code>v</code> in place by this rotation and returns it. */
+    public MutableVector3 rotate(final MutableVector3 v) {
+        final double vx = v.getX();
+        final double vy = v.getY();
+        final double vz = v.getZ();
+        // t = 2·(q⃗ × v)
+        final double tx = 2.0 * (y * vz - z * vy);
+        final double ty = 2.0 * (z * vx - x * vz);
+        final double tz = 2.0 * (x * vy - y * vx);
+        // v + w·t + q⃗ × t
+        return v.set(
+                vx + w * tx + (y * tz - z * ty),
+                vy + w * ty + (z * tx - x * tz),
+                vz + w * tz + (x * ty - y * tx));
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Rotation about z (rad), as in {@link Rotation3d#getZ()}. */
+    public double getYaw() {
+        return Math.atan2(2.0 * (w * z + x * y), 1.0 - 2.0 * (y * y + z * z));
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public double getW() {
+        return w;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public double getX() {
+        return x;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public double getY() {
+        return y;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public double getZ() {
+        return z;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** API edge: allocates. */
+    public Rotation3d toRotation3d() {
+        return new Rotation3d(new Quaternion(w, x, y, z));
+    }
+}
@@ -0,0 +1,104 @@
+package frc.robot.math;
+
+import edu.wpi.first.math.geometry.Quaternion;
+import edu.wpi.first.math.geometry.Transform3d;
+import edu.wpi.first.math.geometry.Translation3d;
+
+/**
+ * {@summary}
+ * A 3D rigid transform (translation + rotation) that is changed in place.
+ * <p>
+ * The hot-path counterpart of {@link Transform3d}, same math:
+ *
+ * <pre>
+ *   a.plus(b):   t ← t_a + R_a · t_b
+ *                q ← q_a · q_b
+ * </pre>
+ *
+ * so <code>new MutableTransform3().set(a).plus(b).plus(c)</code> equals
+ * <code>a.plus(b).plus(c)</code> without the six intermediate objects.
+ * {@link #plus(Transform3d)} reads WPILib transforms through their stored
+ * fields, so frame chains can mix in constant WPILib offsets for free.
+ */
+public class MutableTransform3 {
+    // =================================================================================================================
+    // Private Data Members
+    // =================================================================================================================
+    private final MutableVector3 translation = new MutableVector3();
+    private final MutableRotation3 rotation = new MutableRotation3();
+    /** Scratch for rotating the other operand's translation. */
+    private final MutableVector3 scratch = new MutableVector3();
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    public MutableTransform3 setIdentity() {
+        translation.set(0.0, 0.0, 0.0);
+        rotation.setIdentity();
+        return this;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public MutableTransform3 set(final MutableTransform3 other) {
+        translation.set(other.translation);
+        rotation.set(other.rotation);
+        return this;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public MutableTransform3 set(final Transform3d other) {
+        translation.set(other.getX(), other.getY(), other.getZ());
+        rotation.set(other.getRotation());
+        return this;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** this ← this ∘ other (see class doc). */
+    public MutableTransform3 plus(final MutableTransform3 other) {
+        rotation.rotate(scratch.set(other.translation));
+        translation.add(scratch);
+        rotation.compose(other.rotation);
+        return this;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** this ← this ∘ other, reading the WPILib transform without allocating. */
+    public MutableTransform3 plus(final Transform3d other) {
+        rotation.rotate(scratch.set(other.getX(), other.getY(), other.getZ()));
+        translation.add(scratch);
+        final Quaternion q = other.getRotation().getQuaternion();
+        rotation.compose(q.getW(), q.getX(), q.getY(), q.getZ());
+        return this;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public MutableVector3 getTranslation() {
+        return translation;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public MutableRotation3 getRotation() {
+        return rotation;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public double getX() {
+        return translation.getX();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public double getY() {
+        return translation.getY();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public double getZ() {
+        return translation.getZ();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** API edge: allocates. */
+    public Transform3d toTransform3d() {
+        return new Transform3d(new Translation3d(getX(), getY(), getZ()), rotation.toRotation3d());
+    }
+}
@@ -0,0 +1,102 @@
+package frc.robot.math;
+
+import edu.wpi.first.math.geometry.Translation3d;
+
+/**
+ * {@summary}
+ * A 3D vector (m) that is changed in place instead of copied.
+ * <p>
+ * The hot-path counterpart of {@link Translation3d}: every operation writes
+ * into <code>this</code> and returns it for chaining, so a chain of operations
+ * allocates nothing. Convert to and from WPILib types only at API edges.
+ */
+public class MutableVector3 {
+    // =================================================================================================================
+    // Private Data Members
+    // =================================================================================================================
+    private double x;
+    private double y;
+    private double z;
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    public MutableVector3() {
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public MutableVector3(final double x, final double y, final double z) {
+        set(x, y, z);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public MutableVector3 set(final double x, final double y, final double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public MutableVector3 set(final MutableVector3 other) {
+        return set(other.x, other.y, other.z);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public MutableVector3 set(final Translation3d translation) {
+        return set(translation.getX(), translation.getY(), translation.getZ());
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public MutableVector3 add(final double dx, final double dy, final double dz) {
+        return set(x + dx, y + dy, z + dz);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public MutableVector3 add(final MutableVector3 other) {
+        return add(other.x, other.y, other.z);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public MutableVector3 scale(final double factor) {
+        return set(x * factor, y * factor, z * factor);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public double getX() {
+        return x;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public double getY() {
+        return y;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public double getZ() {
+        return z;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** √(x² + y²), the horizontal length. */
+    public double getNorm2d() {
+        return Math.hypot(x, y);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public double getNorm() {
+        return Math.sqrt(x * x + y * y + z * z);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** API edge: allocates. */
+    public Translation3d toTranslation3d() {
+        return new Translation3d(x, y, z);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    @Override
+    public String toString() {
+        return String.format("MutableVector3(%.4f, %.4f, %.4f)", x, y, z);
+    }
+}
@@ -214,13 +214,37 @@ public class VelocityAngleSolver {
             double robotVx,
             double robotVy,
             double launchAngle) {
+        return calculate(t3d.getX(), t3d.getY(), t3d.getZ(), heading.getRadians(), robotVx, robotVy, launchAngle);
+    }
+
+    /**
+     * Same as {@link #calculate(Transform3d, Rotation2d, double, double, double)}
+     * but with the robot-frame displacement as primitives, for callers that
+     * compute it from the fused pose rather than from a camera transform.
+     *
+     * @param dx          Target displacement forward, robot frame (m)
+     * @param dy          Target displacement left, robot frame (m)
+     * @param dz          Target displacement up (m)
+     * @param headingRad  Robot heading in field frame (rad)
+     * @param robotVx     Field-centric chassis velocity X (m/s)
+     * @param robotVy     Field-centric chassis velocity Y (m/s)
+     * @param launchAngle Fixed hood angle from horizontal (degrees), e.g. 80.0
+     * @return ShotResult with turret yaw, flywheel m/s, and validity flag
+     */
+    public ShotResult calculate(
+            double dx,
+            double dy,
+            double dz,
+            double headingRad,
+            double robotVx,
+            double robotVy,
+            double launchAngle) {
 
         // ─────────────────────────────────────────────────────────────
-        // 1. Extract target displacement (robot-frame)
+        // 1. Target displacement (robot-frame)
+        //
+        // dx forward, dy left, dz up (robot frame ≡ field frame for Z)
         // ─────────────────────────────────────────────────────────────
-        double dx = t3d.getX(); // forward (robot frame)
-        double dy = t3d.getY(); // left (robot frame)
-        double dz = t3d.getZ(); // up (robot frame ≡ field frame for Z)
 
         // Horizontal distance — magnitude is frame-invariant under yaw rotation.
         double distFloor = Math.hypot(dx, dy);
@@ -239,7 +263,7 @@ public class VelocityAngleSolver {
         // We need field-frame because robotVx, robotVy are field-frame.
         // ─────────────────────────────────────────────────────────────
         double robotPhiRad = Math.atan2(dy, dx);
-        double fieldPhiRad = robotPhiRad + heading.getRadians();
+        double fieldPhiRad = robotPhiRad + headingRad;
         double phi = fieldPhiRad;
         double cosPhi = Math.cos(phi);
         double sinPhi = Math.sin(phi);
@@ -387,7 +411,7 @@ public class VelocityAngleSolver {
         // String allocation + GC pauses on RoboRIO = jittery control.
         // ─────────────────────────────────────────────────────────────
         double fieldYawDeg = Math.toDegrees(phi);
-        double robotRelativeYaw = fieldYawDeg - heading.getDegrees();
+        double robotRelativeYaw = fieldYawDeg - Math.toDegrees(headingRad);
         robotRelativeYaw = MathUtil.inputModulus(robotRelativeYaw, -180.0, 180.0);
 
         // ─────────────────────────────────────────────────────────────
@@ -0,0 +1,219 @@
+package frc.robot.physics.kinematics;
+
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import edu.wpi.first.networktables.BooleanPublisher;
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+
+/**
+ * Flags loops where wheel odometry cannot be trusted: a wheel slipping, or the
+ * robot being shoved (collision) while the wheels say otherwise.
+ *
+ * <h3>Checks (robot frame, once per loop):</h3>
+ *
+ * <pre>
+ *   rigid-body fit     (vx, vy, ω) = least squares over the module velocities
+ *                        vx, vy = mean of module vx, vy
+ *                        ω      = Σ (x̃ᵢ·vyᵢ − ỹᵢ·vxᵢ) / Σ (x̃ᵢ² + ỹᵢ²)   (r̃ from the centroid)
+ *
+ *   slip               some module is off the fit:
+ *                        |vᵢ − (v + ω × rᵢ)| &gt; SLIP_RESIDUAL
+ *                      or the gyro disagrees with the fit's rotation:
+ *                        |ω_gyro − ω| &gt; SLIP_YAW_RATE
+ *
+ *   collision          the IMU feels an acceleration the wheels didn't make:
+ *                        a_wheels = dv/dt + ω × v        (rotating frame)
+ *                        |a_imu − a_wheels| &gt; COLLISION_ACCEL
+ * </pre>
+ *
+ * Any hit marks odometry suspect for {@link #SUSPECT_HOLD_S}; the caller
+ * relaxes vision (smaller std-devs, no gate) for that long so the pose snaps
+ * back within a few camera frames.
+ * <p>
+ * Module positions are copied into primitive arrays at construction; the
+ * per-loop update allocates nothing.
+ */
+public class SlipDetector {
+    // =================================================================================================================
+    // Constants
+    // =================================================================================================================
+    /** Module velocity off the rigid-body fit (m/s). */
+    private static final double SLIP_RESIDUAL_MPS = 0.35;
+    /** Gyro vs. wheel rotation rate (rad/s). */
+    private static final double SLIP_YAW_RATE = 0.6;
+    /** Unexplained horizontal acceleration (m/s²), above tilt/vibration noise. */
+    private static final double COLLISION_ACCEL_MPS2 = 6.0;
+    /** Low-pass on both acceleration estimates; differentiated wheel speed is noisy. */
+    private static final double ACCEL_FILTER = 0.5;
+    private static final double GRAVITY = 9.81;
+
+    /** How long odometry stays suspect after the last hit (s). */
+    public static final double SUSPECT_HOLD_S = 0.5;
+
+    // =================================================================================================================
+    // Private Data Members
+    // =================================================================================================================
+    private final int moduleCount;
+    private final double[] moduleX;
+    private final double[] moduleY;
+    private final double centroidX;
+    private final double centroidY;
+    private final double radiusSqSum;
+
+    private boolean hasPrevious = false;
+    private double prevTime;
+    private double prevVx;
+    private double prevVy;
+    private double imuAx = 0.0;
+    private double imuAy = 0.0;
+    private double wheelAx = 0.0;
+    private double wheelAy = 0.0;
+
+    private double worstResidual = 0.0;
+    private double unexplainedAccel = 0.0;
+    private boolean slipping = false;
+    private boolean colliding = false;
+    private double suspectUntil = Double.NEGATIVE_INFINITY;
+
+    private final DoublePublisher residualPub;
+    private final DoublePublisher accelPub;
+    private final BooleanPublisher slipPub;
+    private final BooleanPublisher collisionPub;
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    /** @param moduleLocations Module positions from the robot center (m), in module order. */
+    public SlipDetector(final Translation2d[] moduleLocations) {
+        moduleCount = moduleLocations.length;
+        moduleX = new double[moduleCount];
+        moduleY = new double[moduleCount];
+        double sumX = 0.0;
+        double sumY = 0.0;
+        for (int i = 0; i < moduleCount; i++) {
+            moduleX[i] = moduleLocations[i].getX();
+            moduleY[i] = moduleLocations[i].getY();
+            sumX += moduleX[i];
+            sumY += moduleY[i];
+        }
+        centroidX = sumX / moduleCount;
+        centroidY = sumY / moduleCount;
+        double radiusSq = 0.0;
+        for (int i = 0; i < moduleCount; i++) {
+            final double dx = moduleX[i] - centroidX;
+            final double dy = moduleY[i] - centroidY;
+            radiusSq += dx * dx + dy * dy;
+        }
+        radiusSqSum = radiusSq;
+
+        final NetworkTable table = NetworkTableInstance.getDefault().getTable("DriveState");
+        this.residualPub = table.getDoubleTopic("SlipResidualMps").publish();
+        this.accelPub = table.getDoubleTopic("UnexplainedAccelMps2").publish();
+        this.slipPub = table.getBooleanTopic("Slipping").publish();
+        this.collisionPub = table.getBooleanTopic("Collision").publish();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Runs the checks for one loop.
+     *
+     * @param modules      Measured module states (robot frame), in module order.
+     * @param gyroYawRate  Gyro rotation rate (rad/s, CCW+).
+     * @param imuAccelXG   IMU forward acceleration (g), or NaN to skip the
+     *                     collision check (simulation: no IMU acceleration).
+     * @param imuAccelYG   IMU leftward acceleration (g).
+     * @param timeSeconds  Time of the module sample (s).
+     *
+     * @return True if odometry is suspect (a hit now or within
+     *         {@link #SUSPECT_HOLD_S}).
+     */
+    public boolean update(final SwerveModuleState[] modules, final double gyroYawRate, final double imuAccelXG,
+            final double imuAccelYG, final double timeSeconds) {
+        // ── Rigid-body fit ──
+        double sumVx = 0.0;
+        double sumVy = 0.0;
+        double cross = 0.0;
+        for (int i = 0; i < moduleCount; i++) {
+            final double vx = moduleVx(modules[i]);
+            final double vy = moduleVy(modules[i]);
+            sumVx += vx;
+            sumVy += vy;
+            cross += (moduleX[i] - centroidX) * vy - (moduleY[i] - centroidY) * vx;
+        }
+        final double omega = radiusSqSum > 0.0 ? cross / radiusSqSum : 0.0;
+        // Velocity at the centroid, moved to the robot center.
+        final double vx = sumVx / moduleCount + omega * centroidY;
+        final double vy = sumVy / moduleCount - omega * centroidX;
+
+        worstResidual = 0.0;
+        for (int i = 0; i < moduleCount; i++) {
+            final double rx = moduleVx(modules[i]) - (vx - omega * moduleY[i]);
+            final double ry = moduleVy(modules[i]) - (vy + omega * moduleX[i]);
+            worstResidual = Math.max(worstResidual, Math.hypot(rx, ry));
+        }
+        slipping = worstResidual > SLIP_RESIDUAL_MPS || Math.abs(gyroYawRate - omega) > SLIP_YAW_RATE;
+
+        // ── Acceleration cross-check ──
+        if (Double.isNaN(imuAccelXG)) {
+            hasPrevious = false;
+            colliding = false;
+            return finish(timeSeconds);
+        }
+        imuAx += ACCEL_FILTER * (imuAccelXG * GRAVITY - imuAx);
+        imuAy += ACCEL_FILTER * (imuAccelYG * GRAVITY - imuAy);
+        colliding = false;
+        if (hasPrevious && timeSeconds > prevTime) {
+            final double dt = timeSeconds - prevTime;
+            wheelAx += ACCEL_FILTER * ((vx - prevVx) / dt - gyroYawRate * vy - wheelAx);
+            wheelAy += ACCEL_FILTER * ((vy - prevVy) / dt + gyroYawRate * vx - wheelAy);
+            unexplainedAccel = Math.hypot(imuAx - wheelAx, imuAy - wheelAy);
+            colliding = unexplainedAccel > COLLISION_ACCEL_MPS2;
+        }
+        hasPrevious = true;
+        prevTime = timeSeconds;
+        prevVx = vx;
+        prevVy = vy;
+
+        return finish(timeSeconds);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** A module was off the rigid-body fit (or the gyro disagreed) on the last update. */
+    public boolean isSlipping() {
+        return slipping;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** The IMU felt an acceleration the wheels didn't explain on the last update. */
+    public boolean isColliding() {
+        return colliding;
+    }
+
+    // =================================================================================================================
+    // Private Methods
+    // =================================================================================================================
+    private boolean finish(final double timeSeconds) {
+        if (slipping || colliding) {
+            suspectUntil = timeSeconds + SUSPECT_HOLD_S;
+        }
+
+        residualPub.set(worstResidual);
+        accelPub.set(unexplainedAccel);
+        slipPub.set(slipping);
+        collisionPub.set(colliding);
+        return timeSeconds < suspectUntil;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static double moduleVx(final SwerveModuleState state) {
+        return state.speedMetersPerSecond * state.angle.getCos();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static double moduleVy(final SwerveModuleState state) {
+        return state.speedMetersPerSecond * state.angle.getSin();
+    }
+}
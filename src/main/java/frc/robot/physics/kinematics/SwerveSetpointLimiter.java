@@ -0,0 +1,270 @@
+package frc.robot.physics.kinematics;
+
+import com.pathplanner.lib.config.ModuleConfig;
+import com.pathplanner.lib.config.RobotConfig;
+
+import edu.wpi.first.math.MathUtil;
+
+/**
+ * Traction- and motor-limited swerve setpoint generator for driver input.
+ * <p>
+ * Sits between the sticks and the swerve request: each loop it moves the
+ * previous chassis setpoint toward the requested one by the largest fraction
+ * the modules can actually follow in one Δt, so hard stick inputs become the
+ * fastest acceleration that does not slip the wheels or outrun the azimuths.
+ *
+ * <h3>Model:</h3>
+ *
+ * <pre>
+ *   module i velocity   v_i = v + ω × r_i        (r_i rotated to the field)
+ *   setpoint at s       v(s) = v_prev + s·(v_des − v_prev),  s ∈ [0, 1]
+ *                       → v_i(s) is linear in s too
+ *
+ *   traction            a_slip  = μ·g                     (m/N per module)
+ *   motor               F       = (Kt·I − τ_loss) / r_wheel
+ *                       I       = min(I_limit, (V_nom − ω_wheel/Kv) / R)   speeding up
+ *                       I       = I_limit                                  slowing down
+ *                       a_motor = F / (m/N)
+ *   per module          |Δv_i(s)| ≤ min(a_slip, a_motor)·Δt
+ *                       → s ≤ a_max·Δt / |Δv_i|          (closed form)
+ *
+ *   azimuth             |Δθ_i(s)| ≤ ω_steer·Δt, Δθ wrapped to ±90° (modules
+ *                       flip instead of turning past 90°); modules at rest
+ *                       may point anywhere. Not linear in s → bisection.
+ * </pre>
+ *
+ * The request is first desaturated so no module exceeds its top speed.
+ *
+ * <h3>Sources:</h3>
+ * <ul>
+ * <li>Mass, μ, wheel radius, geared drive motor, current limit, torque loss
+ * and module locations: PathPlanner {@link RobotConfig} (settings.json).</li>
+ * <li>Top module speed and azimuth rate: the Tuner X constants.</li>
+ * </ul>
+ *
+ * <h3>Performance:</h3>
+ * All state lives in fixed primitive arrays sized at construction;
+ * {@link #calculate} allocates nothing and is cheap enough for 250 Hz.
+ */
+public class SwerveSetpointLimiter {
+    // =================================================================================================================
+    // Constants
+    // =================================================================================================================
+    private static final double GRAVITY = 9.81;
+    /** Below this a module has no meaningful heading (m/s). */
+    private static final double STOPPED_MPS = 0.05;
+    private static final int BISECTION_STEPS = 8;
+    /** Bounds on Δt so a skipped or doubled loop doesn't unlock or freeze the drive. */
+    private static final double MIN_DT_S = 0.002;
+    private static final double MAX_DT_S = 0.05;
+
+    // =================================================================================================================
+    // Private Data Members
+    // =================================================================================================================
+    private final int moduleCount;
+    private final double[] moduleX;
+    private final double[] moduleY;
+    /** Module positions rotated into the setpoint frame, refreshed each call. */
+    private final double[] rotatedX;
+    private final double[] rotatedY;
+
+    private final double maxModuleSpeed;
+    private final double maxSteerRate;
+    private final double slipAccel;
+    private final double moduleMass;
+    private final double wheelRadius;
+    private final double kt;
+    private final double kv;
+    private final double resistance;
+    private final double nominalVoltage;
+    private final double currentLimit;
+    private final double torqueLoss;
+
+    // Previous setpoint (field / operator frame)
+    private double prevVx = 0.0;
+    private double prevVy = 0.0;
+    private double prevOmega = 0.0;
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    /**
+     * @param config                   PathPlanner robot config.
+     * @param maxModuleSpeedMps        Module top speed (m/s).
+     * @param maxSteerRateRadPerSecond Azimuth top rate (rad/s).
+     */
+    public SwerveSetpointLimiter(final RobotConfig config, final double maxModuleSpeedMps,
+            final double maxSteerRateRadPerSecond) {
+        final ModuleConfig module = config.moduleConfig;
+
+        this.moduleCount = config.numModules;
+        this.moduleX = new double[moduleCount];
+        this.moduleY = new double[moduleCount];
+        this.rotatedX = new double[moduleCount];
+        this.rotatedY = new double[moduleCount];
+        for (int i = 0; i < moduleCount; i++) {
+            moduleX[i] = config.moduleLocations[i].getX();
+            moduleY[i] = config.moduleLocations[i].getY();
+        }
+
+        this.maxModuleSpeed = maxModuleSpeedMps;
+        this.maxSteerRate = maxSteerRateRadPerSecond;
+        this.slipAccel = module.wheelCOF * GRAVITY;
+        this.moduleMass = config.massKG / moduleCount;
+        this.wheelRadius = module.wheelRadiusMeters;
+        // The PathPlanner motor model is already geared: these are at the wheel.
+        this.kt = module.driveMotor.KtNMPerAmp;
+        this.kv = module.driveMotor.KvRadPerSecPerVolt;
+        this.resistance = module.driveMotor.rOhms;
+        this.nominalVoltage = module.driveMotor.nominalVoltageVolts;
+        this.currentLimit = module.driveCurrentLimit;
+        this.torqueLoss = module.torqueLoss;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Restarts from a measured state (e.g. when the drive command starts), so
+     * the first setpoint isn't a jump from a stale one.
+     *
+     * @param vxRobot    Measured robot-relative vx (m/s).
+     * @param vyRobot    Measured robot-relative vy (m/s).
+     * @param omega      Measured rotation rate (rad/s).
+     * @param headingRad Robot heading in the frame {@link #calculate} is given.
+     */
+    public void reset(final double vxRobot, final double vyRobot, final double omega, final double headingRad) {
+        final double cos = Math.cos(headingRad);
+        final double sin = Math.sin(headingRad);
+        prevVx = vxRobot * cos - vyRobot * sin;
+        prevVy = vxRobot * sin + vyRobot * cos;
+        prevOmega = omega;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Steps the setpoint toward a request; read the result with
+     * {@link #getVx()}, {@link #getVy()} and {@link #getOmega()}.
+     *
+     * @param vx         Requested vx in the field (operator) frame (m/s).
+     * @param vy         Requested vy (m/s).
+     * @param omega      Requested rotation rate (rad/s).
+     * @param headingRad Robot heading in that same frame.
+     * @param dt         Time since the last call (s).
+     */
+    public void calculate(double vx, double vy, double omega, final double headingRad, final double dt) {
+        final double step = MathUtil.clamp(dt, MIN_DT_S, MAX_DT_S);
+        final double cos = Math.cos(headingRad);
+        final double sin = Math.sin(headingRad);
+        for (int i = 0; i < moduleCount; i++) {
+            rotatedX[i] = moduleX[i] * cos - moduleY[i] * sin;
+            rotatedY[i] = moduleX[i] * sin + moduleY[i] * cos;
+        }
+
+        // Desaturate: scale the whole request so the fastest module is at top speed.
+        double fastest = 0.0;
+        for (int i = 0; i < moduleCount; i++) {
+            fastest = Math.max(fastest, Math.hypot(vx - omega * rotatedY[i], vy + omega * rotatedX[i]));
+        }
+        if (fastest > maxModuleSpeed) {
+            final double scale = maxModuleSpeed / fastest;
+            vx *= scale;
+            vy *= scale;
+            omega *= scale;
+        }
+
+        final double dvx = vx - prevVx;
+        final double dvy = vy - prevVy;
+        final double domega = omega - prevOmega;
+
+        double s = 1.0;
+        for (int i = 0; i < moduleCount; i++) {
+            final double prevX = prevVx - prevOmega * rotatedY[i];
+            final double prevY = prevVy + prevOmega * rotatedX[i];
+            final double deltaX = dvx - domega * rotatedY[i];
+            final double deltaY = dvy + domega * rotatedX[i];
+            final double deltaNorm = Math.hypot(deltaX, deltaY);
+            if (deltaNorm < 1e-9) {
+                continue;
+            }
+
+            final double prevSpeed = Math.hypot(prevX, prevY);
+            final boolean speedingUp = Math.hypot(prevX + deltaX, prevY + deltaY) > prevSpeed;
+            final double accel = Math.min(slipAccel, motorAccel(prevSpeed, speedingUp));
+            s = Math.min(s, accel * step / deltaNorm);
+
+            if (prevSpeed > STOPPED_MPS) {
+                s = steerLimited(prevX, prevY, deltaX, deltaY, s, maxSteerRate * step);
+            }
+        }
+
+        prevVx += s * dvx;
+        prevVy += s * dvy;
+        prevOmega += s * domega;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public double getVx() {
+        return prevVx;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public double getVy() {
+        return prevVy;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public double getOmega() {
+        return prevOmega;
+    }
+
+    // =================================================================================================================
+    // Private Methods
+    // =================================================================================================================
+    /** Module acceleration the drive motor can produce at a wheel speed. */
+    private double motorAccel(final double speed, final boolean speedingUp) {
+        double current = currentLimit;
+        if (speedingUp) {
+            final double wheelOmega = speed / wheelRadius;
+            current = Math.min(current, Math.max(0.0, (nominalVoltage - wheelOmega / kv) / resistance));
+        }
+        final double force = Math.max(0.0, kt * current - torqueLoss) / wheelRadius;
+        return force / moduleMass;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Largest s' ≤ s whose azimuth change fits in maxTurn (bisection; s' = 0 always fits). */
+    private static double steerLimited(final double prevX, final double prevY, final double deltaX,
+            final double deltaY, final double s, final double maxTurn) {
+        if (azimuthChange(prevX, prevY, deltaX, deltaY, s) <= maxTurn) {
+            return s;
+        }
+        double low = 0.0;
+        double high = s;
+        for (int i = 0; i < BISECTION_STEPS; i++) {
+            final double mid = 0.5 * (low + high);
+            if (azimuthChange(prevX, prevY, deltaX, deltaY, mid) <= maxTurn) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** |Δθ| from the previous module velocity to the one at s, with flipping (≤ 90°). */
+    private static double azimuthChange(final double prevX, final double prevY, final double deltaX,
+            final double deltaY, final double s) {
+        final double x = prevX + s * deltaX;
+        final double y = prevY + s * deltaY;
+        if (Math.hypot(x, y) < STOPPED_MPS) {
+            return 0.0;
+        }
+        double change = Math.abs(MathUtil.angleModulus(Math.atan2(y, x) - Math.atan2(prevY, prevX)));
+        if (change > Math.PI / 2.0) {
+            change = Math.PI - change;
+        }
+        return change;
+    }
+}
@@ -0,0 +1,85 @@
+package frc.robot.replay;
+
+/**
+ * {@summary}
+ * What the robot writes to its WPILog so a match can be re-run through the
+ * control code ({@code frc.robot.simulation.LogReplayRunner}).
+ *
+ * <h3>Entries:</h3>
+ * <ul>
+ * <li>{@link #CAMERA_ENTRY}: every {@code PhotonPipelineResult} the
+ * {@code AimCamera} read, as PhotonVision protobuf.</li>
+ * <li>{@link #CAMERA_READ_ENTRY}: one integer per {@code AimCamera} read
+ * (once per robot loop), the number of results read, logged after them.
+ * The fast lock-on steps between two reads all see the same results, so a
+ * replay replaces them only at these marks.</li>
+ * <li>{@link #LOCK_ON_INPUTS_ENTRY}: one double[] per
+ * {@code LockOnShootAndDrive} frame, laid out by the <code>IN_*</code>
+ * indices. This is the exact array the frame was computed from.</li>
+ * <li>{@link #LOCK_ON_OUTPUTS_ENTRY}: the same frame's setpoints, laid out by
+ * the <code>OUT_*</code> indices, with the same timestamp.</li>
+ * </ul>
+ *
+ * Joysticks and Driver Station state go in through
+ * {@code DriverStation.startDataLog}; drivetrain state is also in the
+ * SignalLogger <code>.hoot</code>, which WPILib cannot read, so whatever the
+ * replay needs from it is duplicated here.
+ * <p>
+ * Bump {@link #VERSION} (and keep the old layout readable, or say so) when
+ * changing the layout.
+ */
+public final class ReplayLog {
+    // =================================================================================================================
+    // Entries
+    // =================================================================================================================
+    /** 2: added {@link #CAMERA_READ_ENTRY}; version 1 logs cannot be replayed. */
+    public static final int VERSION = 2;
+
+    public static final String CAMERA_ENTRY = "Replay/AimCamera";
+    public static final String CAMERA_READ_ENTRY = "Replay/AimCamera/Read";
+    public static final String LOCK_ON_INPUTS_ENTRY = "Replay/LockOn/Inputs";
+    public static final String LOCK_ON_OUTPUTS_ENTRY = "Replay/LockOn/Outputs";
+    public static final String VERSION_ENTRY = "Replay/Version";
+
+    // =================================================================================================================
+    // Lock-on inputs
+    // =================================================================================================================
+    /** Fused pose (field, m / rad). */
+    public static final int IN_POSE_X = 0;
+    public static final int IN_POSE_Y = 1;
+    public static final int IN_HEADING_RAD = 2;
+    /** Measured chassis speeds (robot frame, m/s / rad/s). */
+    public static final int IN_VX = 3;
+    public static final int IN_VY = 4;
+    public static final int IN_OMEGA = 5;
+    /** FPGA time (s) of the last accepted vision correction, −1 for none. */
+    public static final int IN_LAST_VISION_S = 6;
+    public static final int IN_SHOOTER_RPM = 7;
+    /** Driver sticks after shaping (m/s). */
+    public static final int IN_STICK_X = 8;
+    public static final int IN_STICK_Y = 9;
+    /** 0 = unknown, 1 = blue, 2 = red. */
+    public static final int IN_ALLIANCE = 10;
+    public static final int INPUT_COUNT = 11;
+
+    // =================================================================================================================
+    // Lock-on outputs
+    // =================================================================================================================
+    /** Shooter setpoint (motor RPM); NaN if the frame left it unchanged. */
+    public static final int OUT_SHOOTER_RPM = 0;
+    /** Feeder output; NaN if the frame left it unchanged. */
+    public static final int OUT_FEEDER = 1;
+    /** Field-centric drive request (m/s). */
+    public static final int OUT_VX = 2;
+    public static final int OUT_VY = 3;
+    /** Heading setpoint (rad) and its feedforward rate (rad/s). */
+    public static final int OUT_HEADING_RAD = 4;
+    public static final int OUT_HEADING_RATE = 5;
+    public static final int OUTPUT_COUNT = 6;
+
+    // =================================================================================================================
+    // Private Methods
+    // =================================================================================================================
+    private ReplayLog() {
+    }
+}
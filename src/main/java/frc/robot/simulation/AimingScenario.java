@@ -0,0 +1,258 @@
+package frc.robot.simulation;
+
+import edu.wpi.first.hal.AllianceStationID;
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Pose3d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.geometry.Translation3d;
+import edu.wpi.first.networktables.DoubleArrayPublisher;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj.DriverStation.Alliance;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+
+import frc.robot.subsystems.CommandSwerveDrivetrain;
+import frc.robot.vision.AimCamera;
+
+/**
+ * Scripted, repeatable lock-on runs for measuring aiming performance in
+ * simulation ({@link SimMode#AIM}).
+ * <p>
+ * Each run teleports the robot to a fixed start pose in front of the blue hub,
+ * turned partly away from it, schedules the lock-on command and samples the
+ * true heading error every loop for {@link #RUN_DURATION_S} seconds.
+ *
+ * <h3>Metrics (per run):</h3>
+ * <ul>
+ * <li><b>Time-to-lock</b>: schedule → first loop with |heading error| &lt;
+ * {@link #LOCK_TOLERANCE_DEG} and a hub frame in hand.</li>
+ * <li><b>Heading settle time</b>: schedule → last loop the error was
+ * <i>outside</i> the tolerance (it stays inside afterward).</li>
+ * <li><b>Shot-solution latency</b>: camera capture timestamp → end of the loop
+ * that consumed the frame, mean and max.</li>
+ * </ul>
+ *
+ * "True" heading error uses the simulated pose and the hub's field position,
+ * not the camera, so it measures what the robot actually did.
+ */
+public class AimingScenario {
+    // =================================================================================================================
+    // Constants
+    // =================================================================================================================
+    private static final double RUN_DURATION_S = 3.0;
+    private static final double SETTLE_BETWEEN_RUNS_S = 0.5;
+    private static final double LOCK_TOLERANCE_DEG = 2.0;
+
+    /**
+     * Start poses relative to the blue hub center tag, as
+     * {distance out of the tag face (m), lateral offset (m), heading offset
+     * away from facing the tag (deg)}. Offsets stay inside the camera's FOV so
+     * the hub is visible from the first frame.
+     */
+    private static final double[][] START_OFFSETS = {
+            { 2.0, 0.0, 15.0 },
+            { 2.5, 0.8, -25.0 },
+            { 3.0, -0.8, 30.0 },
+            { 3.5, 0.0, -30.0 },
+            { 2.5, -1.2, 20.0 },
+    };
+
+    // =================================================================================================================
+    // Private Data Members
+    // =================================================================================================================
+    private final CommandSwerveDrivetrain drive;
+    private final AimCamera aimCamera;
+    private final VisionSim visionSim;
+    private final Command lockOn;
+
+    private final Pose2d[] startPoses = new Pose2d[START_OFFSETS.length];
+    private final Translation2d hub;
+
+    private final double[] timeToLock = new double[START_OFFSETS.length];
+    private final double[] settleTime = new double[START_OFFSETS.length];
+    private final double[] meanLatency = new double[START_OFFSETS.length];
+    private final double[] maxLatency = new double[START_OFFSETS.length];
+
+    private int runIndex = 0;
+    private boolean running = false;
+    private double phaseStartTime;
+
+    private double lastOutOfToleranceTime;
+    private double lastSeenFrameTime;
+    private double latencySum;
+    private int latencyCount;
+
+    private final DoubleArrayPublisher timeToLockPub;
+    private final DoubleArrayPublisher settleTimePub;
+    private final DoubleArrayPublisher meanLatencyPub;
+    private final DoubleArrayPublisher maxLatencyPub;
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    public AimingScenario(final CommandSwerveDrivetrain drive, final AimCamera aimCamera, final VisionSim visionSim,
+            final Command lockOn) {
+        this.drive = drive;
+        this.aimCamera = aimCamera;
+        this.visionSim = visionSim;
+        this.lockOn = lockOn;
+
+        final Translation3d hub3d = aimCamera.getHubFieldPosition(Alliance.Blue);
+        this.hub = hub3d == null ? Translation2d.kZero : hub3d.toTranslation2d();
+
+        final Pose3d tag = aimCamera.getFieldLayout().getTagPose(26).orElse(Pose3d.kZero);
+        final Pose2d tag2d = tag.toPose2d();
+        for (int i = 0; i < START_OFFSETS.length; i++) {
+            final Translation2d position = tag2d.getTranslation().plus(
+                    new Translation2d(START_OFFSETS[i][0], START_OFFSETS[i][1]).rotateBy(tag2d.getRotation()));
+            final Rotation2d facing = tag2d.getRotation().plus(Rotation2d.k180deg)
+                    .plus(Rotation2d.fromDegrees(START_OFFSETS[i][2]));
+            startPoses[i] = new Pose2d(position, facing);
+        }
+
+        final NetworkTable table = NetworkTableInstance.getDefault().getTable("Sim/Aiming");
+        this.timeToLockPub = table.getDoubleArrayTopic("TimeToLockSeconds").publish();
+        this.settleTimePub = table.getDoubleArrayTopic("SettleTimeSeconds").publish();
+        this.meanLatencyPub = table.getDoubleArrayTopic("MeanSolutionLatencySeconds").publish();
+        this.maxLatencyPub = table.getDoubleArrayTopic("MaxSolutionLatencySeconds").publish();
+
+        DriverStationSim.setAllianceStationId(AllianceStationID.Blue1);
+        DriverStationSim.setAutonomous(false);
+        DriverStationSim.setEnabled(true);
+        DriverStationSim.notifyNewData();
+
+        phaseStartTime = Timer.getFPGATimestamp();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Advances the scenario. Call once per simulation loop, <b>after</b> the
+     * command scheduler has run.
+     *
+     * @return True once every run is finished and the report has been written.
+     */
+    public boolean periodic() {
+        if (runIndex >= startPoses.length) {
+            return true;
+        }
+
+        final double now = Timer.getFPGATimestamp();
+        if (!running) {
+            // Let the previous run's command finish unwinding before teleporting.
+            if (now - phaseStartTime >= SETTLE_BETWEEN_RUNS_S) {
+                startRun(now);
+            }
+            return false;
+        }
+
+        sample(now);
+        if (now - phaseStartTime >= RUN_DURATION_S) {
+            endRun(now);
+            if (runIndex >= startPoses.length) {
+                report();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // =================================================================================================================
+    // Private Methods
+    // =================================================================================================================
+    private void startRun(final double now) {
+        final Pose2d start = startPoses[runIndex];
+        drive.resetPose(start);
+        visionSim.resetRobotPose(start);
+
+        lastOutOfToleranceTime = now;
+        lastSeenFrameTime = aimCamera.getLastHubTimestampSeconds();
+        latencySum = 0.0;
+        latencyCount = 0;
+        timeToLock[runIndex] = Double.NaN;
+        maxLatency[runIndex] = 0.0;
+
+        CommandScheduler.getInstance().schedule(lockOn);
+        phaseStartTime = now;
+        running = true;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private void sample(final double now) {
+        final Pose2d pose = drive.getPose();
+        final Translation2d shooter = pose.getTranslation().plus(
+                AimCamera.ROBOT_TO_SHOOTER_OFFSET.getTranslation().toTranslation2d().rotateBy(pose.getRotation()));
+        final double bearing = Math.atan2(hub.getY() - shooter.getY(), hub.getX() - shooter.getX());
+        final double errorDeg = Math.abs(Math.toDegrees(
+                MathUtil.angleModulus(bearing - pose.getRotation().getRadians())));
+
+        final double frameTime = aimCamera.getLastHubTimestampSeconds();
+        final boolean freshFrame = frameTime != lastSeenFrameTime;
+        if (freshFrame) {
+            final double latency = now - frameTime;
+            latencySum += latency;
+            latencyCount++;
+            maxLatency[runIndex] = Math.max(maxLatency[runIndex], latency);
+            lastSeenFrameTime = frameTime;
+        }
+
+        if (errorDeg < LOCK_TOLERANCE_DEG) {
+            if (Double.isNaN(timeToLock[runIndex]) && frameTime > 0.0) {
+                timeToLock[runIndex] = now - phaseStartTime;
+            }
+        } else {
+            lastOutOfToleranceTime = now;
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private void endRun(final double now) {
+        CommandScheduler.getInstance().cancel(lockOn);
+
+        // Never settled if it was still outside tolerance on the final sample.
+        settleTime[runIndex] = (now - lastOutOfToleranceTime) < 1e-6
+                ? Double.NaN
+                : lastOutOfToleranceTime - phaseStartTime;
+        meanLatency[runIndex] = latencyCount > 0 ? latencySum / latencyCount : Double.NaN;
+
+        runIndex++;
+        running = false;
+        phaseStartTime = now;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private void report() {
+        timeToLockPub.set(timeToLock);
+        settleTimePub.set(settleTime);
+        meanLatencyPub.set(meanLatency);
+        maxLatencyPub.set(maxLatency);
+
+        System.out.println("===== Aiming scenario =====");
+        System.out.println("run  time-to-lock(s)  settle(s)  mean-latency(ms)  max-latency(ms)");
+        for (int i = 0; i < startPoses.length; i++) {
+            System.out.printf("%3d  %15.3f  %9.3f  %16.1f  %15.1f%n", i, timeToLock[i], settleTime[i],
+                    meanLatency[i] * 1000.0, maxLatency[i] * 1000.0);
+        }
+        System.out.printf("mean %14.3f  %9.3f  %16.1f  %15.1f%n", mean(timeToLock), mean(settleTime),
+                mean(meanLatency) * 1000.0, mean(maxLatency) * 1000.0);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Mean of the finite entries (NaN = "never happened" and is skipped). */
+    private static double mean(final double[] values) {
+        double sum = 0.0;
+        int n = 0;
+        for (final double v : values) {
+            if (!Double.isNaN(v)) {
+                sum += v;
+                n++;
+            }
+        }
+        return n > 0 ? sum / n : Double.NaN;
+    }
+}
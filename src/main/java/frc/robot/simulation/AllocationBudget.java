@@ -0,0 +1,270 @@
+package frc.robot.simulation;
+
+import java.lang.management.ManagementFactory;
+
+import edu.wpi.first.hal.AllianceStationID;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Pose3d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+import edu.wpi.first.wpilibj.simulation.XboxControllerSim;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+
+import frc.robot.USB;
+import frc.robot.commands.shoot.LockOnShootAndDrive;
+import frc.robot.subsystems.CommandSwerveDrivetrain;
+import frc.robot.vision.AimCamera;
+
+/**
+ * Heap bytes allocated per robot loop, with a pass/fail budget
+ * ({@link SimMode#ALLOCATION}).
+ *
+ * <pre>
+ *   ./gradlew simulateJava -Pheadless -PsimMode=allocation -PallocBudget=2048
+ * </pre>
+ *
+ * <code>./gradlew allocationBudget</code> runs it the same way. It is not part
+ * of <code>check</code>: a full nested sim run is too slow for every build, so
+ * run it before merging changes to the robot loop or the aiming path (and in
+ * CI). Guards the loop against per-frame allocation creeping back in (a debug
+ * print, a boxed value, a geometry chain). Time is paused and stepped by
+ * {@link SimStepper}, as in {@link FastAutoRunner}; the driver's sticks are
+ * driven through {@link XboxControllerSim}.
+ *
+ * <h3>Scenarios (teleop, enabled):</h3>
+ * <ul>
+ * <li><b>Teleop drive</b>: the default drive command, left stick sweeping a
+ * circle and right stick turning back and forth.</li>
+ * <li><b>Lock-on</b>: robot teleported in front of the blue hub,
+ * {@code LockOnShootAndDrive} scheduled, left stick strafing.</li>
+ * </ul>
+ *
+ * Each scenario runs {@link #WARMUP_LOOPS} loops first (command
+ * initialization, class loading and the JIT), then measures
+ * {@link #MEASURED_LOOPS}. A loop's bytes are the robot periodic (camera
+ * frames + scheduler) plus the fast aim steps that fell inside it: the fast
+ * step runs every {@link LockOnShootAndDrive#FAST_LOOP_PERIOD_S} of stepped
+ * time, on the first physics substep at or past its due time, so four per
+ * loop, and goes through the same <code>fastPeriodic</code> →
+ * <code>captureFastSnapshot</code> path as on the robot. Counts come from the
+ * JVM's per-thread allocation counter; the physics and vision sims run
+ * outside the measurement. The
+ * budget is the mean bytes per loop, from {@code -PallocBudget=...}
+ * (default {@link #DEFAULT_BUDGET_BYTES}); over budget in either scenario, or
+ * a stalled odometry thread, exits non-zero, failing the Gradle run.
+ */
+public class AllocationBudget {
+    // =================================================================================================================
+    // Constants
+    // =================================================================================================================
+    private static final int WARMUP_LOOPS = 500;
+    private static final int MEASURED_LOOPS = 3000;
+
+    private static final String BUDGET_ENVIRONMENT_VARIABLE = "THUNDERSTRUCK_ALLOC_BUDGET";
+    private static final long DEFAULT_BUDGET_BYTES = 2048;
+
+    /** Lock-on start, from the blue hub center tag: {out of the face (m), lateral (m), heading off facing (deg)}. */
+    private static final double[] LOCK_ON_OFFSET = { 2.5, 0.0, 20.0 };
+
+    // =================================================================================================================
+    // Private Data Members
+    // =================================================================================================================
+    private final CommandSwerveDrivetrain drive;
+    private final AimCamera aimCamera;
+    private final VisionSim visionSim;
+    private final Command lockOn;
+    private final Runnable robotPeriodic;
+    private final Runnable fastPeriodic;
+    private final Runnable simulationPeriodic;
+    private final SimStepper stepper;
+
+    /** Stepped time the next fast aim step is due. */
+    private double nextFastStep;
+    /** Bytes the fast steps allocated since the current loop started. */
+    private long fastBytes;
+
+    private final XboxControllerSim driver = new XboxControllerSim(USB.CONTROLLER.DRIVER);
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    /**
+     * @param robotPeriodic      One robot loop's work (camera frames, scheduler),
+     *                           as <code>Robot.robotPeriodic</code> does it. Measured.
+     * @param fastPeriodic       One fast aim step, as the robot's fast loop runs
+     *                           it. Measured.
+     * @param simulationPeriodic The sim models' per-loop update. Not measured.
+     */
+    public AllocationBudget(final CommandSwerveDrivetrain drive, final AimCamera aimCamera, final VisionSim visionSim,
+            final Command lockOn, final Runnable robotPeriodic, final Runnable fastPeriodic,
+            final Runnable simulationPeriodic) {
+        this.drive = drive;
+        this.aimCamera = aimCamera;
+        this.visionSim = visionSim;
+        this.lockOn = lockOn;
+        this.robotPeriodic = robotPeriodic;
+        this.fastPeriodic = fastPeriodic;
+        this.simulationPeriodic = simulationPeriodic;
+        this.stepper = new SimStepper(drive, dt -> fastStep());
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Runs both scenarios and prints the report. Blocks until done.
+     *
+     * @return True if both stayed inside the budget.
+     */
+    public boolean run() {
+        try {
+            return runStepped();
+        } catch (final IllegalStateException e) {
+            DriverStationSim.setEnabled(false);
+            DriverStationSim.notifyNewData();
+            System.err.println("AllocationBudget: run aborted, results would not be valid: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // =================================================================================================================
+    // Private Methods
+    // =================================================================================================================
+    private boolean runStepped() {
+        final long budget = budgetBytes();
+
+        SimHooks.pauseTiming();
+        DriverStationSim.setAllianceStationId(AllianceStationID.Blue1);
+        DriverStationSim.setAutonomous(false);
+        DriverStationSim.setEnabled(true);
+        DriverStationSim.notifyNewData();
+        nextFastStep = Timer.getFPGATimestamp();
+
+        final double[] teleop = measure(false);
+
+        final Pose2d start = lockOnStart();
+        drive.resetPose(start);
+        visionSim.resetRobotPose(start);
+        CommandScheduler.getInstance().schedule(lockOn);
+        final double[] lockedOn = measure(true);
+        CommandScheduler.getInstance().cancel(lockOn);
+
+        DriverStationSim.setEnabled(false);
+        DriverStationSim.notifyNewData();
+
+        System.out.println("===== Allocation per robot loop =====");
+        System.out.println("scenario        mean(B)    max(B)  fast(B)  budget(B)");
+        final boolean teleopPassed = report("teleop drive", teleop, budget);
+        final boolean lockOnPassed = report("lock-on", lockedOn, budget);
+        return teleopPassed && lockOnPassed;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** [mean bytes per loop, max bytes in one loop, mean fast-step bytes per loop] over the measured loops. */
+    private double[] measure(final boolean strafeOnly) {
+        for (int i = 0; i < WARMUP_LOOPS; i++) {
+            setSticks(i, strafeOnly);
+            stepLoop(null);
+        }
+        final long[] loopBytes = new long[2];
+        long total = 0;
+        long max = 0;
+        long fast = 0;
+        for (int i = 0; i < MEASURED_LOOPS; i++) {
+            setSticks(WARMUP_LOOPS + i, strafeOnly);
+            stepLoop(loopBytes);
+            total += loopBytes[0];
+            max = Math.max(max, loopBytes[0]);
+            fast += loopBytes[1];
+        }
+        driver.setLeftX(0.0);
+        driver.setLeftY(0.0);
+        driver.setRightX(0.0);
+        driver.notifyNewData();
+        return new double[] { (double) total / MEASURED_LOOPS, max, (double) fast / MEASURED_LOOPS };
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Left stick around a circle (strafe-only: side to side), right stick back and forth. */
+    private void setSticks(final int loop, final boolean strafeOnly) {
+        final double phase = loop * SimStepper.LOOP_PERIOD_S * 0.5;
+        driver.setLeftX(0.6 * Math.sin(phase));
+        driver.setLeftY(strafeOnly ? 0.0 : 0.6 * Math.cos(phase));
+        driver.setRightX(strafeOnly ? 0.0 : 0.5 * Math.sin(2.0 * phase));
+        driver.notifyNewData();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * One 20 ms robot loop.
+     *
+     * @param allocated If non-null, [0] receives the bytes the robot periodic
+     *                  and the loop's fast steps allocated, [1] the fast
+     *                  steps' share.
+     */
+    private void stepLoop(final long[] allocated) {
+        fastBytes = 0;
+        stepper.stepPhysics();
+
+        final long before = threads.getCurrentThreadAllocatedBytes();
+        robotPeriodic.run();
+        final long after = threads.getCurrentThreadAllocatedBytes();
+        if (allocated != null) {
+            allocated[0] = after - before + fastBytes;
+            allocated[1] = fastBytes;
+        }
+
+        simulationPeriodic.run();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Per physics substep: runs the fast aim step when it is due, counting its bytes. */
+    private void fastStep() {
+        if (Timer.getFPGATimestamp() < nextFastStep) {
+            return;
+        }
+        nextFastStep += LockOnShootAndDrive.FAST_LOOP_PERIOD_S;
+
+        final long before = threads.getCurrentThreadAllocatedBytes();
+        fastPeriodic.run();
+        fastBytes += threads.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** In front of the blue hub, turned partly away, with the hub in the camera's view. */
+    private Pose2d lockOnStart() {
+        final Pose2d tag = aimCamera.getFieldLayout().getTagPose(26).orElse(Pose3d.kZero).toPose2d();
+        final Translation2d position = tag.getTranslation().plus(
+                new Translation2d(LOCK_ON_OFFSET[0], LOCK_ON_OFFSET[1]).rotateBy(tag.getRotation()));
+        final Rotation2d facing = tag.getRotation().plus(Rotation2d.k180deg)
+                .plus(Rotation2d.fromDegrees(LOCK_ON_OFFSET[2]));
+        return new Pose2d(position, facing);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static boolean report(final String name, final double[] result, final long budget) {
+        final boolean passed = result[0] <= budget;
+        System.out.printf("%-14s %8.1f  %8.0f  %7.1f  %9d  %s%n", name, result[0], result[1], result[2], budget,
+                passed ? "ok" : "OVER BUDGET");
+        return passed;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static long budgetBytes() {
+        final String value = System.getenv(BUDGET_ENVIRONMENT_VARIABLE);
+        if (value == null || value.isBlank()) {
+            return DEFAULT_BUDGET_BYTES;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (final NumberFormatException e) {
+            System.err.println("AllocationBudget: ignoring bad budget '" + value + "'");
+            return DEFAULT_BUDGET_BYTES;
+        }
+    }
+}
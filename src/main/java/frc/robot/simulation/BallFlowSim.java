@@ -0,0 +1,352 @@
+package frc.robot.simulation;
+
+import com.ctre.phoenix6.sim.TalonFXSimState;
+
+import edu.wpi.first.math.util.Units;
+import edu.wpi.first.networktables.BooleanPublisher;
+import edu.wpi.first.networktables.IntegerPublisher;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj.RobotController;
+
+import frc.robot.subsystems.Collector;
+import frc.robot.subsystems.Feeder;
+
+/**
+ * {@summary}
+ * Where every ball inside the robot is: collector → conveyor (hopper) →
+ * feeder → shooter, driven by the motor outputs, with simulated beam-break
+ * sensors.
+ *
+ * <h3>Model:</h3>
+ *
+ * <pre>
+ *   s = 0                collector end          feeder start      feeder end
+ *   |---- collector ----|------ conveyor ------|---- feeder ----|→ shooter
+ *                       ^ INTAKE beam          ^ STAGED beam    ^ SHOOTER beam
+ *
+ *   Each ball is the position s of its leading edge along that path, and
+ *   moves at the surface speed of the stage its leading edge is in:
+ *   stage surface speed = duty · full-output surface speed.
+ *   A ball reaches the shooter when its leading edge passes the feeder end.
+ *   Balls cannot overlap: a ball stops one diameter behind the ball ahead,
+ *   and a ball pushed backward pushes the ones behind it.
+ * </pre>
+ *
+ * Inside a step each ball's motion is split exactly at segment boundaries, so
+ * the events (a ball entering, changing segment, reaching the shooter or
+ * falling back out of the collector) land at the right time regardless of the
+ * step length. A ball leaving the feeder is handed to the
+ * <code>onBallFed</code> callback (normally {@link ShooterSim#feedBall()}).
+ * <p>
+ * Lengths, capacity and surface speeds are estimates: tune them against the
+ * robot before trusting absolute numbers; relative comparisons of speed
+ * profiles are what this is for.
+ */
+public class BallFlowSim {
+    // =================================================================================================================
+    // Constants
+    // =================================================================================================================
+    /** REBUILT FUEL. */
+    private static final double BALL_DIAMETER_M = Units.inchesToMeters(5.91);
+    private static final double BALL_RADIUS_M = BALL_DIAMETER_M / 2.0;
+
+    private static final double COLLECTOR_LENGTH_M = 0.30;
+    private static final int HOPPER_CAPACITY = 20;
+    private static final double FEEDER_LENGTH_M = 0.25;
+
+    private static final double COLLECTOR_END_M = COLLECTOR_LENGTH_M;
+    private static final double FEEDER_START_M = COLLECTOR_END_M + HOPPER_CAPACITY * BALL_DIAMETER_M;
+    private static final double FEEDER_END_M = FEEDER_START_M + FEEDER_LENGTH_M;
+
+    /** Surface speed of each stage at full output (m/s). */
+    private static final double COLLECTOR_SURFACE_MPS = 5.0;
+    private static final double CONVEYOR_SURFACE_MPS = 1.5;
+    private static final double FEEDER_SURFACE_MPS = 3.0;
+
+    /** The conveyor is wired so that negative output moves balls inward. */
+    private static final double CONVEYOR_INWARD_SIGN = -1.0;
+
+    private static final double INTAKE_BEAM_M = COLLECTOR_END_M;
+    private static final double STAGED_BEAM_M = FEEDER_START_M - BALL_RADIUS_M;
+    private static final double SHOOTER_BEAM_M = FEEDER_END_M - BALL_RADIUS_M;
+
+    private static final int MAX_BALLS = (int) Math.ceil(FEEDER_END_M / BALL_DIAMETER_M) + 1;
+
+    /** Nudge past a segment boundary so the next segment's speed applies. */
+    private static final double BOUNDARY_EPSILON_M = 1e-9;
+
+    // =================================================================================================================
+    // Private Data Members
+    // =================================================================================================================
+    private final Runnable onBallFed;
+
+    /** Ball leading-edge positions, front (closest to the shooter) first. */
+    private final double[] positions = new double[MAX_BALLS];
+    private int ballCount = 0;
+
+    private double fieldSupplyRate = Double.POSITIVE_INFINITY;
+    private double fieldSupply = 0.0;
+
+    private double collectorSpeed;
+    private double conveyorSpeed;
+    private double feederSpeed;
+
+    private int collected = 0;
+    private int fed = 0;
+    private int ejected = 0;
+
+    private final IntegerPublisher ballsInRobotPub;
+    private final IntegerPublisher ballsFedPub;
+    private final BooleanPublisher intakeBeamPub;
+    private final BooleanPublisher stagedBeamPub;
+    private final BooleanPublisher shooterBeamPub;
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    /**
+     * @param onBallFed Called once for every ball that leaves the feeder.
+     */
+    public BallFlowSim(final Runnable onBallFed) {
+        this.onBallFed = onBallFed;
+
+        final NetworkTable table = NetworkTableInstance.getDefault().getTable("Sim/BallFlow");
+        this.ballsInRobotPub = table.getIntegerTopic("BallsInRobot").publish();
+        this.ballsFedPub = table.getIntegerTopic("BallsFed").publish();
+        this.intakeBeamPub = table.getBooleanTopic("IntakeBeamBroken").publish();
+        this.stagedBeamPub = table.getBooleanTopic("StagedBeamBroken").publish();
+        this.shooterBeamPub = table.getBooleanTopic("ShooterBeamBroken").publish();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Advances the balls using the outputs the subsystems are applying right
+     * now. Call every simulation step.
+     *
+     * @param dt Step length (s).
+     */
+    public void update(final double dt, final Collector collector, final Feeder feeder) {
+        update(dt, dutyCycle(collector.getSimState()), collector.getConveyorOutput() * CONVEYOR_INWARD_SIGN,
+                dutyCycle(feeder.getSimState()));
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Advances the balls with explicit stage outputs (for speed-profile
+     * sweeps without the subsystems).
+     *
+     * @param dt            Step length (s).
+     * @param collectorDuty -1.0 to 1.0, positive pulls balls in.
+     * @param conveyorDuty  -1.0 to 1.0, positive moves balls toward the feeder.
+     * @param feederDuty    -1.0 to 1.0, positive feeds the shooter.
+     */
+    public void update(final double dt, final double collectorDuty, final double conveyorDuty,
+            final double feederDuty) {
+        collectorSpeed = collectorDuty * COLLECTOR_SURFACE_MPS;
+        conveyorSpeed = conveyorDuty * CONVEYOR_SURFACE_MPS;
+        feederSpeed = feederDuty * FEEDER_SURFACE_MPS;
+
+        // Front to back: each ball moves freely, then is held behind (or
+        // pushed back by) the ball ahead of it.
+        for (int i = 0; i < ballCount; i++) {
+            double s = advance(positions[i], dt);
+            if (i > 0) {
+                s = Math.min(s, positions[i - 1] - BALL_DIAMETER_M);
+            }
+            positions[i] = s;
+        }
+
+        while (ballCount > 0 && positions[0] >= FEEDER_END_M) {
+            removeFront();
+            fed++;
+            onBallFed.run();
+        }
+        while (ballCount > 0 && positions[ballCount - 1] < 0.0) {
+            ballCount--;
+            ejected++;
+        }
+
+        pickUp(dt);
+        publish();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * How fast balls are waiting at the collector mouth.
+     *
+     * @param ballsPerSecond {@link Double#POSITIVE_INFINITY} (the default) for
+     *                       "always a ball there", 0 for none.
+     */
+    public void setFieldSupplyRate(final double ballsPerSecond) {
+        this.fieldSupplyRate = ballsPerSecond;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Empties the robot, then queues up to <code>balls</code> balls in the
+     * hopper against the feeder, as loaded before a match.
+     */
+    public void preload(final int balls) {
+        reset();
+        final int count = Math.min(balls, MAX_BALLS);
+        for (int i = 0; i < count; i++) {
+            positions[i] = FEEDER_START_M - i * BALL_DIAMETER_M;
+        }
+        ballCount = count;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Empties the robot and clears the counters. */
+    public void reset() {
+        ballCount = 0;
+        fieldSupply = 0.0;
+        collected = 0;
+        fed = 0;
+        ejected = 0;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** A ball is in front of the beam between the collector and the conveyor. */
+    public boolean isIntakeBeamBroken() {
+        return isBeamBroken(INTAKE_BEAM_M);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** A ball is waiting at the feeder entry. */
+    public boolean isStagedBeamBroken() {
+        return isBeamBroken(STAGED_BEAM_M);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** A ball is about to enter the shooter. */
+    public boolean isShooterBeamBroken() {
+        return isBeamBroken(SHOOTER_BEAM_M);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public int getBallsInRobot() {
+        return ballCount;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Balls taken in from the field since the last reset. */
+    public int getBallsCollected() {
+        return collected;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Balls handed to the shooter since the last reset. */
+    public int getBallsFed() {
+        return fed;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Balls pushed back out of the collector since the last reset. */
+    public int getBallsEjected() {
+        return ejected;
+    }
+
+    // =================================================================================================================
+    // Private Methods
+    // =================================================================================================================
+    /** Free motion of one ball for <code>dt</code>, split at segment boundaries. */
+    private double advance(double s, double dt) {
+        while (dt > 0.0) {
+            final double v = speedAt(s);
+            if (v == 0.0) {
+                break;
+            }
+            final double boundary = v > 0.0 ? nextBoundaryAbove(s) : nextBoundaryBelow(s);
+            final double tBoundary = (boundary - s) / v;
+            if (tBoundary >= dt) {
+                return s + v * dt;
+            }
+            s = boundary + Math.copySign(BOUNDARY_EPSILON_M, v);
+            dt -= tBoundary;
+        }
+        return s;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private double speedAt(final double s) {
+        if (s < COLLECTOR_END_M) {
+            return collectorSpeed;
+        }
+        if (s < FEEDER_START_M) {
+            return conveyorSpeed;
+        }
+        if (s < FEEDER_END_M) {
+            return feederSpeed;
+        }
+        return 0.0;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static double nextBoundaryAbove(final double s) {
+        if (s < COLLECTOR_END_M) {
+            return COLLECTOR_END_M;
+        }
+        return s < FEEDER_START_M ? FEEDER_START_M : FEEDER_END_M;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static double nextBoundaryBelow(final double s) {
+        if (s >= FEEDER_START_M) {
+            return FEEDER_START_M;
+        }
+        return s >= COLLECTOR_END_M ? COLLECTOR_END_M : 0.0;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** A new ball touches the collector (s = 0) if it is pulling and the mouth is clear. */
+    private void pickUp(final double dt) {
+        if (collectorSpeed <= 0.0) {
+            fieldSupply = 0.0;
+            return;
+        }
+        fieldSupply = Math.min(1.0, fieldSupply + fieldSupplyRate * dt);
+        final boolean mouthClear = ballCount == 0 || positions[ballCount - 1] >= BALL_DIAMETER_M;
+        if (fieldSupply >= 1.0 && mouthClear && ballCount < MAX_BALLS) {
+            positions[ballCount++] = 0.0;
+            fieldSupply -= 1.0;
+            collected++;
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private void removeFront() {
+        System.arraycopy(positions, 1, positions, 0, ballCount - 1);
+        ballCount--;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private boolean isBeamBroken(final double beam) {
+        for (int i = 0; i < ballCount; i++) {
+            if (positions[i] > beam && positions[i] - BALL_DIAMETER_M < beam) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private void publish() {
+        ballsInRobotPub.set(ballCount);
+        ballsFedPub.set(fed);
+        intakeBeamPub.set(isIntakeBeamBroken());
+        stagedBeamPub.set(isStagedBeamBroken());
+        shooterBeamPub.set(isShooterBeamBroken());
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static double dutyCycle(final TalonFXSimState motorSim) {
+        final double supply = RobotController.getBatteryVoltage();
+        motorSim.setSupplyVoltage(supply);
+        return supply > 0.0 ? motorSim.getMotorVoltage() / supply : 0.0;
+    }
+}
@@ -0,0 +1,60 @@
+package frc.robot.simulation;
+
+/**
+ * Balls-per-second sweep over collector and feeder outputs on
+ * {@link BallFlowSim} alone ({@link SimMode#BALL_FLOW}).
+ * <p>
+ * No robot loop and no motors: every combination runs the ball model directly
+ * with 1 ms steps, starting empty with a ball always waiting at the collector,
+ * so the whole table takes well under a second. The shooter is assumed to
+ * take every ball it is handed; {@link SimMode#FLYWHEEL} covers how fast it
+ * really can.
+ */
+public class BallFlowSweep {
+    // =================================================================================================================
+    // Constants
+    // =================================================================================================================
+    private static final double STEP_S = 0.001;
+    private static final double RUN_S = 10.0;
+
+    /** <code>Collector.run</code> scalars (the entry motor gets half of it). */
+    private static final double[] COLLECTOR_SCALARS = { 0.25, 0.5, 0.75, 1.0 };
+    private static final double COLLECTOR_OUTPUT_PER_SCALAR = 0.5;
+    /** <code>Collector.run</code> always drives the conveyor at full output. */
+    private static final double CONVEYOR_DUTY = 1.0;
+    private static final double[] FEEDER_DUTIES = { 0.4, 0.6, 0.8, 1.0 };
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    /** Runs the sweep and prints the table. */
+    public static void run() {
+        final BallFlowSim sim = new BallFlowSim(() -> {
+        });
+
+        System.out.println("===== Ball flow (balls/s into the shooter) =====");
+        System.out.print("collector \\ feeder");
+        for (final double feeder : FEEDER_DUTIES) {
+            System.out.printf("  %5.2f", feeder);
+        }
+        System.out.println();
+
+        for (final double scalar : COLLECTOR_SCALARS) {
+            System.out.printf("%18.2f", scalar);
+            for (final double feeder : FEEDER_DUTIES) {
+                sim.reset();
+                for (double t = 0.0; t < RUN_S; t += STEP_S) {
+                    sim.update(STEP_S, scalar * COLLECTOR_OUTPUT_PER_SCALAR, CONVEYOR_DUTY, feeder);
+                }
+                System.out.printf("  %5.2f", sim.getBallsFed() / RUN_S);
+            }
+            System.out.println();
+        }
+    }
+
+    // =================================================================================================================
+    // Private Methods
+    // =================================================================================================================
+    private BallFlowSweep() {
+    }
+}
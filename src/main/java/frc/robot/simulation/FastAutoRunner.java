@@ -0,0 +1,180 @@
+package frc.robot.simulation;
+
+import java.util.List;
+
+import edu.wpi.first.hal.AllianceStationID;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+
+import frc.robot.auto.AutoLoader;
+import frc.robot.subsystems.Collector;
+import frc.robot.subsystems.CommandSwerveDrivetrain;
+import frc.robot.subsystems.Feeder;
+
+/**
+ * Time-stepped runs of every deploy auto
+ * ({@link SimMode#FAST_AUTOS}).
+ * <p>
+ * WPILib time is paused ({@link SimHooks#pauseTiming()}) and the runner owns
+ * the loop: each 20 ms robot loop is five 4 ms physics substeps
+ * ({@link SimStepper}), then one robot periodic. Each substep waits for one
+ * CTRE odometry sample, which caps the run at about 4× real time (see
+ * {@link SimStepper}); the report prints the ratio actually achieved.
+ *
+ * <h3>Per auto:</h3>
+ * <ul>
+ * <li><b>Completion time</b>: enable → the auto command finishing (sim s);
+ * NaN if it was still running at {@link #AUTO_LENGTH_S}.</li>
+ * <li><b>Balls scored</b>: preloaded balls that {@link BallFlowSim} carried
+ * to the shooter and {@link ShooterSim} launched at a flying speed. Pickups
+ * from the field are not modeled (the sim has no field balls).</li>
+ * </ul>
+ *
+ * <b>Caveat:</b> the CTRE odometry thread (which also applies the swerve
+ * requests) runs on its own clock and cannot be stepped; the runner runs in
+ * lockstep with it instead. If it stops publishing, the run fails rather than
+ * report numbers from a drivetrain that fell out of step. Which point of a
+ * substep the sample is taken at still depends on thread timing, so results
+ * can differ slightly between runs.
+ */
+public class FastAutoRunner {
+    // =================================================================================================================
+    // Constants
+    // =================================================================================================================
+    /** REBUILT autonomous period. */
+    private static final double AUTO_LENGTH_S = 20.0;
+    private static final double DISABLED_BETWEEN_AUTOS_S = 0.5;
+
+    private static final int PRELOADED_BALLS = 8;
+
+    // =================================================================================================================
+    // Private Data Members
+    // =================================================================================================================
+    private final AutoLoader autoLoader;
+    private final BallFlowSim ballFlow;
+    private final ShooterSim shooterSim;
+    private final Runnable robotPeriodic;
+    private final SimStepper stepper;
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    /**
+     * @param robotPeriodic One robot loop's work (camera frames, scheduler, sim
+     *                      models), as <code>Robot.robotPeriodic</code> +
+     *                      <code>simulationPeriodic</code> would do it.
+     */
+    public FastAutoRunner(final CommandSwerveDrivetrain drive, final AutoLoader autoLoader, final Collector collector,
+            final Feeder feeder, final BallFlowSim ballFlow, final ShooterSim shooterSim,
+            final Runnable robotPeriodic) {
+        this.autoLoader = autoLoader;
+        this.ballFlow = ballFlow;
+        this.shooterSim = shooterSim;
+        this.robotPeriodic = robotPeriodic;
+        this.stepper = new SimStepper(drive, dt -> {
+            ballFlow.update(dt, collector, feeder);
+            shooterSim.update(dt);
+        });
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Runs every auto and prints the report. Blocks until done.
+     *
+     * @return True if every auto finished inside the autonomous period (false
+     *         also if the run failed, see {@link SimStepper}).
+     */
+    public boolean runAll() {
+        try {
+            return runAllStepped();
+        } catch (final IllegalStateException e) {
+            setEnabled(false);
+            System.err.println("FastAutoRunner: run aborted, results would not be valid: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // =================================================================================================================
+    // Private Methods
+    // =================================================================================================================
+    private boolean runAllStepped() {
+        SimHooks.pauseTiming();
+        DriverStationSim.setAllianceStationId(AllianceStationID.Blue1);
+        ballFlow.setFieldSupplyRate(0.0);
+
+        final List<String> names = autoLoader.getAutoNames();
+        final double[] completion = new double[names.size()];
+        final int[] scored = new int[names.size()];
+        final long wallStart = System.nanoTime();
+        boolean allFinished = true;
+
+        for (int i = 0; i < names.size(); i++) {
+            final Command auto = autoLoader.getCommand(names.get(i));
+
+            setEnabled(false);
+            stepFor(DISABLED_BETWEEN_AUTOS_S);
+
+            setEnabled(true);
+            ballFlow.preload(PRELOADED_BALLS);
+            shooterSim.reset();
+            CommandScheduler.getInstance().schedule(auto);
+            final double start = Timer.getFPGATimestamp();
+            completion[i] = Double.NaN;
+            while (Timer.getFPGATimestamp() - start < AUTO_LENGTH_S) {
+                stepLoop();
+                if (!auto.isScheduled()) {
+                    completion[i] = Timer.getFPGATimestamp() - start;
+                    break;
+                }
+            }
+            CommandScheduler.getInstance().cancel(auto);
+            scored[i] = shooterSim.getLaunchedBalls();
+            allFinished &= !Double.isNaN(completion[i]);
+        }
+        setEnabled(false);
+
+        report(names, completion, scored, (System.nanoTime() - wallStart) / 1e9);
+        return allFinished;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private void setEnabled(final boolean enabled) {
+        DriverStationSim.setAutonomous(enabled);
+        DriverStationSim.setEnabled(enabled);
+        DriverStationSim.notifyNewData();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private void stepFor(final double seconds) {
+        final double end = Timer.getFPGATimestamp() + seconds;
+        while (Timer.getFPGATimestamp() < end) {
+            stepLoop();
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** One 20 ms robot loop. */
+    private void stepLoop() {
+        stepper.stepPhysics();
+        robotPeriodic.run();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static void report(final List<String> names, final double[] completion, final int[] scored,
+            final double wallSeconds) {
+        System.out.println("===== Fast autos =====");
+        System.out.println("auto                                  done(s)  balls");
+        double simSeconds = 0.0;
+        for (int i = 0; i < names.size(); i++) {
+            System.out.printf("%-36s  %7.2f  %5d%n", names.get(i), completion[i], scored[i]);
+            simSeconds += Double.isNaN(completion[i]) ? AUTO_LENGTH_S : completion[i];
+        }
+        simSeconds += names.size() * DISABLED_BETWEEN_AUTOS_S;
+        System.out.printf("%.1f sim s in %.1f wall s (%.1fx real time)%n", simSeconds, wallSeconds,
+                simSeconds / Math.max(1e-3, wallSeconds));
+    }
+}
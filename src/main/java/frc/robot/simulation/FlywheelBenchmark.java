@@ -0,0 +1,173 @@
+package frc.robot.simulation;
+
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+
+import frc.robot.physics.rotational.VelocityToRPMSolver;
+import frc.robot.subsystems.Shooter;
+
+/**
+ * Scripted flywheel benchmark on {@link ShooterSim} ({@link SimMode#FLYWHEEL}).
+ *
+ * <h3>Phases:</h3>
+ * <ol>
+ * <li><b>Spin-up</b>: rest → setpoint for {@link #EXIT_VELOCITY_MPS}; time
+ * until {@link VelocityToRPMSolver#isReadyToFire()}.</li>
+ * <li><b>Recovery</b>: one ball; the RPM dip, and time until ready
+ * again.</li>
+ * <li><b>Rate</b>: for {@link #BURST_S}, feed a ball every time the solver
+ * says ready; shots per second.</li>
+ * </ol>
+ *
+ * Runs on the normal 20 ms loop (the TalonFX velocity loop runs in CTRE's
+ * simulator on its own clock, so this harness is not time-stepped).
+ */
+public class FlywheelBenchmark {
+    // =================================================================================================================
+    // Constants
+    // =================================================================================================================
+    /** A mid-field shot. */
+    private static final double EXIT_VELOCITY_MPS = 10.0;
+    private static final double BURST_S = 3.0;
+    private static final double PHASE_TIMEOUT_S = 5.0;
+
+    private enum Phase {
+        SPIN_UP, RECOVERY, RATE, DONE
+    }
+
+    // =================================================================================================================
+    // Private Data Members
+    // =================================================================================================================
+    private final Shooter shooter;
+    private final ShooterSim shooterSim;
+    private final VelocityToRPMSolver vRpmSolver;
+    private final double targetRPM;
+
+    private Phase phase = Phase.SPIN_UP;
+    private double phaseStart;
+    private boolean ballInFlight;
+
+    private double spinUpTime = Double.NaN;
+    private double dipRPM = Double.NaN;
+    private double recoveryTime = Double.NaN;
+    private int burstShots;
+
+    private final DoublePublisher spinUpPub;
+    private final DoublePublisher dipPub;
+    private final DoublePublisher recoveryPub;
+    private final DoublePublisher shotsPerSecondPub;
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    public FlywheelBenchmark(final Shooter shooter, final ShooterSim shooterSim) {
+        this.shooter = shooter;
+        this.shooterSim = shooterSim;
+        this.vRpmSolver = new VelocityToRPMSolver(shooter::getMotorRPM);
+        this.targetRPM = vRpmSolver.calculateMotorRPM(EXIT_VELOCITY_MPS);
+
+        // The benchmark owns the shooter: no pre-aim fighting the setpoint.
+        CommandScheduler.getInstance().removeDefaultCommand(shooter);
+
+        final NetworkTable table = NetworkTableInstance.getDefault().getTable("Sim/Flywheel");
+        this.spinUpPub = table.getDoubleTopic("SpinUpSeconds").publish();
+        this.dipPub = table.getDoubleTopic("BallDipRPM").publish();
+        this.recoveryPub = table.getDoubleTopic("RecoverySeconds").publish();
+        this.shotsPerSecondPub = table.getDoubleTopic("ShotsPerSecond").publish();
+
+        DriverStationSim.setAutonomous(false);
+        DriverStationSim.setEnabled(true);
+        DriverStationSim.notifyNewData();
+
+        shooterSim.reset();
+        phaseStart = Timer.getFPGATimestamp();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Advances the benchmark. Call once per simulation loop, after
+     * {@link ShooterSim#update(double)}.
+     *
+     * @return True once the report has been written.
+     */
+    public boolean periodic() {
+        if (phase == Phase.DONE) {
+            return true;
+        }
+        final double now = Timer.getFPGATimestamp();
+        final double elapsed = now - phaseStart;
+        shooter.setRPM(targetRPM);
+        final boolean ready = vRpmSolver.isReadyToFire();
+
+        switch (phase) {
+            case SPIN_UP:
+                if (ready || elapsed > PHASE_TIMEOUT_S) {
+                    spinUpTime = ready ? elapsed : Double.NaN;
+                    shooterSim.feedBall();
+                    ballInFlight = true;
+                    dipRPM = targetRPM;
+                    nextPhase(Phase.RECOVERY, now);
+                }
+                break;
+            case RECOVERY:
+                dipRPM = Math.min(dipRPM, shooterSim.getRPM());
+                if ((ready && elapsed > 0.0) || elapsed > PHASE_TIMEOUT_S) {
+                    recoveryTime = ready ? elapsed : Double.NaN;
+                    dipRPM = targetRPM - dipRPM;
+                    nextPhase(Phase.RATE, now);
+                }
+                break;
+            case RATE:
+                if (elapsed >= BURST_S) {
+                    finish();
+                    return true;
+                }
+                // A ball pulls the wheel out of tolerance, which resets the
+                // readiness timer — so "ready" again means fully recovered.
+                if (ready && !ballInFlight) {
+                    shooterSim.feedBall();
+                    ballInFlight = true;
+                    burstShots++;
+                } else if (!ready) {
+                    ballInFlight = false;
+                }
+                break;
+            default:
+                break;
+        }
+        return false;
+    }
+
+    // =================================================================================================================
+    // Private Methods
+    // =================================================================================================================
+    private void nextPhase(final Phase next, final double now) {
+        phase = next;
+        phaseStart = now;
+        ballInFlight = next == Phase.RECOVERY;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private void finish() {
+        phase = Phase.DONE;
+        shooter.stopShooter();
+        final double shotsPerSecond = burstShots / BURST_S;
+
+        spinUpPub.set(spinUpTime);
+        dipPub.set(dipRPM);
+        recoveryPub.set(recoveryTime);
+        shotsPerSecondPub.set(shotsPerSecond);
+
+        System.out.println("===== Flywheel benchmark =====");
+        System.out.printf("target           %8.0f RPM (%.1f m/s exit)%n", targetRPM, EXIT_VELOCITY_MPS);
+        System.out.printf("spin-up          %8.3f s%n", spinUpTime);
+        System.out.printf("ball dip         %8.0f RPM%n", dipRPM);
+        System.out.printf("recovery         %8.3f s%n", recoveryTime);
+        System.out.printf("shots per second %8.2f%n", shotsPerSecond);
+    }
+}
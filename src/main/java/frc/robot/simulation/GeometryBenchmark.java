@@ -0,0 +1,239 @@
+package frc.robot.simulation;
+
+import static edu.wpi.first.units.Units.Inches;
+import static edu.wpi.first.units.Units.Meters;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import org.photonvision.targeting.PhotonPipelineResult;
+import org.photonvision.targeting.PhotonTrackedTarget;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Pose3d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Transform3d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.util.Units;
+import edu.wpi.first.wpilibj.DriverStation.Alliance;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+
+import frc.robot.math.MutableTransform3;
+import frc.robot.vision.AimCamera;
+
+/**
+ * Time and heap allocation per aiming frame, the old WPILib geometry path
+ * vs. the one the robot runs now ({@link SimMode#GEOMETRY}).
+ *
+ * <pre>
+ *   ./gradlew geometryBenchmark
+ * </pre>
+ *
+ * First records one camera frame: the robot is placed in front of the blue
+ * hub and {@link VisionSim} renders frames until one holds a hub tag. Both
+ * paths then run over that same recorded frame:
+ *
+ * <pre>
+ *   before   for-each over results/targets, pick the hub tag,
+ *            SHOOTER_TO_CAMERA.plus(cameraToTag).plus(tagToHub)     (AimCamera before frc.robot.math)
+ *            ChassisSpeeds.fromRobotRelativeSpeeds(v, Rotation2d)   (field velocity)
+ *            Meters.of(range).in(Inches)                            (range check)
+ *
+ *   after    AimCamera.getHubRelativeLocation(Alliance, MutableTransform3)
+ *            cos/sin rotation of primitives
+ *            Units.metersToInches(range)
+ * </pre>
+ *
+ * The "before" chain is the Transform3d version of the same method, kept here
+ * only as the baseline; it reads its offsets from {@link AimCamera}, so both
+ * compose the same transforms, and they must agree before they are timed.
+ * Allocation comes from the JVM's per-thread counter, after warm-up so the JIT
+ * (and its escape analysis) has had its chance; run on the roboRIO's JVM for
+ * the numbers that matter.
+ */
+public class GeometryBenchmark {
+    // =================================================================================================================
+    // Constants
+    // =================================================================================================================
+    private static final int WARMUP_FRAMES = 200_000;
+    private static final int FRAMES = 2_000_000;
+
+    private static final double LOOP_PERIOD_S = 0.02;
+    /** Loops of vision sim to wait for a frame with a hub tag (several camera frames at 30 FPS). */
+    private static final int RECORD_LOOPS = 50;
+    /** Recording spot: straight out of the blue hub center tag's face (m). */
+    private static final double RECORD_DISTANCE_M = 2.5;
+
+    // =================================================================================================================
+    // Private Data Members
+    // =================================================================================================================
+    private final AimCamera aimCamera;
+    private final VisionSim visionSim;
+
+    private final MutableTransform3 hub = new MutableTransform3();
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /** Results go here so the JIT can't drop the work. */
+    private double sink = 0.0;
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    public GeometryBenchmark(final AimCamera aimCamera, final VisionSim visionSim) {
+        this.aimCamera = aimCamera;
+        this.visionSim = visionSim;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Records a frame, checks both paths agree on it, times them and prints
+     * the report. Blocks until done.
+     *
+     * @return False if no hub frame was recorded or the paths disagree.
+     */
+    public boolean run() {
+        final List<PhotonPipelineResult> frames;
+        try {
+            frames = recordFrame();
+            check(frames);
+        } catch (final IllegalStateException e) {
+            System.err.println("GeometryBenchmark: " + e.getMessage());
+            return false;
+        }
+
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            transform3dFrame(frames, i);
+            mutableFrame(i);
+        }
+
+        System.out.println("===== Aiming geometry, per frame =====");
+        report("Transform3d (before)", measure(frames, false));
+        report("AimCamera (now)", measure(frames, true));
+        System.out.println("(sink " + sink + ")");
+        return true;
+    }
+
+    // =================================================================================================================
+    // Private Methods
+    // =================================================================================================================
+    /** Runs the vision sim until the camera sees the blue hub, and leaves that frame in the {@link AimCamera}. */
+    private List<PhotonPipelineResult> recordFrame() {
+        SimHooks.pauseTiming();
+        final Pose2d tag = aimCamera.getFieldLayout().getTagPose(26).orElse(Pose3d.kZero).toPose2d();
+        final Pose2d pose = new Pose2d(
+                tag.getTranslation().plus(new Translation2d(RECORD_DISTANCE_M, 0.0).rotateBy(tag.getRotation())),
+                tag.getRotation().plus(Rotation2d.k180deg));
+        visionSim.resetRobotPose(pose);
+
+        for (int i = 0; i < RECORD_LOOPS; i++) {
+            visionSim.update(pose);
+            SimHooks.stepTiming(LOOP_PERIOD_S);
+            final List<PhotonPipelineResult> frames = aimCamera.getCamera().getAllUnreadResults();
+            aimCamera.replayFrames(frames);
+            if (aimCamera.getHubRelativeLocation(Alliance.Blue, hub)) {
+                return frames;
+            }
+        }
+        throw new IllegalStateException("no hub tag in view after " + RECORD_LOOPS + " loops");
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private void transform3dFrame(final List<PhotonPipelineResult> frames, final int i) {
+        final Transform3d toHub = transform3dHub(frames);
+        final ChassisSpeeds fieldV = ChassisSpeeds.fromRobotRelativeSpeeds(
+                new ChassisSpeeds(1.0, 0.5, 0.0), Rotation2d.fromRadians(i * 1e-4));
+        final double inches = Meters.of(Math.hypot(toHub.getX(), toHub.getY())).in(Inches);
+        sink += inches + fieldV.vxMetersPerSecond + toHub.getZ();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private void mutableFrame(final int i) {
+        aimCamera.getHubRelativeLocation(Alliance.Blue, hub);
+        final double heading = i * 1e-4;
+        final double cos = Math.cos(heading);
+        final double sin = Math.sin(heading);
+        final double fieldVx = 1.0 * cos - 0.5 * sin;
+        final double inches = Units.metersToInches(hub.getTranslation().getNorm2d());
+        sink += inches + fieldVx + hub.getZ();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * The Transform3d chain as {@link AimCamera} had it before
+     * {@code frc.robot.math}: for-each loops, center tags preferred, the
+     * chain built from immutable transforms.
+     */
+    private static Transform3d transform3dHub(final List<PhotonPipelineResult> frames) {
+        Transform3d cameraToTag = null;
+        int tagId = -1;
+        for (final PhotonPipelineResult result : frames) {
+            for (final PhotonTrackedTarget target : result.getTargets()) {
+                if (AimCamera.getTagToHubCenterOffset(target.fiducialId) == null) {
+                    continue;
+                }
+                if (cameraToTag == null || rank(target.fiducialId) < rank(tagId)) {
+                    cameraToTag = target.getBestCameraToTarget();
+                    tagId = target.fiducialId;
+                }
+            }
+        }
+        return AimCamera.getShooterToCameraOffset()
+                .plus(cameraToTag)
+                .plus(AimCamera.getTagToHubCenterOffset(tagId));
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** AimCamera's tag preference: 10, 26, 9, 25. */
+    private static int rank(final int fiducialId) {
+        switch (fiducialId) {
+            case 10:
+                return 0;
+            case 26:
+                return 1;
+            case 9:
+                return 2;
+            default:
+                return 3;
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** [ns per frame, bytes per frame] */
+    private double[] measure(final List<PhotonPipelineResult> frames, final boolean mutable) {
+        final long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+        final long start = System.nanoTime();
+        for (int i = 0; i < FRAMES; i++) {
+            if (mutable) {
+                mutableFrame(i);
+            } else {
+                transform3dFrame(frames, i);
+            }
+        }
+        final long nanos = System.nanoTime() - start;
+        final long bytes = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+        return new double[] { (double) nanos / FRAMES, (double) bytes / FRAMES };
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static void report(final String name, final double[] result) {
+        System.out.printf("%-24s %8.1f ns %8.1f B%n", name, result[0], result[1]);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** The two chains must agree before their speed means anything. */
+    private void check(final List<PhotonPipelineResult> frames) {
+        final Transform3d expected = transform3dHub(frames);
+        aimCamera.getHubRelativeLocation(Alliance.Blue, hub);
+        final double error = Math.hypot(Math.hypot(expected.getX() - hub.getX(), expected.getY() - hub.getY()),
+                expected.getZ() - hub.getZ());
+        final double yawError = Math.abs(
+                MathUtil.angleModulus(expected.getRotation().getZ() - hub.getRotation().getYaw()));
+        if (error > 1e-9 || yawError > 1e-9) {
+            throw new IllegalStateException("AimCamera disagrees with the Transform3d chain: " + error + " m");
+        }
+    }
+}
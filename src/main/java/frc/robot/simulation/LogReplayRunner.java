@@ -0,0 +1,296 @@
+package frc.robot.simulation;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.photonvision.targeting.PhotonPipelineResult;
+
+import edu.wpi.first.hal.AllianceStationID;
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.util.datalog.DataLogReader;
+import edu.wpi.first.util.datalog.DataLogRecord;
+import edu.wpi.first.util.protobuf.ProtobufBuffer;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+
+import frc.robot.commands.shoot.LockOnShootAndDrive;
+import frc.robot.replay.ReplayLog;
+import frc.robot.vision.AimCamera;
+
+/**
+ * Re-runs the lock-on decisions of a recorded match ({@link SimMode#REPLAY}).
+ * <p>
+ * Reads the {@link ReplayLog} entries from a WPILog (the file named by
+ * {@code -PreplayLog=...}), then for every logged
+ * {@link LockOnShootAndDrive} frame, in order:
+ *
+ * <pre>
+ *   1. step paused WPILib time to the frame's time (readiness hysteresis and
+ *      the heading controller see the match's real Δt)
+ *   2. if the robot read the camera since the last frame, hand that read's
+ *      camera frames to the AimCamera; otherwise leave its results as they
+ *      are (the robot's fast steps between reads saw the same results)
+ *   3. LockOnShootAndDrive.step(logged inputs) → AimCamera, HubTargeting,
+ *      VelocityAngleSolver, VelocityToRPMSolver, heading controller
+ *   4. compare with the logged setpoints
+ * </pre>
+ *
+ * Nothing runs in real time and no hardware or physics is simulated: the
+ * inputs are the match's, so with unchanged code and tuning the setpoints come
+ * out identical, and with changed tuning the differences are the new
+ * decisions. Every frame goes to <code>&lt;log&gt;.replay.csv</code>; a summary
+ * is printed.
+ * <p>
+ * Only WPILogs: CTRE's <code>.hoot</code> files need CTRE's tools to convert,
+ * so the robot duplicates what the replay needs into the WPILog.
+ */
+public class LogReplayRunner {
+    // =================================================================================================================
+    // Constants
+    // =================================================================================================================
+    private static final String LOG_ENVIRONMENT_VARIABLE = "THUNDERSTRUCK_REPLAY_LOG";
+
+    /** A longer gap than this between logged frames starts a new lock-on. */
+    private static final double NEW_ACTIVATION_GAP_S = 0.1;
+
+    // =================================================================================================================
+    // Private Data Members
+    // =================================================================================================================
+    private final AimCamera aimCamera;
+    private final LockOnShootAndDrive lockOn;
+
+    private final List<Long> cameraTimes = new ArrayList<>();
+    private final List<PhotonPipelineResult> cameraFrames = new ArrayList<>();
+    private final List<Long> readTimes = new ArrayList<>();
+    private final List<Long> frameTimes = new ArrayList<>();
+    private final List<double[]> loggedInputs = new ArrayList<>();
+    private final List<double[]> loggedOutputs = new ArrayList<>();
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    /**
+     * @param lockOn A lock-on command that is never scheduled; the runner
+     *               drives it frame by frame.
+     */
+    public LogReplayRunner(final AimCamera aimCamera, final LockOnShootAndDrive lockOn) {
+        this.aimCamera = aimCamera;
+        this.lockOn = lockOn;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Replays the log, writes the CSV and prints the summary. Blocks until
+     * done.
+     *
+     * @return False if there was no usable log.
+     */
+    public boolean run() {
+        final String path = System.getenv(LOG_ENVIRONMENT_VARIABLE);
+        if (path == null || path.isBlank()) {
+            System.err.println("replay: no log given; run with -PreplayLog=<match.wpilog>");
+            return false;
+        }
+        try {
+            read(path);
+        } catch (final IOException e) {
+            System.err.println("replay: cannot read " + path + ": " + e.getMessage());
+            return false;
+        }
+        if (frameTimes.isEmpty()) {
+            System.err.println("replay: " + path + " has no " + ReplayLog.LOCK_ON_INPUTS_ENTRY + " frames");
+            return false;
+        }
+
+        final String csvPath = path + ".replay.csv";
+        final long wallStart = System.nanoTime();
+        try (PrintWriter csv = new PrintWriter(new BufferedWriter(new FileWriter(csvPath)))) {
+            replay(csv);
+        } catch (final IOException e) {
+            System.err.println("replay: cannot write " + csvPath + ": " + e.getMessage());
+            return false;
+        }
+        final double wallSeconds = (System.nanoTime() - wallStart) / 1e9;
+        final double logSeconds = (frameTimes.get(frameTimes.size() - 1) - frameTimes.get(0)) / 1e6;
+        System.out.printf("%d frames, %.1f log s in %.2f wall s -> %s%n", frameTimes.size(), logSeconds,
+                wallSeconds, csvPath);
+        return true;
+    }
+
+    // =================================================================================================================
+    // Private Methods
+    // =================================================================================================================
+    private void read(final String path) throws IOException {
+        final DataLogReader reader = new DataLogReader(path);
+        if (!reader.isValid()) {
+            throw new IOException("not a WPILog");
+        }
+        final ProtobufBuffer<PhotonPipelineResult, ?> cameraBuffer = ProtobufBuffer
+                .create(PhotonPipelineResult.proto);
+        final Map<Integer, String> names = new HashMap<>();
+        final Map<Long, double[]> outputsByTime = new HashMap<>();
+
+        for (final DataLogRecord record : reader) {
+            if (record.isStart()) {
+                final DataLogRecord.StartRecordData start = record.getStartData();
+                names.put(start.entry, start.name);
+                continue;
+            }
+            if (record.isControl()) {
+                continue;
+            }
+            final String name = names.get(record.getEntry());
+            if (ReplayLog.CAMERA_ENTRY.equals(name)) {
+                cameraTimes.add(record.getTimestamp());
+                cameraFrames.add(cameraBuffer.read(record.getRaw()));
+            } else if (ReplayLog.CAMERA_READ_ENTRY.equals(name)) {
+                readTimes.add(record.getTimestamp());
+            } else if (ReplayLog.LOCK_ON_INPUTS_ENTRY.equals(name)) {
+                frameTimes.add(record.getTimestamp());
+                loggedInputs.add(record.getDoubleArray());
+            } else if (ReplayLog.LOCK_ON_OUTPUTS_ENTRY.equals(name)) {
+                outputsByTime.put(record.getTimestamp(), record.getDoubleArray());
+            } else if (ReplayLog.VERSION_ENTRY.equals(name) && record.getInteger() != ReplayLog.VERSION) {
+                throw new IOException("replay log version " + record.getInteger() + ", expected "
+                        + ReplayLog.VERSION);
+            }
+        }
+        // Inputs and outputs of a frame share a timestamp.
+        for (final long time : frameTimes) {
+            loggedOutputs.add(outputsByTime.get(time));
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private void replay(final PrintWriter csv) {
+        SimHooks.pauseTiming();
+        // Log time + offset = sim time; the first frame lands one loop from now.
+        final double offset = Timer.getFPGATimestamp() + 0.02 - frameTimes.get(0) / 1e6;
+
+        final double[] frame = new double[ReplayLog.INPUT_COUNT];
+        final List<PhotonPipelineResult> frames = new ArrayList<>();
+        int cameraCursor = 0;
+        int readCursor = 0;
+        double lastAlliance = -1;
+        double lastTime = Double.NEGATIVE_INFINITY;
+
+        int activations = 0;
+        int feedMismatches = 0;
+        double maxRpmDiff = 0.0;
+        double maxHeadingDiff = 0.0;
+        double maxDriveDiff = 0.0;
+
+        csv.println("time_s,logged_rpm,replay_rpm,logged_feeder,replay_feeder,"
+                + "logged_heading_rad,replay_heading_rad,logged_vx,replay_vx,logged_vy,replay_vy");
+
+        for (int i = 0; i < frameTimes.size(); i++) {
+            final long frameMicros = frameTimes.get(i);
+            final double logTime = frameMicros / 1e6;
+            final double now = logTime + offset;
+            final double step = now - Timer.getFPGATimestamp();
+            if (step > 0.0) {
+                SimHooks.stepTiming(step);
+            }
+
+            // Only the newest read since the last frame counts: it replaced the results of any earlier one.
+            long readMicros = -1;
+            long previousReadMicros = -1;
+            while (readCursor < readTimes.size() && readTimes.get(readCursor) <= frameMicros) {
+                previousReadMicros = readMicros;
+                readMicros = readTimes.get(readCursor++);
+            }
+            if (readMicros >= 0) {
+                while (cameraCursor < cameraTimes.size() && cameraTimes.get(cameraCursor) <= previousReadMicros) {
+                    cameraCursor++;
+                }
+                frames.clear();
+                while (cameraCursor < cameraTimes.size() && cameraTimes.get(cameraCursor) <= readMicros) {
+                    frames.add(cameraFrames.get(cameraCursor++));
+                }
+                aimCamera.replayFrames(frames);
+            }
+
+            System.arraycopy(loggedInputs.get(i), 0, frame, 0, ReplayLog.INPUT_COUNT);
+            if (frame[ReplayLog.IN_LAST_VISION_S] >= 0.0) {
+                frame[ReplayLog.IN_LAST_VISION_S] += offset;
+            }
+            if (frame[ReplayLog.IN_ALLIANCE] != lastAlliance) {
+                lastAlliance = frame[ReplayLog.IN_ALLIANCE];
+                setAlliance(lastAlliance);
+            }
+            if (logTime - lastTime > NEW_ACTIVATION_GAP_S) {
+                lockOn.reset(frame[ReplayLog.IN_HEADING_RAD], now);
+                activations++;
+            }
+            lastTime = logTime;
+
+            final double[] replayed = lockOn.step(now, frame);
+            final double[] logged = loggedOutputs.get(i);
+            if (logged == null) {
+                continue;
+            }
+
+            if (isFeeding(logged) != isFeeding(replayed)) {
+                feedMismatches++;
+            }
+            maxRpmDiff = Math.max(maxRpmDiff, difference(logged, replayed, ReplayLog.OUT_SHOOTER_RPM));
+            maxHeadingDiff = Math.max(maxHeadingDiff, Math.abs(MathUtil.angleModulus(
+                    replayed[ReplayLog.OUT_HEADING_RAD] - logged[ReplayLog.OUT_HEADING_RAD])));
+            maxDriveDiff = Math.max(maxDriveDiff, Math.max(
+                    difference(logged, replayed, ReplayLog.OUT_VX),
+                    difference(logged, replayed, ReplayLog.OUT_VY)));
+
+            csv.printf("%.4f,%.1f,%.1f,%.2f,%.2f,%.4f,%.4f,%.3f,%.3f,%.3f,%.3f%n", logTime,
+                    logged[ReplayLog.OUT_SHOOTER_RPM], replayed[ReplayLog.OUT_SHOOTER_RPM],
+                    logged[ReplayLog.OUT_FEEDER], replayed[ReplayLog.OUT_FEEDER],
+                    logged[ReplayLog.OUT_HEADING_RAD], replayed[ReplayLog.OUT_HEADING_RAD],
+                    logged[ReplayLog.OUT_VX], replayed[ReplayLog.OUT_VX],
+                    logged[ReplayLog.OUT_VY], replayed[ReplayLog.OUT_VY]);
+        }
+
+        System.out.println("===== Log replay (LockOnShootAndDrive) =====");
+        System.out.printf("lock-on activations     %8d%n", activations);
+        System.out.printf("feed decisions changed  %8d%n", feedMismatches);
+        System.out.printf("max shooter RPM diff    %8.1f%n", maxRpmDiff);
+        System.out.printf("max heading diff        %8.2f deg%n", Math.toDegrees(maxHeadingDiff));
+        System.out.printf("max drive diff          %8.3f m/s%n", maxDriveDiff);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static boolean isFeeding(final double[] outputs) {
+        return outputs[ReplayLog.OUT_FEEDER] > 0.0;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** |a − b| of one output; "unchanged" (NaN) on one side only counts as infinitely different. */
+    private static double difference(final double[] a, final double[] b, final int index) {
+        final boolean aSet = !Double.isNaN(a[index]);
+        final boolean bSet = !Double.isNaN(b[index]);
+        if (aSet != bSet) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return aSet ? Math.abs(a[index] - b[index]) : 0.0;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static void setAlliance(final double code) {
+        if (code == 1) {
+            DriverStationSim.setAllianceStationId(AllianceStationID.Blue1);
+        } else if (code == 2) {
+            DriverStationSim.setAllianceStationId(AllianceStationID.Red1);
+        } else {
+            DriverStationSim.setAllianceStationId(AllianceStationID.Unknown);
+        }
+        DriverStationSim.notifyNewData();
+        DriverStation.refreshData();
+    }
+}
@@ -0,0 +1,140 @@
+package frc.robot.simulation;
+
+import com.ctre.phoenix6.sim.TalonFXSimState;
+
+import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.math.system.plant.LinearSystemId;
+import edu.wpi.first.math.util.Units;
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.simulation.FlywheelSim;
+
+import frc.robot.subsystems.Shooter;
+
+/**
+ * {@summary}
+ * Flywheel physics for the {@link Shooter}: two Kraken X60s on one wheel
+ * stack, closed through the leader's {@link TalonFXSimState}.
+ * <p>
+ * Each step reads the voltage the TalonFX's own velocity loop applies, runs
+ * it through {@link FlywheelSim}, and writes the rotor velocity/position back
+ * — so {@link Shooter#getMotorRPM()} and
+ * {@code VelocityToRPMSolver.isReadyToFire()} see a real spin-up curve.
+ *
+ * <h3>Ball dip (energy balance):</h3>
+ *
+ * <pre>
+ *   v_exit = ω · r · η                     (same model as VelocityToRPMSolver)
+ *   ΔE     = ½ · m_ball · v_exit² · (1 + k_spin)
+ *   ω'     = √(ω² − 2·ΔE / J)
+ * </pre>
+ *
+ * The loss is applied in one step (a ball is in contact for a few ms), and
+ * recovery is whatever the TalonFX loop + motor torque deliver.
+ */
+public class ShooterSim {
+    // =================================================================================================================
+    // Constants
+    // =================================================================================================================
+    /**
+     * Wheel stack + shaft, from CAD (kg·m²). Light enough that a ball pulls a
+     * few hundred RPM out of a 3000 RPM wheel, as on the robot.
+     */
+    private static final double MOI_KG_M2 = 0.002;
+    private static final double GEARING = 1.0;
+
+    /** REBUILT FUEL: 0.448–0.500 lb foam ball. */
+    private static final double BALL_MASS_KG = Units.lbsToKilograms(0.475);
+    private static final double WHEEL_RADIUS_M = 0.0508;
+    private static final double EXIT_VELOCITY_EFFICIENCY = 0.70;
+
+    /** Rotational energy of the ball as a fraction of its translational energy (solid sphere 0.4). */
+    private static final double BALL_SPIN_ENERGY_FRACTION = 0.4;
+
+    /** Below this a ball just stalls in the shooter instead of leaving. */
+    private static final double MIN_LAUNCH_RPM = 1_000.0;
+
+    // =================================================================================================================
+    // Private Data Members
+    // =================================================================================================================
+    private final TalonFXSimState motorSim;
+    private final FlywheelSim flywheel;
+
+    private int pendingBalls = 0;
+    private int launchedBalls = 0;
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    public ShooterSim(final Shooter shooter) {
+        this.motorSim = shooter.getSimState();
+        final DCMotor gearbox = DCMotor.getKrakenX60(2);
+        this.flywheel = new FlywheelSim(LinearSystemId.createFlywheelSystem(gearbox, MOI_KG_M2, GEARING), gearbox);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Advances the flywheel by one step. Call every simulation step.
+     *
+     * @param dt Step length (s).
+     */
+    public void update(final double dt) {
+        motorSim.setSupplyVoltage(RobotController.getBatteryVoltage());
+        flywheel.setInputVoltage(motorSim.getMotorVoltage());
+        flywheel.update(dt);
+
+        while (pendingBalls > 0) {
+            pendingBalls--;
+            applyBallDip();
+        }
+
+        final double wheelRps = flywheel.getAngularVelocityRPM() / 60.0;
+        motorSim.setRotorVelocity(wheelRps * GEARING);
+        motorSim.addRotorPosition(wheelRps * GEARING * dt);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * A ball reaches the flywheel; its energy is taken out on the next
+     * {@link #update(double)}.
+     */
+    public void feedBall() {
+        pendingBalls++;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Flywheel speed (motor RPM). */
+    public double getRPM() {
+        return flywheel.getAngularVelocityRPM() * GEARING;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Balls that left the shooter fast enough to fly since the last reset. */
+    public int getLaunchedBalls() {
+        return launchedBalls;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Stops the wheel and clears the counters. */
+    public void reset() {
+        flywheel.setAngularVelocity(0.0);
+        pendingBalls = 0;
+        launchedBalls = 0;
+    }
+
+    // =================================================================================================================
+    // Private Methods
+    // =================================================================================================================
+    private void applyBallDip() {
+        final double omega = flywheel.getAngularVelocityRadPerSec();
+        final double vExit = omega * WHEEL_RADIUS_M * EXIT_VELOCITY_EFFICIENCY;
+        final double ballEnergy = 0.5 * BALL_MASS_KG * vExit * vExit * (1.0 + BALL_SPIN_ENERGY_FRACTION);
+        final double omegaSq = omega * omega - 2.0 * ballEnergy / MOI_KG_M2;
+        flywheel.setAngularVelocity(omegaSq > 0.0 ? Math.copySign(Math.sqrt(omegaSq), omega) : 0.0);
+
+        if (Math.abs(omega) * 60.0 / (2.0 * Math.PI) * GEARING >= MIN_LAUNCH_RPM) {
+            launchedBalls++;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package frc.robot.simulation;
+
+/**
+ * {@summary}
+ * Which simulation harness (if any) the robot program should run.
+ * <p>
+ * Selected with the {@code THUNDERSTRUCK_SIM_MODE} environment variable, which
+ * the build sets from {@code -PsimMode=...}:
+ *
+ * <pre>
+ *   ./gradlew simulateJava -Pheadless -PsimMode=aim
+ * </pre>
+ *
+ * Anything unset or unrecognized is {@link #NORMAL}.
+ */
+public enum SimMode {
+    /** Plain simulation: driven by the sim GUI / Driver Station. */
+    NORMAL,
+    /** Scripted lock-on runs with PhotonVision sim; reports aiming metrics. */
+    AIM,
+    /** Every deploy auto on time-stepped WPILib time; reports completion time and balls scored. */
+    FAST_AUTOS,
+    /** Spin-up, ball recovery and shots-per-second of the flywheel sim. */
+    FLYWHEEL,
+    /** Balls-per-second sweep of collector and feeder outputs on the ball-flow model. */
+    BALL_FLOW,
+    /** Re-runs the lock-on decisions of a match WPILog ({@code -PreplayLog=...}); diffs the setpoints. */
+    REPLAY,
+    /** Heap bytes per robot loop in teleop and lock-on; fails over {@code -PallocBudget=...}. */
+    ALLOCATION,
+    /** Per-frame time and heap bytes of the aiming geometry on a recorded frame, old Transform3d path vs. now. */
+    GEOMETRY;
+
+    // =================================================================================================================
+    // Constants
+    // =================================================================================================================
+    private static final String ENVIRONMENT_VARIABLE = "THUNDERSTRUCK_SIM_MODE";
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    /**
+     * {@summary}
+     * The harness requested through the environment.
+     *
+     * @return The requested mode, or {@link #NORMAL} if none.
+     */
+    public static SimMode current() {
+        final String value = System.getenv(ENVIRONMENT_VARIABLE);
+        if (value == null) {
+            return NORMAL;
+        }
+        for (final SimMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value.trim())) {
+                return mode;
+            }
+        }
+        return NORMAL;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Whether this harness steps paused WPILib time itself ({@link SimStepper})
+     * instead of letting the drivetrain sim run on the wall clock.
+     */
+    public boolean isTimeStepped() {
+        return this == FAST_AUTOS || this == ALLOCATION;
+    }
+}
@@ -0,0 +1,121 @@
+package frc.robot.simulation;
+
+import java.util.function.DoubleConsumer;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+
+import frc.robot.subsystems.CommandSwerveDrivetrain;
+
+/**
+ * {@summary}
+ * Steps paused WPILib time and the physics for the harnesses that own the
+ * robot loop ({@link FastAutoRunner}, {@link AllocationBudget}).
+ * <p>
+ * Call {@link SimHooks#pauseTiming()} first. Each {@link #stepPhysics()} is
+ * one 20 ms robot loop's worth of physics:
+ *
+ * <pre>
+ *   SUBSTEPS × ( swerve sim, per-substep models, stepTiming(SUBSTEP_S),
+ *                wait for the odometry thread )
+ *   DriverStation.refreshData()
+ * </pre>
+ *
+ * The caller then runs the robot periodic itself.
+ * <p>
+ * The CTRE odometry thread (which also applies the swerve requests) runs on
+ * its own wall clock and cannot be stepped from here, so the stepper runs in
+ * lockstep with it: after each substep it waits for the thread to publish a
+ * newer drivetrain state, so every substep sees exactly one fresh sample. In
+ * the time-stepped modes the drivetrain runs that thread at
+ * {@link #ODOMETRY_FREQUENCY_HZ} instead of the robot's 250 Hz, one sample
+ * per millisecond of wall time. A 4 ms substep therefore costs at least 1 ms,
+ * which caps a run at about 4× real time; the harness's own work usually
+ * keeps it below that, so the runners print the ratio they achieved rather
+ * than assume one.
+ * <p>
+ * If no sample arrives within {@link #ODOMETRY_TIMEOUT_NS} of wall time the
+ * thread has stopped, and {@link #stepPhysics()} throws
+ * {@link IllegalStateException} instead of running on with the drivetrain out
+ * of step with the stepped time.
+ */
+public class SimStepper {
+    // =================================================================================================================
+    // Constants
+    // =================================================================================================================
+    public static final double LOOP_PERIOD_S = 0.02;
+    public static final int SUBSTEPS = 5;
+    public static final double SUBSTEP_S = LOOP_PERIOD_S / SUBSTEPS;
+
+    /**
+     * Odometry thread rate in the time-stepped modes (the most Phoenix runs
+     * status signals at). It sets the wall-clock cost of a substep.
+     */
+    public static final double ODOMETRY_FREQUENCY_HZ = 1000.0;
+
+    /**
+     * Longest wall-clock wait for the odometry thread after a substep. A
+     * sample is due every millisecond; this is long enough that a GC pause or
+     * a busy laptop does not fail the run, and only trips when the thread has
+     * stopped.
+     */
+    private static final long ODOMETRY_TIMEOUT_NS = 2_000_000_000L;
+
+    // =================================================================================================================
+    // Private Data Members
+    // =================================================================================================================
+    private final CommandSwerveDrivetrain drive;
+    private final DoubleConsumer substepModels;
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    /** Swerve only. */
+    public SimStepper(final CommandSwerveDrivetrain drive) {
+        this(drive, dt -> {
+        });
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * @param substepModels Other sim models to advance every substep (given
+     *                      the substep length, s).
+     */
+    public SimStepper(final CommandSwerveDrivetrain drive, final DoubleConsumer substepModels) {
+        this.drive = drive;
+        this.substepModels = substepModels;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Advances time and physics by one robot loop.
+     *
+     * @throws IllegalStateException If the odometry thread stopped publishing.
+     */
+    public void stepPhysics() {
+        for (int i = 0; i < SUBSTEPS; i++) {
+            final double lastOdometry = drive.getState().Timestamp;
+            drive.stepSimulation(SUBSTEP_S);
+            substepModels.accept(SUBSTEP_S);
+            SimHooks.stepTiming(SUBSTEP_S);
+            awaitOdometry(lastOdometry);
+        }
+        DriverStation.refreshData();
+    }
+
+    // =================================================================================================================
+    // Private Methods
+    // =================================================================================================================
+    private void awaitOdometry(final double lastOdometry) {
+        final long deadline = System.nanoTime() + ODOMETRY_TIMEOUT_NS;
+        while (drive.getState().Timestamp == lastOdometry) {
+            if (System.nanoTime() >= deadline) {
+                throw new IllegalStateException(String.format(
+                        "odometry thread published no new state within %d ms of a %.0f ms substep",
+                        ODOMETRY_TIMEOUT_NS / 1_000_000, SUBSTEP_S * 1000.0));
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package frc.robot.simulation;
+
+import org.photonvision.simulation.PhotonCameraSim;
+import org.photonvision.simulation.SimCameraProperties;
+import org.photonvision.simulation.VisionSystemSim;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+
+import frc.robot.vision.AimCamera;
+
+/**
+ * {@summary}
+ * PhotonVision simulation of the {@link AimCamera}.
+ * <p>
+ * Renders the AprilTags of the {@link AimCamera}'s field layout from the
+ * drivetrain's simulated pose, and publishes the results on the same
+ * NetworkTables topics the real coprocessor would. {@link AimCamera} reads them
+ * back exactly as it does on the robot, so the whole aiming path runs
+ * unmodified.
+ */
+public class VisionSim {
+    // =================================================================================================================
+    // Constants
+    // =================================================================================================================
+    /** Arducam OV9281 at its native resolution. */
+    private static final int RESOLUTION_WIDTH = 1280;
+    private static final int RESOLUTION_HEIGHT = 800;
+    private static final double DIAGONAL_FOV_DEGREES = 80.0;
+
+    private static final double AVERAGE_ERROR_PIXELS = 0.35;
+    private static final double ERROR_STD_DEV_PIXELS = 0.10;
+    private static final double FPS = 30.0;
+    private static final double AVERAGE_LATENCY_MS = 25.0;
+    private static final double LATENCY_STD_DEV_MS = 5.0;
+
+    // =================================================================================================================
+    // Private Data Members
+    // =================================================================================================================
+    private final VisionSystemSim visionSystem;
+    private final PhotonCameraSim cameraSim;
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    public VisionSim(final AimCamera aimCamera) {
+        this.visionSystem = new VisionSystemSim("main");
+        this.visionSystem.addAprilTags(aimCamera.getFieldLayout());
+
+        final SimCameraProperties properties = new SimCameraProperties();
+        properties.setCalibration(RESOLUTION_WIDTH, RESOLUTION_HEIGHT, Rotation2d.fromDegrees(DIAGONAL_FOV_DEGREES));
+        properties.setCalibError(AVERAGE_ERROR_PIXELS, ERROR_STD_DEV_PIXELS);
+        properties.setFPS(FPS);
+        properties.setAvgLatencyMs(AVERAGE_LATENCY_MS);
+        properties.setLatencyStdDevMs(LATENCY_STD_DEV_MS);
+
+        this.cameraSim = new PhotonCameraSim(aimCamera.getCamera(), properties);
+        this.visionSystem.addCamera(cameraSim, AimCamera.getRobotToCameraOffset());
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Must be called <b>every</b> simulation frame with the robot's pose.
+     *
+     * @param robotPose The (simulated) field pose of the robot.
+     */
+    public void update(final Pose2d robotPose) {
+        visionSystem.update(robotPose);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Teleports the simulated robot; clears the camera's pose history so no
+     * stale frames from the old pose are published.
+     *
+     * @param robotPose The new field pose of the robot.
+     */
+    public void resetRobotPose(final Pose2d robotPose) {
+        visionSystem.resetRobotPose(robotPose);
+    }
+}
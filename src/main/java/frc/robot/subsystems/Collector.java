@@ -2,13 +2,18 @@ package frc.robot.subsystems;
 
 import java.util.function.DoubleSupplier;
 
+import com.ctre.phoenix6.configs.CurrentLimitsConfigs;
+import com.ctre.phoenix6.configs.TalonFXConfiguration;
 import com.ctre.phoenix6.hardware.TalonFX;
+import com.ctre.phoenix6.signals.NeutralModeValue;
+import com.ctre.phoenix6.sim.TalonFXSimState;
 import com.revrobotics.spark.SparkMax;
 import com.revrobotics.spark.SparkLowLevel.MotorType;
 
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.CANBus;
+import frc.robot.DeviceConfigurator;
 
 public class Collector extends SubsystemBase {
     // =================================================================================================================
@@ -16,13 +21,18 @@ public class Collector extends SubsystemBase {
     // =================================================================================================================
     private TalonFX krakenX60;
     private SparkMax motor;
+    /** Kept so supply limit changes re-send the same stator limit. */
+    private final CurrentLimitsConfigs currentLimits = new CurrentLimitsConfigs();
 
     // =================================================================================================================
     // Public Methods
     // =================================================================================================================
-    public Collector() {
+    /** @param configurator Applies the entry motor's config in the background. */
+    public Collector(final DeviceConfigurator configurator) {
         krakenX60 = new TalonFX(CANBus.ID.COLLECTOR.ENTRY_MOTOR, CANBus.BUS.RIO);
         motor = new SparkMax(CANBus.ID.COLLECTOR.CONVEYOR, MotorType.kBrushed);
+
+        configureMotor(configurator);
     }
 
     // -----------------------------------------------------------------------------------------------------------------
@@ -48,4 +58,58 @@ public class Collector extends SubsystemBase {
                 });
     }
 
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Sets the entry motor's supply current limit without waiting for the
+     * write (for the {@link PowerManager}). The brushed conveyor is not
+     * limited.
+     */
+    public void setSupplyCurrentLimit(final double amps) {
+        currentLimits.SupplyCurrentLimit = amps;
+        krakenX60.getConfigurator().apply(currentLimits, 0.0);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * Queues the entry motor's configuration (neutral mode, current limits).
+     * Called once from the constructor; does not wait. The brushed conveyor
+     * has nothing to configure.
+     */
+    private void configureMotor(final DeviceConfigurator configurator) {
+        final TalonFXConfiguration config = new TalonFXConfiguration();
+
+        // Free-spinning roller
+        config.MotorOutput.NeutralMode = NeutralModeValue.Coast;
+
+        // The supply limit is lowered at runtime by the PowerManager, from this
+        config.CurrentLimits.SupplyCurrentLimitEnable = true;
+        config.CurrentLimits.SupplyCurrentLimit = 40;
+        config.CurrentLimits.StatorCurrentLimitEnable = true;
+        config.CurrentLimits.StatorCurrentLimit = 80;
+        // The PowerManager's own copy, so its changes never touch the boot config
+        currentLimits.SupplyCurrentLimitEnable = config.CurrentLimits.SupplyCurrentLimitEnable;
+        currentLimits.SupplyCurrentLimit = config.CurrentLimits.SupplyCurrentLimit;
+        currentLimits.StatorCurrentLimitEnable = config.CurrentLimits.StatorCurrentLimitEnable;
+        currentLimits.StatorCurrentLimit = config.CurrentLimits.StatorCurrentLimit;
+
+        configurator.submit("Collector entry", CANBus.BUS.RIO, krakenX60, config);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** The entry motor's simulation state (simulation models only). */
+    public TalonFXSimState getSimState() {
+        return this.krakenX60.getSimState();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * The duty cycle last sent to the conveyor (simulation models only).
+     *
+     * @return -1.0 to 1.0; negative moves balls toward the feeder.
+     */
+    public double getConveyorOutput() {
+        return this.motor.get();
+    }
 }
@@ -5,8 +5,12 @@ import static edu.wpi.first.units.Units.*;
 import java.util.Optional;
 import java.util.function.Supplier;
 
+import com.ctre.phoenix6.BaseStatusSignal;
 import com.ctre.phoenix6.SignalLogger;
+import com.ctre.phoenix6.StatusSignal;
 import com.ctre.phoenix6.Utils;
+import com.ctre.phoenix6.configs.CurrentLimitsConfigs;
+import com.ctre.phoenix6.swerve.SwerveDrivetrain.SwerveDriveState;
 import com.ctre.phoenix6.swerve.SwerveDrivetrainConstants;
 import com.ctre.phoenix6.swerve.SwerveModuleConstants;
 import com.ctre.phoenix6.swerve.SwerveRequest;
@@ -14,9 +18,14 @@ import com.ctre.phoenix6.swerve.SwerveRequest;
 import edu.wpi.first.math.Matrix;
 import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
 import edu.wpi.first.math.kinematics.ChassisSpeeds;
 import edu.wpi.first.math.numbers.N1;
 import edu.wpi.first.math.numbers.N3;
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.units.measure.AngularVelocity;
+import edu.wpi.first.units.measure.LinearAcceleration;
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.DriverStation.Alliance;
 import edu.wpi.first.wpilibj.Notifier;
@@ -26,7 +35,11 @@ import edu.wpi.first.wpilibj2.command.Subsystem;
 import edu.wpi.first.wpilibj2.command.sysid.SysIdRoutine;
 
 import frc.robot.generated.TunerConstants.TunerSwerveDrivetrain;
+import frc.robot.physics.kinematics.SlipDetector;
+import frc.robot.simulation.SimMode;
+import frc.robot.simulation.SimStepper;
 import frc.robot.vision.AimCamera;
+import frc.robot.vision.VisionFusion;
 
 /**
  * Class that extends the Phoenix 6 SwerveDrivetrain class and implements
@@ -54,6 +67,31 @@ public class CommandSwerveDrivetrain extends TunerSwerveDrivetrain implements Su
 
     /* My own */
     private AimCamera aimCamera;
+    private final VisionFusion visionFusion = new VisionFusion();
+    /* This loop's state, captured once at the top of periodic() for every reader */
+    private final DrivetrainSnapshot snapshot = new DrivetrainSnapshot();
+    /* The fast aim loop's state, captured on demand on its own thread */
+    private final DrivetrainSnapshot fastSnapshot = new DrivetrainSnapshot();
+    /*
+     * Slip / collision detection. While odometry is suspect, vision std-devs
+     * are scaled down and the gate is bypassed so the pose re-converges fast.
+     */
+    private static final double kSuspectVisionStdDevScale = 0.5;
+    private final SlipDetector slipDetector = new SlipDetector(getModuleLocations());
+    private final StatusSignal<LinearAcceleration> imuAccelX = getPigeon2().getAccelerationX();
+    private final StatusSignal<LinearAcceleration> imuAccelY = getPigeon2().getAccelerationY();
+    private final StatusSignal<AngularVelocity> gyroYawRate = getPigeon2().getAngularVelocityZWorld();
+    private boolean odometrySuspect = false;
+
+    /* Drive motor limits; the stator limit is the slip current the modules were built with */
+    private final CurrentLimitsConfigs driveCurrentLimits = new CurrentLimitsConfigs();
+
+    /*
+     * Odometry-to-control latency: age of the newest odometry sample when the
+     * control loop (periodic) runs. Both times are in the Phoenix timebase.
+     */
+    private final DoublePublisher odometryLatencyPub = NetworkTableInstance.getDefault()
+            .getTable("DriveState").getDoubleTopic("OdometryToControlLatencyMs").publish();
 
     /*
      * SysId routine for characterizing translation. This is used to find PID gains
@@ -134,6 +172,8 @@ public class CommandSwerveDrivetrain extends TunerSwerveDrivetrain implements Su
             SwerveDrivetrainConstants drivetrainConstants,
             SwerveModuleConstants<?, ?, ?>... modules) {
         super(drivetrainConstants, modules);
+        rememberSlipCurrent(modules);
+        BaseStatusSignal.setUpdateFrequencyForAll(100, imuAccelX, imuAccelY, gyroYawRate);
         if (Utils.isSimulation()) {
             startSimThread();
         }
@@ -158,7 +198,9 @@ public class CommandSwerveDrivetrain extends TunerSwerveDrivetrain implements Su
             SwerveDrivetrainConstants drivetrainConstants,
             double odometryUpdateFrequency,
             SwerveModuleConstants<?, ?, ?>... modules) {
-        super(drivetrainConstants, odometryUpdateFrequency, modules);
+        super(drivetrainConstants, odometryFrequency(odometryUpdateFrequency), modules);
+        rememberSlipCurrent(modules);
+        BaseStatusSignal.setUpdateFrequencyForAll(100, imuAccelX, imuAccelY, gyroYawRate);
         if (Utils.isSimulation()) {
             startSimThread();
         }
@@ -197,8 +239,11 @@ public class CommandSwerveDrivetrain extends TunerSwerveDrivetrain implements Su
             Matrix<N3, N1> odometryStandardDeviation,
             Matrix<N3, N1> visionStandardDeviation,
             SwerveModuleConstants<?, ?, ?>... modules) {
-        super(drivetrainConstants, odometryUpdateFrequency, odometryStandardDeviation, visionStandardDeviation,
+        super(drivetrainConstants, odometryFrequency(odometryUpdateFrequency), odometryStandardDeviation,
+                visionStandardDeviation,
                 modules);
+        rememberSlipCurrent(modules);
+        BaseStatusSignal.setUpdateFrequencyForAll(100, imuAccelX, imuAccelY, gyroYawRate);
         if (Utils.isSimulation()) {
             startSimThread();
         }
@@ -239,6 +284,9 @@ public class CommandSwerveDrivetrain extends TunerSwerveDrivetrain implements Su
 
     @Override
     public void periodic() {
+        final SwerveDriveState state = getState();
+        snapshot.capture(state);
+
         /*
          * Periodically try to apply the operator perspective.
          * If we haven't applied the operator perspective before, then we should apply
@@ -260,29 +308,109 @@ public class CommandSwerveDrivetrain extends TunerSwerveDrivetrain implements Su
             });
         }
 
+        final double odometryLatency = Utils.getCurrentTimeSeconds() - snapshot.getTimestamp();
+        odometryLatencyPub.set(odometryLatency * 1000.0);
+        SignalLogger.writeDouble("DriveState/OdometryToControlLatency", odometryLatency * 1000.0, "ms");
+
+        checkOdometry(state);
         updateWithVision();
     }
 
+    private void checkOdometry(SwerveDriveState state) {
+        BaseStatusSignal.refreshAll(imuAccelX, imuAccelY, gyroYawRate);
+        // The simulated Pigeon reports no acceleration, so only the slip checks run there.
+        final double accelX = Utils.isSimulation() ? Double.NaN : imuAccelX.getValueAsDouble();
+        final boolean suspect = slipDetector.update(state.ModuleStates,
+                Math.toRadians(gyroYawRate.getValueAsDouble()), accelX, imuAccelY.getValueAsDouble(),
+                state.Timestamp);
+        if (suspect != odometrySuspect) {
+            odometrySuspect = suspect;
+            visionFusion.setTrustOverride(suspect ? kSuspectVisionStdDevScale : 1.0, suspect);
+        }
+    }
+
     private void updateWithVision() {
-        aimCamera.updateEstimatedRobotPose((visionMeasurement) -> this.addVisionMeasurement(visionMeasurement.pose(),
-                visionMeasurement.timestampSeconds(), visionMeasurement.stdDevs()));
+        // Buffer this frame's estimates, then gate/merge them into as few
+        // estimator updates (and replays) as possible.
+        aimCamera.updateEstimatedRobotPose(visionFusion);
+        visionFusion.flush(this);
     }
 
-    // For PathPlanner: Use the fused pose from base class
+    // For PathPlanner: Use the fused pose, as of this loop's snapshot
     public Pose2d getPose() {
-        return getState().Pose; // Or super.getPose() if overridden
+        return snapshot.getPose();
     }
 
+    // Robot-relative; a reused object, read it right away
     public ChassisSpeeds getChassisSpeeds() {
-        return getState().Speeds;
+        return snapshot.getRobotSpeeds();
     }
 
-    // Reset if needed (syncs with internal estimator)
+    /**
+     * Returns this loop's drivetrain state. Prefer this over getState() outside
+     * the drivetrain: it does not take the odometry lock.
+     */
+    public DrivetrainSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Captures the newest odometry into a snapshot of its own and returns it.
+     * For the fast aim loop only, which runs on its own thread and needs
+     * odometry fresher than {@link #getSnapshot()}; takes the odometry lock.
+     */
+    public DrivetrainSnapshot captureFastSnapshot() {
+        fastSnapshot.capture(getState());
+        return fastSnapshot;
+    }
+
+    // Reset if needed (syncs with internal estimator). Each reset recaptures
+    // the snapshot so the rest of this loop sees the new pose.
+    @Override
     public void resetPose(Pose2d pose) {
         super.resetPose(pose);
+        recapture(pose);
+    }
+
+    @Override
+    public void resetTranslation(Translation2d translation) {
+        final Rotation2d rotation = snapshot.getRotation();
+        super.resetTranslation(translation);
+        recapture(new Pose2d(translation, rotation));
+    }
+
+    @Override
+    public void resetRotation(Rotation2d rotation) {
+        final Translation2d translation = snapshot.getPose().getTranslation();
+        super.resetRotation(rotation);
+        recapture(new Pose2d(translation, rotation));
+    }
+
+    @Override
+    public void seedFieldCentric() {
+        final Translation2d translation = snapshot.getPose().getTranslation();
+        super.seedFieldCentric();
+        recapture(new Pose2d(translation, getOperatorForwardDirection()));
+    }
+
+    private void recapture(Pose2d pose) {
+        snapshot.capture(getState());
+        snapshot.resetPose(pose);
+    }
+
+    /**
+     * The odometry thread paces the time-stepped harnesses (see
+     * {@link SimStepper}), so run it at the highest rate Phoenix supports there.
+     */
+    private static double odometryFrequency(double requested) {
+        return SimMode.current().isTimeStepped() ? SimStepper.ODOMETRY_FREQUENCY_HZ : requested;
     }
 
     private void startSimThread() {
+        if (SimMode.current().isTimeStepped()) {
+            // Time-stepped harness: SimStepper calls stepSimulation() itself.
+            return;
+        }
         lastSimTime = Utils.getCurrentTimeSeconds();
 
         /* Run simulation at a faster rate so PID gains behave more reasonably */
@@ -297,6 +425,17 @@ public class CommandSwerveDrivetrain extends TunerSwerveDrivetrain implements Su
         simNotifier.startPeriodic(kSimLoopPeriod);
     }
 
+    /**
+     * Advances the drivetrain simulation by a fixed step. Only for the
+     * time-stepped harnesses ({@link SimMode#isTimeStepped()}), where the
+     * wall-clock sim thread is not started.
+     *
+     * @param dt Step length in seconds
+     */
+    public void stepSimulation(double dt) {
+        updateSimState(dt, RobotController.getBatteryVoltage());
+    }
+
     /**
      * Adds a vision measurement to the Kalman Filter. This will correct the
      * odometry pose estimate
@@ -351,6 +490,32 @@ public class CommandSwerveDrivetrain extends TunerSwerveDrivetrain implements Su
         return super.samplePoseAt(Utils.fpgaToCurrentTime(timestampSeconds));
     }
 
+    /**
+     * Returns the FPGA timestamp of the newest vision batch the pose estimator
+     * accepted, or -1 if it has never accepted one.
+     *
+     * @return The timestamp in seconds.
+     */
+    public double getLastVisionCorrectionTime() {
+        return visionFusion.getLastAcceptedTimestamp();
+    }
+
+    /**
+     * Sets every drive motor's supply current limit without waiting for the
+     * writes (for the {@link PowerManager}).
+     */
+    public void setDriveSupplyCurrentLimit(double amps) {
+        driveCurrentLimits.SupplyCurrentLimit = amps;
+        for (var module : getModules()) {
+            module.getDriveMotor().getConfigurator().apply(driveCurrentLimits, 0.0);
+        }
+    }
+
+    private void rememberSlipCurrent(SwerveModuleConstants<?, ?, ?>[] modules) {
+        driveCurrentLimits.StatorCurrentLimit = modules[0].SlipCurrent;
+        driveCurrentLimits.StatorCurrentLimitEnable = true;
+    }
+
     public void setAimCamera(final AimCamera aimCamera) {
         this.aimCamera = aimCamera;
     }
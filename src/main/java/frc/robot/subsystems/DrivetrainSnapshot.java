@@ -0,0 +1,149 @@
+package frc.robot.subsystems;
+
+import com.ctre.phoenix6.swerve.SwerveDrivetrain.SwerveDriveState;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+
+/**
+ * {@summary}
+ * The drivetrain's state, read from CTRE once per robot loop.
+ * <p>
+ * Every {@code getState()} fills CTRE's state object over JNI under the lock
+ * the odometry thread writes with. The drivetrain calls {@link #capture} at
+ * the top of its periodic (before any command runs); everyone else reads
+ * this object instead, so they all see the same sample and never touch the
+ * lock. Pose resets go through the drivetrain, which recaptures right away
+ * and writes the new pose in ({@link #resetPose}), so reads later in the
+ * same loop see it.
+ *
+ * <h3>Pre-computed:</h3>
+ *
+ * <pre>
+ *   field velocity   vx_f = vx·cos θ − vy·sin θ
+ *                    vy_f = vx·sin θ + vy·cos θ
+ * </pre>
+ *
+ * One instance lives for the drivetrain's lifetime; the two
+ * {@link ChassisSpeeds} are mutated in place, so don't hold onto them across
+ * loops. Main thread only.
+ */
+public class DrivetrainSnapshot {
+    // =================================================================================================================
+    // Private Data Members
+    // =================================================================================================================
+    private Pose2d pose = Pose2d.kZero;
+    private double x = 0.0;
+    private double y = 0.0;
+    private double headingRad = 0.0;
+    private double cos = 1.0;
+    private double sin = 0.0;
+    private final ChassisSpeeds robotSpeeds = new ChassisSpeeds();
+    private final ChassisSpeeds fieldSpeeds = new ChassisSpeeds();
+    private double timestamp = 0.0;
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    /** Pose2d is immutable, so the estimator's is kept as-is. */
+    public Pose2d getPose() {
+        return pose;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public Rotation2d getRotation() {
+        return pose.getRotation();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public double getX() {
+        return x;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public double getY() {
+        return y;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public double getHeadingRad() {
+        return headingRad;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** cos of the heading. */
+    public double getCos() {
+        return cos;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** sin of the heading. */
+    public double getSin() {
+        return sin;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Robot-relative speeds (reused object). */
+    public ChassisSpeeds getRobotSpeeds() {
+        return robotSpeeds;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Field-relative speeds (reused object). */
+    public ChassisSpeeds getFieldSpeeds() {
+        return fieldSpeeds;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public double getFieldVx() {
+        return fieldSpeeds.vxMetersPerSecond;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public double getFieldVy() {
+        return fieldSpeeds.vyMetersPerSecond;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    public double getOmega() {
+        return robotSpeeds.omegaRadiansPerSecond;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Time of the odometry sample, in the Phoenix timebase (s). */
+    public double getTimestamp() {
+        return timestamp;
+    }
+
+    // =================================================================================================================
+    // Private Methods
+    // =================================================================================================================
+    /** Copies one CTRE state in. Only the drivetrain captures. */
+    void capture(final SwerveDriveState state) {
+        robotSpeeds.vxMetersPerSecond = state.Speeds.vxMetersPerSecond;
+        robotSpeeds.vyMetersPerSecond = state.Speeds.vyMetersPerSecond;
+        robotSpeeds.omegaRadiansPerSecond = state.Speeds.omegaRadiansPerSecond;
+        timestamp = state.Timestamp;
+        resetPose(state.Pose);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * Replaces the pose (speeds kept, field speeds re-rotated). The drivetrain
+     * calls this after a reset, in case the odometry thread has not yet
+     * published the new pose.
+     */
+    void resetPose(final Pose2d newPose) {
+        pose = newPose;
+        x = pose.getX();
+        y = pose.getY();
+        headingRad = pose.getRotation().getRadians();
+        cos = pose.getRotation().getCos();
+        sin = pose.getRotation().getSin();
+
+        fieldSpeeds.vxMetersPerSecond = robotSpeeds.vxMetersPerSecond * cos - robotSpeeds.vyMetersPerSecond * sin;
+        fieldSpeeds.vyMetersPerSecond = robotSpeeds.vxMetersPerSecond * sin + robotSpeeds.vyMetersPerSecond * cos;
+        fieldSpeeds.omegaRadiansPerSecond = robotSpeeds.omegaRadiansPerSecond;
+    }
+}
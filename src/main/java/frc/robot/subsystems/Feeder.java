@@ -1,10 +1,14 @@
 package frc.robot.subsystems;
 
+import com.ctre.phoenix6.configs.TalonFXConfiguration;
 import com.ctre.phoenix6.hardware.TalonFX;
+import com.ctre.phoenix6.signals.NeutralModeValue;
+import com.ctre.phoenix6.sim.TalonFXSimState;
 
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.CANBus;
+import frc.robot.DeviceConfigurator;
 
 public class Feeder extends SubsystemBase {
     // =================================================================================================================
@@ -15,8 +19,11 @@ public class Feeder extends SubsystemBase {
     // =================================================================================================================
     // Public Methods
     // =================================================================================================================
-    public Feeder() {
+    /** @param configurator Applies the motor config in the background. */
+    public Feeder(final DeviceConfigurator configurator) {
         this.loader = new TalonFX(CANBus.ID.FEEDER.MOTOR, CANBus.BUS.RIO);
+
+        configureMotor(configurator);
     }
 
     // -----------------------------------------------------------------------------------------------------------------
@@ -73,4 +80,29 @@ public class Feeder extends SubsystemBase {
     public void setFeederSpeed(final double speed) {
         this.loader.set(speed);
     }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * Queues the feeder motor's configuration (neutral mode, current limits).
+     * Called once from the constructor; does not wait.
+     */
+    private void configureMotor(final DeviceConfigurator configurator) {
+        final TalonFXConfiguration config = new TalonFXConfiguration();
+
+        // Stop the ball where it is when the feed gate closes
+        config.MotorOutput.NeutralMode = NeutralModeValue.Brake;
+
+        config.CurrentLimits.SupplyCurrentLimitEnable = true;
+        config.CurrentLimits.SupplyCurrentLimit = 30;
+        config.CurrentLimits.StatorCurrentLimitEnable = true;
+        config.CurrentLimits.StatorCurrentLimit = 60;
+
+        configurator.submit("Feeder", CANBus.BUS.RIO, loader, config);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** The feeder motor's simulation state (simulation models only). */
+    public TalonFXSimState getSimState() {
+        return this.loader.getSimState();
+    }
 }
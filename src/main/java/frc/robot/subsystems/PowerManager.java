@@ -0,0 +1,346 @@
+package frc.robot.subsystems;
+
+import java.util.function.BooleanSupplier;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.PowerDistribution;
+import edu.wpi.first.wpilibj.PowerDistribution.ModuleType;
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj2.command.SubsystemBase;
+
+import frc.robot.CANBus;
+import frc.robot.DeviceConfigurator;
+
+/**
+ * {@summary}
+ * Keeps the battery out of brownout by trimming motor supply current limits
+ * before the voltage gets there.
+ *
+ * <h3>Sampling (own {@link Notifier}, 100 Hz):</h3>
+ * Battery voltage V and PDH total current I feed a battery model:
+ *
+ * <pre>
+ *   V = Voc − R·I
+ *   R   ← −ΔV/ΔI, low-passed, only when I moved by a step (else it's noise)
+ *   Voc ← V + R·I, low-passed
+ *   predicted V = Voc − R·(I + dI/dt·LOOKAHEAD)
+ * </pre>
+ *
+ * <h3>Shedding:</h3>
+ * The current the battery can give before the predicted voltage hits
+ * brownout + margin is <code>(Voc − Vtarget) / R</code>. While the predicted
+ * draw is over that, the shed amount grows (fast); while it is under, the shed
+ * amount is given back (rate-limited, so limits don't pump). Shed amps come
+ * off the loads in order:
+ *
+ * <pre>
+ *   collector → the lower-priority of shooter/drive → the priority one
+ * </pre>
+ *
+ * each down to its floor. The shooter has priority while the lock-on
+ * supplier is true, the drive otherwise. Shedding only bites on motors drawing
+ * more than their new limit, which is why the amount integrates: it keeps
+ * growing until real draw comes down.
+ *
+ * <h3>Applying (periodic, main thread):</h3>
+ * Limits go out as supply current limits, only on a real change and at most
+ * {@link #APPLY_PERIOD_S} apart (config writes are CAN traffic). The drive and
+ * collector also get a speed scalar that follows their shed fraction, so the
+ * driver sees a uniformly slower robot instead of modules sagging unevenly.
+ * Once the {@link DeviceConfigurator} has finished the boot configs, every
+ * limit is sent once more: a boot config landing after a shed would have put
+ * its motor back at full current.
+ */
+public class PowerManager extends SubsystemBase {
+    // =================================================================================================================
+    // Constants
+    // =================================================================================================================
+    private static final double SAMPLE_PERIOD_S = 0.01;
+
+    /** Current step that makes a sample pair good enough to measure R. */
+    private static final double R_MIN_STEP_AMPS = 10.0;
+    private static final double R_FILTER = 0.1;
+    private static final double VOC_FILTER = 0.02;
+    private static final double R_MIN_OHMS = 0.010;
+    private static final double R_MAX_OHMS = 0.100;
+    /** Fresh battery + leads, until measured. */
+    private static final double INITIAL_R_OHMS = 0.025;
+    private static final double INITIAL_VOC = 12.5;
+
+    /** How far ahead the current trend is projected. */
+    private static final double LOOKAHEAD_S = 0.1;
+    private static final double DIDT_FILTER = 0.2;
+    /** Target stays this far above the roboRIO's brownout voltage. */
+    private static final double BROWNOUT_MARGIN_V = 1.0;
+
+    /** Time constant of shedding an excess. */
+    private static final double TIGHTEN_TIME_S = 0.05;
+    /** How fast shed current is handed back. */
+    private static final double RELAX_AMPS_PER_S = 50.0;
+
+    private static final double APPLY_STEP_AMPS = 3.0;
+    private static final double APPLY_PERIOD_S = 0.1;
+    /** Speed scalar at full shed. */
+    private static final double MIN_SPEED_SCALAR = 0.5;
+
+    /** Managed loads, in shedding order (priority aside). */
+    private static final int COLLECTOR = 0;
+    private static final int SHOOTER = 1;
+    private static final int DRIVE = 2;
+    private static final int LOADS = 3;
+    private static final String[] NAMES = { "Collector", "Shooter", "Drive" };
+    private static final int[] MOTORS = { 1, 2, 4 };
+    /** Per-motor supply limit with nothing shed. */
+    private static final double[] MAX_AMPS = { 40.0, 60.0, 60.0 };
+    /** Per-motor supply limit it is never shed below. */
+    private static final double[] MIN_AMPS = { 10.0, 20.0, 15.0 };
+
+    // =================================================================================================================
+    // Private Data Members
+    // =================================================================================================================
+    private final PowerDistribution pdh = new PowerDistribution(CANBus.ID.POWER_DISTRIBUTION, ModuleType.kRev);
+    private final Notifier notifier;
+
+    private final Shooter shooter;
+    private final CommandSwerveDrivetrain drivetrain;
+    private final Collector collector;
+    private final DeviceConfigurator configurator;
+    private final BooleanSupplier shooterHasPriority;
+
+    // Sampler state (Notifier thread, guarded by this)
+    private boolean hasSample = false;
+    private double lastVoltage;
+    private double lastCurrent;
+    private double resistance = INITIAL_R_OHMS;
+    private double openCircuitVoltage = INITIAL_VOC;
+    private double currentSlope = 0.0;
+    private double predictedVoltage = INITIAL_VOC;
+    private double allowedAmps = 0.0;
+    private double shedAmps = 0.0;
+    private boolean shooterFirst = false;
+    /** Per-motor limit the sampler wants, per load. */
+    private final double[] targetLimits = MAX_AMPS.clone();
+
+    // Applied state (main thread)
+    private final double[] appliedLimits = MAX_AMPS.clone();
+    private final double[] limitsSnapshot = new double[LOADS];
+    private double lastApplyTime = Double.NEGATIVE_INFINITY;
+    /** The limits were re-sent after the boot configs finished. */
+    private boolean bootConfigsCovered = false;
+    private volatile double driveScalar = 1.0;
+    private volatile double collectorScalar = 1.0;
+
+    private final DoublePublisher voltagePub;
+    private final DoublePublisher predictedPub;
+    private final DoublePublisher currentPub;
+    private final DoublePublisher resistancePub;
+    private final DoublePublisher vocPub;
+    private final DoublePublisher allowedPub;
+    private final DoublePublisher shedPub;
+    private final DoublePublisher[] limitPubs = new DoublePublisher[LOADS];
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    /**
+     * @param configurator       Whose boot configs the limits must land after.
+     * @param shooterHasPriority True while the shooter should be the last load
+     *                           shed (lock-on); the drive is otherwise. Read on
+     *                           the main thread only.
+     */
+    public PowerManager(final Shooter shooter, final CommandSwerveDrivetrain drivetrain, final Collector collector,
+            final DeviceConfigurator configurator, final BooleanSupplier shooterHasPriority) {
+        this.shooter = shooter;
+        this.drivetrain = drivetrain;
+        this.collector = collector;
+        this.configurator = configurator;
+        this.shooterHasPriority = shooterHasPriority;
+
+        final NetworkTable table = NetworkTableInstance.getDefault().getTable("Power");
+        this.voltagePub = table.getDoubleTopic("Voltage").publish();
+        this.predictedPub = table.getDoubleTopic("PredictedVoltage").publish();
+        this.currentPub = table.getDoubleTopic("TotalCurrent").publish();
+        this.resistancePub = table.getDoubleTopic("ResistanceOhms").publish();
+        this.vocPub = table.getDoubleTopic("OpenCircuitVoltage").publish();
+        this.allowedPub = table.getDoubleTopic("AllowedAmps").publish();
+        this.shedPub = table.getDoubleTopic("ShedAmps").publish();
+        for (int load = 0; load < LOADS; load++) {
+            limitPubs[load] = table.getDoubleTopic(NAMES[load] + "LimitAmps").publish();
+        }
+
+        this.notifier = new Notifier(this::sample);
+        this.notifier.setName("PowerManager");
+        this.notifier.startPeriodic(SAMPLE_PERIOD_S);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    @Override
+    public void periodic() {
+        final double voltage;
+        final double current;
+        final double r;
+        final double voc;
+        final double predicted;
+        final double allowed;
+        final double shed;
+        synchronized (this) {
+            shooterFirst = shooterHasPriority.getAsBoolean();
+            System.arraycopy(targetLimits, 0, limitsSnapshot, 0, LOADS);
+            voltage = lastVoltage;
+            current = lastCurrent;
+            r = resistance;
+            voc = openCircuitVoltage;
+            predicted = predictedVoltage;
+            allowed = allowedAmps;
+            shed = shedAmps;
+        }
+
+        driveScalar = speedScalar(DRIVE, limitsSnapshot[DRIVE]);
+        collectorScalar = speedScalar(COLLECTOR, limitsSnapshot[COLLECTOR]);
+
+        final double now = Timer.getFPGATimestamp();
+        if (!bootConfigsCovered && configurator.isDone()) {
+            bootConfigsCovered = true;
+            for (int load = 0; load < LOADS; load++) {
+                apply(load, limitsSnapshot[load]);
+                appliedLimits[load] = limitsSnapshot[load];
+            }
+            lastApplyTime = now;
+        } else if (now - lastApplyTime >= APPLY_PERIOD_S) {
+            boolean applied = false;
+            for (int load = 0; load < LOADS; load++) {
+                final double limit = limitsSnapshot[load];
+                // Always apply the last step back up, so limits end exactly at max.
+                if (Math.abs(limit - appliedLimits[load]) >= APPLY_STEP_AMPS
+                        || (limit == MAX_AMPS[load] && appliedLimits[load] != MAX_AMPS[load])) {
+                    apply(load, limit);
+                    appliedLimits[load] = limit;
+                    applied = true;
+                }
+            }
+            if (applied) {
+                lastApplyTime = now;
+            }
+        }
+
+        voltagePub.set(voltage);
+        predictedPub.set(predicted);
+        currentPub.set(current);
+        resistancePub.set(r);
+        vocPub.set(voc);
+        allowedPub.set(allowed);
+        shedPub.set(shed);
+        for (int load = 0; load < LOADS; load++) {
+            limitPubs[load].set(appliedLimits[load]);
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Multiply into drive velocity requests.
+     *
+     * @return {@value #MIN_SPEED_SCALAR} (drive fully shed) to 1 (nothing shed).
+     */
+    public double getDriveSpeedScalar() {
+        return driveScalar;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Multiply into the collector's duty cycle.
+     *
+     * @return {@value #MIN_SPEED_SCALAR} (collector fully shed) to 1.
+     */
+    public double getCollectorSpeedScalar() {
+        return collectorScalar;
+    }
+
+    // =================================================================================================================
+    // Private Methods
+    // =================================================================================================================
+    /** Notifier callback: one battery sample, model update and re-allocation. Allocates nothing. */
+    private synchronized void sample() {
+        final double voltage = RobotController.getBatteryVoltage();
+        final double current = pdh.getTotalCurrent();
+
+        if (hasSample) {
+            final double deltaCurrent = current - lastCurrent;
+            if (Math.abs(deltaCurrent) >= R_MIN_STEP_AMPS) {
+                final double measured = -(voltage - lastVoltage) / deltaCurrent;
+                if (measured > 0.0) {
+                    resistance += R_FILTER * (MathUtil.clamp(measured, R_MIN_OHMS, R_MAX_OHMS) - resistance);
+                }
+            }
+            currentSlope += DIDT_FILTER * (deltaCurrent / SAMPLE_PERIOD_S - currentSlope);
+        }
+        openCircuitVoltage += VOC_FILTER * (voltage + resistance * current - openCircuitVoltage);
+        lastVoltage = voltage;
+        lastCurrent = current;
+        hasSample = true;
+
+        // Only a rising trend is projected; a falling one is not counted on.
+        final double predictedCurrent = current + Math.max(0.0, currentSlope) * LOOKAHEAD_S;
+        predictedVoltage = openCircuitVoltage - resistance * predictedCurrent;
+
+        final double targetVoltage = RobotController.getBrownoutVoltage() + BROWNOUT_MARGIN_V;
+        allowedAmps = Math.max(0.0, (openCircuitVoltage - targetVoltage) / resistance);
+        final double excess = predictedCurrent - allowedAmps;
+        if (excess > 0.0) {
+            shedAmps += excess * SAMPLE_PERIOD_S / TIGHTEN_TIME_S;
+        } else {
+            shedAmps -= Math.min(-excess * SAMPLE_PERIOD_S / TIGHTEN_TIME_S, RELAX_AMPS_PER_S * SAMPLE_PERIOD_S);
+        }
+        shedAmps = MathUtil.clamp(shedAmps, 0.0, totalSheddable());
+
+        allocate();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Spreads {@link #shedAmps} over the loads in shedding order. */
+    private void allocate() {
+        double remaining = shedAmps;
+        remaining = shed(COLLECTOR, remaining);
+        remaining = shed(shooterFirst ? DRIVE : SHOOTER, remaining);
+        shed(shooterFirst ? SHOOTER : DRIVE, remaining);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Takes up to its range off one load; returns what is left to shed. */
+    private double shed(final int load, final double amps) {
+        final double range = (MAX_AMPS[load] - MIN_AMPS[load]) * MOTORS[load];
+        final double taken = Math.min(amps, range);
+        targetLimits[load] = MAX_AMPS[load] - taken / MOTORS[load];
+        return amps - taken;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static double totalSheddable() {
+        double total = 0.0;
+        for (int load = 0; load < LOADS; load++) {
+            total += (MAX_AMPS[load] - MIN_AMPS[load]) * MOTORS[load];
+        }
+        return total;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static double speedScalar(final int load, final double limit) {
+        final double shedFraction = (MAX_AMPS[load] - limit) / (MAX_AMPS[load] - MIN_AMPS[load]);
+        return 1.0 - (1.0 - MIN_SPEED_SCALAR) * shedFraction;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private void apply(final int load, final double amps) {
+        switch (load) {
+            case COLLECTOR -> collector.setSupplyCurrentLimit(amps);
+            case SHOOTER -> shooter.setSupplyCurrentLimit(amps);
+            default -> drivetrain.setDriveSupplyCurrentLimit(amps);
+        }
+    }
+}
@@ -6,7 +6,9 @@ import java.util.function.DoubleSupplier;
 
 import com.ctre.phoenix6.controls.Follower;
 import com.ctre.phoenix6.hardware.TalonFX;
+import com.ctre.phoenix6.sim.TalonFXSimState;
 import com.ctre.phoenix6.signals.MotorAlignmentValue;
+import com.ctre.phoenix6.configs.CurrentLimitsConfigs;
 import com.ctre.phoenix6.configs.TalonFXConfiguration;
 import com.ctre.phoenix6.controls.VelocityVoltage;
 import com.ctre.phoenix6.signals.NeutralModeValue;
@@ -19,16 +21,24 @@ import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 
 import frc.robot.CANBus;
+import frc.robot.DeviceConfigurator;
 
 public class Shooter extends SubsystemBase {
+    // =================================================================================================================
+    // Constants
+    // =================================================================================================================
+    /** Public so offline tools (the shot map generator) use the same limit. */
+    public static final double MAX_SHOOTER_RPM = 5_000.0; // <- Tune this after characterization
+
     // =================================================================================================================
     // Private Data Members
     // =================================================================================================================
-    private final double MAX_SHOOTER_RPM = 5_000.0; // <- Tune this after characterization
 
     private final TalonFX motorLeader;
     private final TalonFX motorFollower;
     private final VelocityVoltage velocityRequest;
+    /** Kept so supply limit changes re-send the same stator limit. */
+    private final CurrentLimitsConfigs currentLimits = new CurrentLimitsConfigs();
 
     private final NetworkTableEntry leaderRpmEntry;
     private final NetworkTableEntry askedRpm;
@@ -36,14 +46,15 @@ public class Shooter extends SubsystemBase {
     // =================================================================================================================
     // Public Methods
     // =================================================================================================================
-    public Shooter() {
+    /** @param configurator Applies the motor configs in the background. */
+    public Shooter(final DeviceConfigurator configurator) {
         this.motorLeader = new TalonFX(CANBus.ID.SHOOTER.LEADER, CANBus.BUS.CANIVORE);
         this.motorFollower = new TalonFX(CANBus.ID.SHOOTER.FOLLOWER, CANBus.BUS.CANIVORE);
 
         this.motorFollower.setControl(new Follower(this.motorLeader.getDeviceID(), MotorAlignmentValue.Opposed));
         this.velocityRequest = new VelocityVoltage(0).withSlot(0);
 
-        configureMotors();
+        configureMotors(configurator);
 
         NetworkTable shooterTable = NetworkTableInstance.getDefault().getTable("Shooter");
         this.leaderRpmEntry = shooterTable.getEntry("LeaderRPM");
@@ -52,10 +63,10 @@ public class Shooter extends SubsystemBase {
 
     // -----------------------------------------------------------------------------------------------------------------
     /**
-     * Configures both shooter motors (PIDF, current limits, neutral mode).
-     * Called once from the constructor.
+     * Queues the configuration of both shooter motors (PIDF, current limits,
+     * neutral mode). Called once from the constructor; does not wait.
      */
-    private void configureMotors() {
+    private void configureMotors(final DeviceConfigurator configurator) {
         TalonFXConfiguration config = new TalonFXConfiguration();
 
         // Motor output & safety
@@ -63,11 +74,17 @@ public class Shooter extends SubsystemBase {
         // Uncomment if you want brake
         // config.MotorOutput.NeutralMode = NeutralModeValue.Brake;
 
-        // Current limiting (important for Kraken X60)
+        // Current limiting (important for Kraken X60); the supply limit is
+        // lowered at runtime by the PowerManager
         config.CurrentLimits.SupplyCurrentLimitEnable = true;
         config.CurrentLimits.SupplyCurrentLimit = 60;
         config.CurrentLimits.StatorCurrentLimitEnable = true;
         config.CurrentLimits.StatorCurrentLimit = 100;
+        // The PowerManager's own copy, so its changes never touch the boot config
+        currentLimits.SupplyCurrentLimitEnable = config.CurrentLimits.SupplyCurrentLimitEnable;
+        currentLimits.SupplyCurrentLimit = config.CurrentLimits.SupplyCurrentLimit;
+        currentLimits.StatorCurrentLimitEnable = config.CurrentLimits.StatorCurrentLimitEnable;
+        currentLimits.StatorCurrentLimit = config.CurrentLimits.StatorCurrentLimit;
 
         // Slot 0 - Velocity Control (starting gains)
         config.Slot0.kP = 0.22;
@@ -76,9 +93,9 @@ public class Shooter extends SubsystemBase {
         config.Slot0.kV = 0.115; // Feedforward - very important!
         config.Slot0.kS = 0.18; // Static friction compensation
 
-        // Apply to both motors
-        motorLeader.getConfigurator().apply(config);
-        motorFollower.getConfigurator().apply(config);
+        // Apply to both motors, in the background with the rest of the CANivore
+        configurator.submit("Shooter leader", CANBus.BUS.CANIVORE, motorLeader, config);
+        configurator.submit("Shooter follower", CANBus.BUS.CANIVORE, motorFollower, config);
     }
 
     // -----------------------------------------------------------------------------------------------------------------
@@ -156,4 +173,23 @@ public class Shooter extends SubsystemBase {
         return MAX_SHOOTER_RPM;
     }
 
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Sets both motors' supply current limit without waiting for the write
+     * (for the {@link PowerManager}).
+     *
+     * @param amps Per motor.
+     */
+    public void setSupplyCurrentLimit(final double amps) {
+        currentLimits.SupplyCurrentLimit = amps;
+        motorLeader.getConfigurator().apply(currentLimits, 0.0);
+        motorFollower.getConfigurator().apply(currentLimits, 0.0);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** The leader motor's simulation state (simulation models only). */
+    public TalonFXSimState getSimState() {
+        return this.motorLeader.getSimState();
+    }
 }
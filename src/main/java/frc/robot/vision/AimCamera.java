@@ -5,7 +5,6 @@ import static edu.wpi.first.units.Units.Inches;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Consumer;
 
 import org.photonvision.EstimatedRobotPose;
 import org.photonvision.PhotonCamera;
@@ -15,16 +14,22 @@ import org.photonvision.targeting.PhotonTrackedTarget;
 
 import edu.wpi.first.apriltag.AprilTagFieldLayout;
 import edu.wpi.first.apriltag.AprilTagFields;
-import edu.wpi.first.math.VecBuilder;
-import edu.wpi.first.math.Vector;
+import edu.wpi.first.math.geometry.Pose3d;
 import edu.wpi.first.math.geometry.Rotation3d;
 import edu.wpi.first.math.geometry.Transform3d;
-import edu.wpi.first.math.numbers.N3;
+import edu.wpi.first.math.geometry.Translation3d;
 import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.units.measure.Distance;
+import edu.wpi.first.util.datalog.IntegerLogEntry;
+import edu.wpi.first.util.datalog.ProtobufLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.DriverStation.Alliance;
 import edu.wpi.first.wpilibj.smartdashboard.SendableChooser;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 
+import frc.robot.math.MutableTransform3;
+import frc.robot.replay.ReplayLog;
+
 public class AimCamera {
     // =================================================================================================================
     // Constants
@@ -120,6 +125,15 @@ public class AimCamera {
                     Angle.ofRelativeUnits(0, Degrees),
                     Angle.ofRelativeUnits(0, Degrees)));
 
+    /**
+     * Transform from the robot origin to the shooter origin (robot frame).
+     * <p>
+     * Both offsets above have zero rotation, so this is just
+     * ROBOT_TO_CAMERA − SHOOTER_TO_CAMERA, component by component.
+     */
+    public static final Transform3d ROBOT_TO_SHOOTER_OFFSET = ROBOT_TO_CAMERA_OFFSET
+            .plus(SHOOTER_TO_CAMERA_OFFSET.inverse());
+
     private SendableChooser<AprilTagFields> fieldChooser = new SendableChooser<>();
     private AprilTagFields lastField = null;
 
@@ -127,7 +141,20 @@ public class AimCamera {
     // Private Members
     // =================================================================================================================
     private final PhotonPoseEstimator photonPoseEstimator;
-    private List<PhotonPipelineResult> results;
+    private AprilTagFieldLayout fieldLayout;
+    /** Replaced (never changed) by each read; the fast aim loop reads it from its own thread. */
+    private volatile List<PhotonPipelineResult> results;
+
+    /** Every frame goes to the WPILog, so matches can be replayed. */
+    private final ProtobufLogEntry<PhotonPipelineResult> frameLog;
+    /** One mark per read (frame count), after its frames: where the results were replaced. */
+    private final IntegerLogEntry readLog;
+
+    /** FPGA timestamp (s) of the newest frame that contained a hub tag. */
+    private double lastHubTimestampSeconds = -1.0;
+
+    /** Backs the allocating {@link #getHubRelativeLocation()} edge. */
+    private final MutableTransform3 hubScratch = new MutableTransform3();
 
     // =================================================================================================================
     // Systems
@@ -147,8 +174,11 @@ public class AimCamera {
             initial = AprilTagFields.k2026RebuiltWelded;
         }
         lastField = initial;
-        photonPoseEstimator = new PhotonPoseEstimator(AprilTagFieldLayout.loadField(initial),
-                ROBOT_TO_CAMERA_OFFSET);
+        fieldLayout = AprilTagFieldLayout.loadField(initial);
+        photonPoseEstimator = new PhotonPoseEstimator(fieldLayout, ROBOT_TO_CAMERA_OFFSET);
+        frameLog = ProtobufLogEntry.create(DataLogManager.getLog(), ReplayLog.CAMERA_ENTRY,
+                PhotonPipelineResult.proto);
+        readLog = new IntegerLogEntry(DataLogManager.getLog(), ReplayLog.CAMERA_READ_ENTRY);
     }
 
     // -----------------------------------------------------------------------------------------------------------------
@@ -157,15 +187,29 @@ public class AimCamera {
      */
     public void updateFrames() {
         this.results = camera.getAllUnreadResults();
+        for (final PhotonPipelineResult result : results) {
+            frameLog.append(result);
+        }
+        readLog.append(results.size());
 
         AprilTagFields selected = fieldChooser.getSelected();
         if (selected != null && selected != lastField) {
             lastField = selected;
-            AprilTagFieldLayout layout = AprilTagFieldLayout.loadField(selected);
-            photonPoseEstimator.setFieldTags(layout);
+            fieldLayout = AprilTagFieldLayout.loadField(selected);
+            photonPoseEstimator.setFieldTags(fieldLayout);
         }
     }
 
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Log replay only: use these frames (read back from a match log) instead
+     * of {@link #updateFrames()}. They are not logged again.
+     */
+    public void replayFrames(final List<PhotonPipelineResult> frames) {
+        this.results = frames;
+    }
+
     // -----------------------------------------------------------------------------------------------------------------
     /**
      * Returns the Transform3d from the <b>shooter</b> to the hub scoring
@@ -203,17 +247,58 @@ public class AimCamera {
      * </pre>
      */
     public Transform3d getHubRelativeLocation() {
+        return getHubRelativeLocation(hubScratch) ? hubScratch.toTransform3d() : null;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * {@link #getHubRelativeLocation()} without allocating: the same frame
+     * chain, composed into <code>out</code>.
+     *
+     * @param out Receives shooter → hub center (robot frame). Untouched if
+     *            false is returned.
+     * @return False if no hub tag is visible.
+     */
+    public boolean getHubRelativeLocation(final MutableTransform3 out) {
+        return getHubRelativeLocation(null, out);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * {@link #getHubRelativeLocation(MutableTransform3)} from one alliance's
+     * hub tags only; the other hub's tags are ignored as if not seen.
+     *
+     * @param alliance Whose hub (null: either).
+     * @param out      Receives shooter → hub center (robot frame). Untouched if
+     *                 false is returned.
+     * @return False if none of that hub's tags is visible.
+     */
+    public boolean getHubRelativeLocation(final Alliance alliance, final MutableTransform3 out) {
+        final boolean acceptRed = alliance != Alliance.Blue;
+        final boolean acceptBlue = alliance != Alliance.Red;
         Transform3d hub9 = null;
         Transform3d hub10 = null; // prefer
         Transform3d hub25 = null;
         Transform3d hub26 = null; // prefer
 
-        for (final PhotonPipelineResult result : results) {
-            for (final PhotonTrackedTarget target : result.getTargets()) {
-                if (target.fiducialId != HUB_OFF_CENTER_RIGHT_RED_TAG && target.fiducialId != HUB_CENTER_RED_TAG &&
-                        target.fiducialId != HUB_CENTER_BLUE_TAG && target.fiducialId != HUB_OFF_CENTER_LEFT_BLUE_TAG)
+        // Indexed loops: no iterators on the aiming path. One read of the list: a camera read may swap it.
+        final List<PhotonPipelineResult> frames = results;
+        for (int r = 0; r < frames.size(); r++) {
+            final PhotonPipelineResult result = frames.get(r);
+            final List<PhotonTrackedTarget> targets = result.getTargets();
+            for (int t = 0; t < targets.size(); t++) {
+                final PhotonTrackedTarget target = targets.get(t);
+                final boolean redHub = target.fiducialId == HUB_OFF_CENTER_RIGHT_RED_TAG
+                        || target.fiducialId == HUB_CENTER_RED_TAG;
+                final boolean blueHub = target.fiducialId == HUB_CENTER_BLUE_TAG
+                        || target.fiducialId == HUB_OFF_CENTER_LEFT_BLUE_TAG;
+                if (!(redHub && acceptRed) && !(blueHub && acceptBlue))
                     continue;
 
+                lastHubTimestampSeconds = result.getTimestampSeconds();
+
                 if (target.fiducialId == HUB_OFF_CENTER_RIGHT_RED_TAG) {
                     hub9 = target.getBestCameraToTarget();
                     continue;
@@ -234,7 +319,7 @@ public class AimCamera {
 
         // Select which tag to use and its corresponding hub offset.
         // Center tags preferred (no lateral offset error).
-        // Only one hub is ever visible — single chain is sufficient.
+        // One hub's tags (or, with no alliance, whichever hub is in view) — single chain is sufficient.
         Transform3d cameraToTag = null;
         Transform3d tagToHubOffset = null;
 
@@ -252,7 +337,7 @@ public class AimCamera {
             tagToHubOffset = TAG25_TO_HUB_CENTER_OFFSET;
         }
         if (cameraToTag == null) {
-            return null;
+            return false;
         }
 
         // ── Correct frame chain: Shooter → Camera → Tag → Hub Center ──
@@ -266,13 +351,111 @@ public class AimCamera {
         //
         // Result: shooter-to-hub displacement in robot frame — exactly
         // what the ballistic solver expects.
-        return SHOOTER_TO_CAMERA_OFFSET
+        out.set(SHOOTER_TO_CAMERA_OFFSET)
                 .plus(cameraToTag)
                 .plus(tagToHubOffset);
+        return true;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * The field position of the hub scoring center for an alliance, from the
+     * currently selected field layout and the center tag's hub offset.
+     *
+     * @param alliance The alliance whose hub we want.
+     * @return The hub center in field coordinates, or null if the layout has no
+     *         such tag.
+     */
+    public Translation3d getHubFieldPosition(final Alliance alliance) {
+        return getHubFieldPosition(fieldLayout, alliance);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Same as {@link #getHubFieldPosition(Alliance)} for an explicit layout,
+     * without a camera (offline tools).
+     */
+    public static Translation3d getHubFieldPosition(final AprilTagFieldLayout fieldLayout, final Alliance alliance) {
+        final boolean isRed = alliance == Alliance.Red;
+        final Optional<Pose3d> tagPose = fieldLayout.getTagPose(isRed ? HUB_CENTER_RED_TAG : HUB_CENTER_BLUE_TAG);
+        if (tagPose.isEmpty()) {
+            return null;
+        }
+        return tagPose.get()
+                .transformBy(isRed ? TAG10_TO_HUB_CENTER_OFFSET : TAG26_TO_HUB_CENTER_OFFSET)
+                .getTranslation();
     }
 
     // -----------------------------------------------------------------------------------------------------------------
-    public void updateEstimatedRobotPose(final Consumer<VisionMeasurement> poseUpdator) {
+    /**
+     * {@summary}
+     * FPGA timestamp (seconds) of the newest camera frame that contained a hub
+     * tag, or −1 if none has been seen yet.
+     */
+    public double getLastHubTimestampSeconds() {
+        return lastHubTimestampSeconds;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** The currently selected AprilTag field layout. */
+    public AprilTagFieldLayout getFieldLayout() {
+        return fieldLayout;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** The underlying PhotonVision camera (for simulation). */
+    public PhotonCamera getCamera() {
+        return camera;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Transform from the robot origin to the camera (robot frame). */
+    public static Transform3d getRobotToCameraOffset() {
+        return ROBOT_TO_CAMERA_OFFSET;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Transform from the shooter origin to the camera (robot frame, zero rotation). */
+    public static Transform3d getShooterToCameraOffset() {
+        return SHOOTER_TO_CAMERA_OFFSET;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Offset from a hub tag to the hub scoring center, in the tag's frame.
+     *
+     * @param fiducialId An AprilTag ID.
+     * @return The offset, or null if the tag is not a hub tag.
+     */
+    public static Transform3d getTagToHubCenterOffset(final int fiducialId) {
+        if (fiducialId == HUB_OFF_CENTER_RIGHT_RED_TAG) {
+            return TAG9_TO_HUB_CENTER_OFFSET;
+        }
+        if (fiducialId == HUB_CENTER_RED_TAG) {
+            return TAG10_TO_HUB_CENTER_OFFSET;
+        }
+        if (fiducialId == HUB_OFF_CENTER_LEFT_BLUE_TAG) {
+            return TAG25_TO_HUB_CENTER_OFFSET;
+        }
+        if (fiducialId == HUB_CENTER_BLUE_TAG) {
+            return TAG26_TO_HUB_CENTER_OFFSET;
+        }
+        return null;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Runs the multi-tag estimator over this frame's results and hands every
+     * estimate to the {@link VisionFusion} stage. Nothing is allocated for the
+     * hand-off: the pose and std-devs go across as primitives.
+     *
+     * @param fusion The fusion stage that gates and batches the measurements.
+     */
+    public void updateEstimatedRobotPose(final VisionFusion fusion) {
         for (final PhotonPipelineResult result : results) {
             if (!result.hasTargets())
                 continue;
@@ -282,35 +465,39 @@ public class AimCamera {
 
             EstimatedRobotPose pose = optionalPose.get();
 
-            Vector<N3> dynamicStdDevs;
+            final double stdDevXY;
+            final double stdDevTheta;
             int tagCount = result.getTargets().size();
             double avgDist = pose.estimatedPose.getTranslation().getNorm();
             if (tagCount >= 2) {
                 // Multi-tag: geometry resolves ambiguity, trust XY well.
                 // Heading is better than single-tag but Pigeon is still superior.
                 if (avgDist < 3.0) {
-                    dynamicStdDevs = VecBuilder.fill(0.1, 0.1, 0.4);
+                    stdDevXY = 0.1;
+                    stdDevTheta = 0.4;
                 } else {
-                    dynamicStdDevs = VecBuilder.fill(0.2, 0.2, 0.5);
+                    stdDevXY = 0.2;
+                    stdDevTheta = 0.5;
                 }
             } else {
                 // Single-tag: XY is decent at close range, degrades with distance.
                 // Heading is unreliable — let Pigeon handle it entirely.
+                stdDevTheta = 999.0;
                 if (avgDist < 3.0) {
-                    dynamicStdDevs = VecBuilder.fill(0.3, 0.3, 999.0);
+                    stdDevXY = 0.3;
                 } else if (avgDist < 5.0) {
-                    dynamicStdDevs = VecBuilder.fill(0.5, 0.5, 999.0);
+                    stdDevXY = 0.5;
                 } else {
-                    dynamicStdDevs = VecBuilder.fill(1.0, 1.0, 999.0);
+                    stdDevXY = 1.0;
                 }
             }
 
-            final VisionMeasurement measurement = new VisionMeasurement(
-                    pose.estimatedPose.toPose2d(),
+            fusion.addMeasurement(
+                    pose.estimatedPose.getX(),
+                    pose.estimatedPose.getY(),
+                    pose.estimatedPose.getRotation().getZ(),
                     result.getTimestampSeconds(),
-                    dynamicStdDevs);
-
-            poseUpdator.accept(measurement);
+                    stdDevXY, stdDevXY, stdDevTheta);
         }
     }
 }
\ No newline at end of file
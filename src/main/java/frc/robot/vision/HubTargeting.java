@@ -0,0 +1,264 @@
+package frc.robot.vision;
+
+import edu.wpi.first.math.geometry.Translation3d;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.DriverStation.Alliance;
+import edu.wpi.first.wpilibj.Timer;
+
+import frc.robot.math.MutableTransform3;
+import frc.robot.subsystems.CommandSwerveDrivetrain;
+import frc.robot.subsystems.DrivetrainSnapshot;
+
+/**
+ * Shooter-to-hub targeting from two sources, blended by confidence.
+ *
+ * <h3>Sources (both give the shooter → hub displacement, robot frame):</h3>
+ * <ul>
+ * <li><b>Tag</b>: {@link AimCamera#getHubRelativeLocation()} — direct, but
+ * only when one of <i>our</i> hub's tags is in view (the other hub's tags are
+ * ignored; blended with our pose-based target they'd aim between hubs).</li>
+ * <li><b>Pose</b>: fused drivetrain pose + the hub's field position — always
+ * available, but drifts on odometry between vision corrections.</li>
+ * </ul>
+ *
+ * <h3>Confidence model (1σ position error, meters):</h3>
+ *
+ * <pre>
+ *   σ_tag  = 0.03 + 0.02 · d                  (tag ranging degrades with d)
+ *   σ_pose = 0.08 + 0.15 · t_since_vision     (odometry drift)
+ * </pre>
+ *
+ * <h3>Blend (inverse-variance, per axis):</h3>
+ *
+ * <pre>
+ *   w = σ_pose² / (σ_tag² + σ_pose²)           weight on the tag
+ *   d = w · d_tag + (1 − w) · d_pose
+ *   σ = σ_tag · σ_pose / √(σ_tag² + σ_pose²)
+ * </pre>
+ *
+ * <h3>Between camera frames:</h3>
+ * The fast aim loop updates several times per camera frame. A tag frame is
+ * blended once, when it is new; the blend is kept as a field position of the
+ * hub, with its σ, and later updates re-express it from the current pose
+ * (dead-reckoned by the pose delta) until the next frame or until the hub
+ * leaves the view ({@link #isNewTagFrame()}).
+ * <p>
+ * With the hub out of view, the pose source alone keeps the solution current,
+ * so the robot can aim and fire at full rate from anywhere the fused pose is
+ * good enough ({@link #isConfidentEnoughToFire()}).
+ */
+public class HubTargeting {
+    // =================================================================================================================
+    // Constants
+    // =================================================================================================================
+    private static final double TAG_STD_DEV_BASE_M = 0.03;
+    private static final double TAG_STD_DEV_PER_METER = 0.02;
+    private static final double POSE_STD_DEV_BASE_M = 0.08;
+    private static final double POSE_DRIFT_M_PER_S = 0.15;
+
+    /** No vision correction yet — treat the pose as this uncertain. */
+    private static final double POSE_STD_DEV_UNCORRECTED_M = 1.0;
+
+    /** Above this blended σ we still aim, but should not feed. */
+    private static final double MAX_FIRING_STD_DEV_M = 0.25;
+
+    // =================================================================================================================
+    // Private Data Members
+    // =================================================================================================================
+    private final AimCamera aimCamera;
+    private final CommandSwerveDrivetrain drive;
+
+    private Alliance cachedAlliance = null;
+    private Translation3d hub = null;
+    /** Shooter → hub from the tags, recomposed in place every frame. */
+    private final MutableTransform3 tag = new MutableTransform3();
+    /** Capture time of the last tag frame blended. */
+    private double lastTagFrameSeconds = Double.NaN;
+    /** That frame's blended target: hub field position seen from the shooter, and σ. */
+    private double tagHubX;
+    private double tagHubY;
+    private double tagHubDz;
+    private double tagStdDev;
+
+    private boolean hasTarget;
+    private boolean hasVision;
+    private boolean newTagFrame;
+    private double dx;
+    private double dy;
+    private double dz;
+    private double stdDev;
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    public HubTargeting(final AimCamera aimCamera, final CommandSwerveDrivetrain drive) {
+        this.aimCamera = aimCamera;
+        this.drive = drive;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Recomputes the blended target. Call once per frame, after the camera
+     * frames have been read.
+     *
+     * @return True if there is a target this frame (from either source).
+     */
+    public boolean update() {
+        final DrivetrainSnapshot state = drive.getSnapshot();
+        return update(DriverStation.getAlliance().orElse(null), state.getX(), state.getY(), state.getHeadingRad(),
+                drive.getLastVisionCorrectionTime());
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * {@link #update()} from an explicit alliance and fused pose instead of
+     * the Driver Station's and the drivetrain's (the fast aim loop, which
+     * uses the alliance its command latched, and log replay).
+     *
+     * @param alliance       Whose hub (null: unknown).
+     * @param lastVisionTime FPGA time of the last vision correction, −1 for none.
+     * @return True if there is a target this frame (from either source).
+     */
+    public boolean update(final Alliance alliance, final double poseX, final double poseY,
+            final double headingRad, final double lastVisionTime) {
+        hasTarget = false;
+        hasVision = false;
+        newTagFrame = false;
+
+        // ── Pose source ──
+        if (alliance != cachedAlliance) {
+            cachedAlliance = alliance;
+            hub = alliance == null ? null : aimCamera.getHubFieldPosition(alliance);
+        }
+
+        final double cos = Math.cos(headingRad);
+        final double sin = Math.sin(headingRad);
+        final double sx = AimCamera.ROBOT_TO_SHOOTER_OFFSET.getX();
+        final double sy = AimCamera.ROBOT_TO_SHOOTER_OFFSET.getY();
+        // p_shooter = p_robot + R(θ)·r_shooter
+        final double shooterX = poseX + sx * cos - sy * sin;
+        final double shooterY = poseY + sx * sin + sy * cos;
+
+        double poseDx = 0.0, poseDy = 0.0, poseDz = 0.0, poseStd = Double.POSITIVE_INFINITY;
+        if (hub != null) {
+            // d_field = p_hub − p_shooter
+            final double fieldDx = hub.getX() - shooterX;
+            final double fieldDy = hub.getY() - shooterY;
+
+            // d_robot = R(−θ)·d_field
+            poseDx = fieldDx * cos + fieldDy * sin;
+            poseDy = -fieldDx * sin + fieldDy * cos;
+            poseDz = hub.getZ() - AimCamera.ROBOT_TO_SHOOTER_OFFSET.getZ();
+
+            poseStd = lastVisionTime < 0.0
+                    ? POSE_STD_DEV_UNCORRECTED_M
+                    : POSE_STD_DEV_BASE_M + POSE_DRIFT_M_PER_S * (Timer.getFPGATimestamp() - lastVisionTime);
+        }
+
+        // ── Tag source ──
+        if (aimCamera.getHubRelativeLocation(cachedAlliance, tag)) {
+            hasVision = true;
+            final double frameSeconds = aimCamera.getLastHubTimestampSeconds();
+            if (frameSeconds != lastTagFrameSeconds) {
+                lastTagFrameSeconds = frameSeconds;
+                newTagFrame = true;
+                blendTagFrame(poseDx, poseDy, poseDz, poseStd, shooterX, shooterY, cos, sin);
+            }
+            // d_robot = R(−θ)·(p_hub,tag − p_shooter): the frame's target, carried by the pose delta
+            final double fieldDx = tagHubX - shooterX;
+            final double fieldDy = tagHubY - shooterY;
+            set(fieldDx * cos + fieldDy * sin, -fieldDx * sin + fieldDy * cos, tagHubDz, tagStdDev);
+        } else if (!Double.isInfinite(poseStd)) {
+            set(poseDx, poseDy, poseDz, poseStd);
+        }
+        return hasTarget;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** True if {@link #update()} produced a target this frame. */
+    public boolean hasTarget() {
+        return hasTarget;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** True if a hub tag contributed this frame (a new one or the last one, carried). */
+    public boolean hasVision() {
+        return hasVision;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * True if this update blended a tag frame not seen before. False while a
+     * previous frame is being carried: feeding that to a filter again would
+     * count one measurement several times.
+     */
+    public boolean isNewTagFrame() {
+        return newTagFrame;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** True if the blended target is good enough to feed on, not just aim on. */
+    public boolean isConfidentEnoughToFire() {
+        return hasTarget && stdDev <= MAX_FIRING_STD_DEV_M;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /** Shooter → hub, forward, robot frame (m). */
+    public double getDx() {
+        return dx;
+    }
+
+    /** Shooter → hub, left, robot frame (m). */
+    public double getDy() {
+        return dy;
+    }
+
+    /** Shooter → hub, up (m). */
+    public double getDz() {
+        return dz;
+    }
+
+    /** 1σ position uncertainty of the blended target (m). */
+    public double getStdDev() {
+        return stdDev;
+    }
+
+    // =================================================================================================================
+    // Private Methods
+    // =================================================================================================================
+    /** Blends a new tag frame with the pose source and keeps it as a hub field position. */
+    private void blendTagFrame(final double poseDx, final double poseDy, final double poseDz, final double poseStd,
+            final double shooterX, final double shooterY, final double cos, final double sin) {
+        final double tagStd = TAG_STD_DEV_BASE_M
+                + TAG_STD_DEV_PER_METER * Math.hypot(tag.getX(), tag.getY());
+        double blendDx = tag.getX();
+        double blendDy = tag.getY();
+        double blendDz = tag.getZ();
+        double blendStd = tagStd;
+        if (!Double.isInfinite(poseStd)) {
+            final double tagVar = tagStd * tagStd;
+            final double poseVar = poseStd * poseStd;
+            final double w = poseVar / (tagVar + poseVar);
+            blendDx = w * tag.getX() + (1.0 - w) * poseDx;
+            blendDy = w * tag.getY() + (1.0 - w) * poseDy;
+            blendDz = w * tag.getZ() + (1.0 - w) * poseDz;
+            blendStd = tagStd * poseStd / Math.sqrt(tagVar + poseVar);
+        }
+        // p_hub,tag = p_shooter + R(θ)·d_robot
+        tagHubX = shooterX + blendDx * cos - blendDy * sin;
+        tagHubY = shooterY + blendDx * sin + blendDy * cos;
+        tagHubDz = blendDz;
+        tagStdDev = blendStd;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private void set(final double dx, final double dy, final double dz, final double stdDev) {
+        this.dx = dx;
+        this.dy = dy;
+        this.dz = dz;
+        this.stdDev = stdDev;
+        this.hasTarget = true;
+    }
+}
@@ -0,0 +1,291 @@
+package frc.robot.vision;
+
+import java.util.Optional;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.Matrix;
+import edu.wpi.first.math.Nat;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.numbers.N1;
+import edu.wpi.first.math.numbers.N3;
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.IntegerPublisher;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+
+import frc.robot.subsystems.CommandSwerveDrivetrain;
+
+/**
+ * Gates and batches vision pose measurements before they reach the swerve
+ * pose estimator.
+ *
+ * <h3>Pipeline (once per robot loop):</h3>
+ *
+ * <pre>
+ *   AimCamera ──addMeasurement()──→ primitive buffers
+ *                                        │
+ *   flush(drive):                        ▼
+ *     1. sort by timestamp      (insertion sort, N ≤ 16)
+ *     2. merge equal timestamps (inverse-variance weighting)
+ *     3. Mahalanobis gate against the estimator's pose at that time
+ *     4. ONE addVisionMeasurement() per accepted batch
+ * </pre>
+ *
+ * <h3>Mahalanobis gate (diagonal covariance):</h3>
+ *
+ * <pre>
+ *   r  = z_vision − x̂(t)                 residual  [x, y, θ]
+ *   S  = σ²_vision + σ²_odometry           per axis
+ *   d² = Σ rᵢ² / Sᵢ                        χ² with 3 DOF
+ *
+ *   d² &gt; 11.34 → reject (99 % confidence)
+ * </pre>
+ *
+ * If the gate rejects {@link #MAX_CONSECUTIVE_REJECTIONS} batches in a row,
+ * the <b>odometry</b> is the thing that is wrong (boot, bad reset, collision),
+ * so the next batch is accepted unconditionally to re-seed the estimator.
+ * <p>
+ * Every buffer and the std-dev {@link Matrix} are allocated once here; the
+ * only per-batch allocations left are the {@link Pose2d} handed to CTRE and
+ * the {@link Optional} returned by {@code samplePoseAt}.
+ */
+public class VisionFusion {
+    // =================================================================================================================
+    // Constants
+    // =================================================================================================================
+    /** Most measurements we will buffer in one robot loop. Extra ones are dropped. */
+    private static final int MAX_MEASUREMENTS = 16;
+
+    /** Measurements closer together than this (seconds) are the same camera frame. */
+    private static final double SAME_TIMESTAMP_EPSILON_S = 1e-4;
+
+    /** χ² threshold for 3 degrees of freedom at 99 % confidence. */
+    private static final double MAHALANOBIS_GATE = 11.34;
+
+    /**
+     * How far we believe odometry can drift between vision frames, in the form
+     * [x, y, θ] (meters, meters, radians). This is the estimator's side of S.
+     */
+    private static final double ODOMETRY_STD_DEV_XY = 0.15;
+    private static final double ODOMETRY_STD_DEV_THETA = 0.05;
+
+    /** Rejected batches in a row before we stop trusting odometry and re-seed. */
+    private static final int MAX_CONSECUTIVE_REJECTIONS = 10;
+
+    // =================================================================================================================
+    // Private Data Members
+    // =================================================================================================================
+    private final double[] xs = new double[MAX_MEASUREMENTS];
+    private final double[] ys = new double[MAX_MEASUREMENTS];
+    private final double[] thetas = new double[MAX_MEASUREMENTS];
+    private final double[] timestamps = new double[MAX_MEASUREMENTS];
+    private final double[] varXs = new double[MAX_MEASUREMENTS];
+    private final double[] varYs = new double[MAX_MEASUREMENTS];
+    private final double[] varThetas = new double[MAX_MEASUREMENTS];
+    private final int[] order = new int[MAX_MEASUREMENTS];
+    private int count = 0;
+
+    /** Reused for every estimator update — CTRE copies the values out immediately. */
+    private final Matrix<N3, N1> stdDevs = new Matrix<>(Nat.N3(), Nat.N1());
+
+    private int consecutiveRejections = 0;
+    private double stdDevScale = 1.0;
+    private boolean bypassGate = false;
+
+    private long acceptedCount = 0;
+    private long rejectedCount = 0;
+    /** Read by the fast aim loop's thread. */
+    private volatile double lastAcceptedTimestamp = -1.0;
+
+    private final DoublePublisher mahalanobisPub;
+    private final IntegerPublisher acceptedPub;
+    private final IntegerPublisher rejectedPub;
+
+    // =================================================================================================================
+    // Public Methods
+    // =================================================================================================================
+    public VisionFusion() {
+        final NetworkTable table = NetworkTableInstance.getDefault().getTable("VisionFusion");
+        this.mahalanobisPub = table.getDoubleTopic("LastMahalanobisSq").publish();
+        this.acceptedPub = table.getIntegerTopic("Accepted").publish();
+        this.rejectedPub = table.getIntegerTopic("Rejected").publish();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Buffers one field-relative robot pose measurement. Nothing reaches the
+     * estimator until {@link #flush(CommandSwerveDrivetrain)}.
+     *
+     * @param x                X position on the field (m).
+     * @param y                Y position on the field (m).
+     * @param thetaRad         Heading on the field (rad).
+     * @param timestampSeconds FPGA timestamp of the camera frame (s).
+     * @param stdDevX          Standard deviation of x (m).
+     * @param stdDevY          Standard deviation of y (m).
+     * @param stdDevTheta      Standard deviation of θ (rad).
+     */
+    public void addMeasurement(final double x, final double y, final double thetaRad,
+            final double timestampSeconds, final double stdDevX, final double stdDevY, final double stdDevTheta) {
+        if (count >= MAX_MEASUREMENTS) {
+            return;
+        }
+        xs[count] = x;
+        ys[count] = y;
+        thetas[count] = thetaRad;
+        timestamps[count] = timestampSeconds;
+        varXs[count] = stdDevX * stdDevX;
+        varYs[count] = stdDevY * stdDevY;
+        varThetas[count] = stdDevTheta * stdDevTheta;
+        count++;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Merges, gates and applies everything buffered since the last call, then
+     * clears the buffer. Call once per loop after the camera has been read.
+     *
+     * @param drive The drivetrain whose estimator receives the batches.
+     */
+    public void flush(final CommandSwerveDrivetrain drive) {
+        if (count == 0) {
+            return;
+        }
+
+        sortByTimestamp();
+
+        int start = 0;
+        while (start < count) {
+            // Find the end of this equal-timestamp group.
+            int end = start + 1;
+            final double groupTime = timestamps[order[start]];
+            while (end < count && Math.abs(timestamps[order[end]] - groupTime) < SAME_TIMESTAMP_EPSILON_S) {
+                end++;
+            }
+            applyGroup(drive, start, end, groupTime);
+            start = end;
+        }
+
+        count = 0;
+        acceptedPub.set(acceptedCount);
+        rejectedPub.set(rejectedCount);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * Scales every vision standard deviation and optionally bypasses the gate.
+     * Used when something outside vision (a collision, wheel slip) tells us the
+     * odometry is the less trustworthy source for a while.
+     *
+     * @param scale      Multiplier on all std-devs; 1.0 is normal.
+     * @param bypassGate True to accept every batch regardless of d².
+     */
+    public void setTrustOverride(final double scale, final boolean bypassGate) {
+        this.stdDevScale = scale;
+        this.bypassGate = bypassGate;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * {@summary}
+     * FPGA timestamp (seconds) of the newest batch that made it into the
+     * estimator, or −1 if none has yet. Tells consumers how long the fused pose
+     * has been running on odometry alone.
+     */
+    public double getLastAcceptedTimestamp() {
+        return lastAcceptedTimestamp;
+    }
+
+    // =================================================================================================================
+    // Private Methods
+    // =================================================================================================================
+    private void sortByTimestamp() {
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        // Insertion sort — N is tiny and this allocates nothing.
+        for (int i = 1; i < count; i++) {
+            final int key = order[i];
+            int j = i - 1;
+            while (j >= 0 && timestamps[order[j]] > timestamps[key]) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = key;
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    /**
+     * Inverse-variance merge of order[start, end), then gate and apply.
+     *
+     * <pre>
+     *   w_i   = 1 / σ²_i
+     *   x̄     = Σ w_i · x_i / Σ w_i
+     *   σ²_x̄  = 1 / Σ w_i
+     * </pre>
+     *
+     * θ is averaged as a weighted offset from the first sample so the ±π
+     * wrap cannot pull the mean to the wrong side of the circle.
+     */
+    private void applyGroup(final CommandSwerveDrivetrain drive, final int start, final int end,
+            final double timestampSeconds) {
+        double wx = 0.0, wy = 0.0, wt = 0.0;
+        double sx = 0.0, sy = 0.0, st = 0.0;
+        final double thetaRef = thetas[order[start]];
+
+        for (int k = start; k < end; k++) {
+            final int i = order[k];
+            final double ix = 1.0 / varXs[i];
+            final double iy = 1.0 / varYs[i];
+            final double it = 1.0 / varThetas[i];
+            wx += ix;
+            wy += iy;
+            wt += it;
+            sx += ix * xs[i];
+            sy += iy * ys[i];
+            st += it * MathUtil.angleModulus(thetas[i] - thetaRef);
+        }
+
+        final double fusedX = sx / wx;
+        final double fusedY = sy / wy;
+        final double fusedTheta = MathUtil.angleModulus(thetaRef + st / wt);
+        final double scaleSq = stdDevScale * stdDevScale;
+        final double fusedVarX = scaleSq / wx;
+        final double fusedVarY = scaleSq / wy;
+        final double fusedVarTheta = scaleSq / wt;
+
+        // ── Mahalanobis gate ──
+        final Optional<Pose2d> prior = drive.samplePoseAt(timestampSeconds);
+        boolean accept = bypassGate || prior.isEmpty() || consecutiveRejections >= MAX_CONSECUTIVE_REJECTIONS;
+        if (prior.isPresent()) {
+            final Pose2d p = prior.get();
+            final double rx = fusedX - p.getX();
+            final double ry = fusedY - p.getY();
+            final double rt = MathUtil.angleModulus(fusedTheta - p.getRotation().getRadians());
+            final double d2 = rx * rx / (fusedVarX + ODOMETRY_STD_DEV_XY * ODOMETRY_STD_DEV_XY)
+                    + ry * ry / (fusedVarY + ODOMETRY_STD_DEV_XY * ODOMETRY_STD_DEV_XY)
+                    + rt * rt / (fusedVarTheta + ODOMETRY_STD_DEV_THETA * ODOMETRY_STD_DEV_THETA);
+            mahalanobisPub.set(d2);
+            accept |= d2 <= MAHALANOBIS_GATE;
+        }
+
+        if (!accept) {
+            consecutiveRejections++;
+            rejectedCount++;
+            return;
+        }
+        consecutiveRejections = 0;
+        acceptedCount++;
+        lastAcceptedTimestamp = Math.max(lastAcceptedTimestamp, timestampSeconds);
+
+        stdDevs.set(0, 0, Math.sqrt(fusedVarX));
+        stdDevs.set(1, 0, Math.sqrt(fusedVarY));
+        stdDevs.set(2, 0, Math.sqrt(fusedVarTheta));
+        drive.addVisionMeasurement(new Pose2d(fusedX, fusedY, new Rotation2d(fusedTheta)), timestampSeconds,
+                stdDevs);
+    }
+}